@@ -1,6 +1,9 @@
 package io.github.contractautomata.catlib.automaton;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -9,6 +12,7 @@ import io.github.contractautomata.catlib.automaton.state.AbstractState;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.Transition;
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 
 
 /**
@@ -34,6 +38,46 @@ public class Automaton<S1,L1, S extends State<S1>,T extends Transition<S1,L1,S,?
 	 */
 	private final Set<T> tra;
 
+	/**
+	 * The read-only view of the set of transitions
+	 */
+	private final Set<T> traView;
+
+	/**
+	 * The set of states of the automaton, derived once from the transitions
+	 */
+	private final Set<S> states;
+
+	/**
+	 * The unique initial state of the automaton
+	 */
+	private final S initial;
+
+	/**
+	 * The rank of the automaton
+	 */
+	private final Integer rank;
+
+	/**
+	 * The basic states of each principal, built lazily once at the first request
+	 */
+	private volatile Map<Integer,Set<BasicState<S1>>> basicStates;
+
+	/**
+	 * The transitions indexed by their source state, built lazily once at the first request of a forward star
+	 */
+	private volatile Map<S,Set<T>> forwardStar;
+
+	/**
+	 * The transitions indexed by their target state, built lazily once at the first request of a backward star
+	 */
+	private volatile Map<S,Set<T>> backwardStar;
+
+	/**
+	 * The fingerprint of the automaton, computed lazily once at the first request
+	 */
+	private volatile String fingerprint;
+
 	/**
 	 * This constructor builds an automaton from its set of transitions.
 	 *
@@ -42,75 +86,144 @@ public class Automaton<S1,L1, S extends State<S1>,T extends Transition<S1,L1,S,?
 	 *           a single object. The set of states is derived from source and target states of each transition.
 	 */
 	public Automaton(Set<T> tr) 
+	{
+		this(tr,false);
+	}
+
+	/**
+	 * Builds an automaton from a set of transitions produced by an operation that already guarantees the absence of
+	 * null elements, that all transitions have the same rank, and that each state is represented by a single object
+	 * (e.g., the transitions of a composition, or a subset of the transitions of another automaton).
+	 * These requirements are not checked again, whilst the other requirements of the constructor are still checked.
+	 *
+	 * @param tr the set of transitions, with the same requirements of the constructor
+	 * @param <S1> the generic type in State&lt;S1&gt;, the content of a state.
+	 * @param <L1> the generic type in Label&lt;L1&gt;, the content of a label.
+	 * @param <S> the generic type of states
+	 * @param <T> the generic type of transitions
+	 * @return the automaton with the set of transitions tr
+	 */
+	public static <S1,L1,S extends State<S1>,T extends Transition<S1,L1,S,? extends Label<L1>>> Automaton<S1,L1,S,T> trusted(Set<T> tr)
+	{
+		return new Automaton<>(tr,true);
+	}
+
+	private Automaton(Set<T> tr, boolean trusted)
 	{
 		Objects.requireNonNull(tr);
 
 		if (tr.isEmpty())
 			throw new IllegalArgumentException("No transitions");
 
-		if (tr.parallelStream()
+		if (!trusted && ExecutionContext.stream(tr)
 				.anyMatch(Objects::isNull))
 			throw new IllegalArgumentException("Null element");
 
-		T tt = tr.stream().findFirst().orElse(null);
-		if (tr.parallelStream()
+		T tt = tr.iterator().next();
+		if (!trusted && ExecutionContext.stream(tr)
 				.anyMatch(t->!t.getRank().equals(tt.getRank())))
 			throw new IllegalArgumentException("Transitions with different rank");
 
 		this.tra=new HashSet<>(tr);
+		this.traView=Collections.unmodifiableSet(tra);
+		this.rank=tt.getRank();
 
-		Set<S> states = tra.parallelStream()
-				.flatMap(t->Stream.of(t.getSource(),t.getTarget()))
-				.collect(Collectors.toSet());
+		Set<S> states = new HashSet<>(2*tra.size());
+		for (T t : tra) {
+			states.add(t.getSource());
+			states.add(t.getTarget());
+		}
 
-		if (states.parallelStream()
-				.filter(S::isInitial)
-				.count()!=1)
+		//a single pass over the states for the remaining checks
+		List<S> initials = new ArrayList<>(1);
+		boolean finalState = false;
+		boolean ambiguous = false;
+		Map<List<BasicState<S1>>,S> content = trusted?null:new HashMap<>(2*states.size());
+		for (S x : states) {
+			if (x.isInitial())
+				initials.add(x);
+			finalState = finalState || x.isFinalState();
+			if (!trusted && !ambiguous) {
+				S y = content.putIfAbsent(x.getState(), x);
+				ambiguous = y!=null && y!=x;
+			}
+		}
+
+		if (initials.size()!=1)
 			throw new IllegalArgumentException("Not Exactly one Initial State found! ");
 
-		if (states.parallelStream()
-				.noneMatch(AbstractState::isFinalState))
+		if (!finalState)
 			throw new IllegalArgumentException("No Final States!");
 		
-		if(states.stream()
-				.anyMatch(x-> states.stream()
-						.anyMatch(y->x!=y && x.getState().equals(y.getState()))))
+		if (ambiguous)
 			throw new IllegalArgumentException("Transitions have ambiguous states (different objects for the same state).");
 
+		this.states=Collections.unmodifiableSet(states);
+		this.initial=initials.get(0);
 	}
 
 	/**
-	 * Getter of the set of transitions
-	 * @return the set of transitions
+	 * Getter of the set of transitions.
+	 * A new set is returned at each invocation, to be used by callers that need to modify it.
+	 * @return a copy of the set of transitions
 	 */
 	public  Set<T> getTransition()
 	{
 		return new HashSet<>(tra);
 	}
 
+	/**
+	 * Returns a read-only view of the set of transitions, without copying it.
+	 * @return an unmodifiable view of the set of transitions
+	 */
+	public Set<T> getTransitionView()
+	{
+		return traView;
+	}
+
+	/**
+	 * Returns a sequential stream of the transitions, without copying them.
+	 * @return a stream of the transitions
+	 */
+	public Stream<T> getTransitionStream()
+	{
+		return tra.stream();
+	}
+
 	/**
 	 * Returns the states of the automaton.
-	 * @return all states that appear in at least one transition.
+	 * The states are computed once at construction time.
+	 * @return an unmodifiable set of all states that appear in at least one transition.
 	 */
 	public Set<S> getStates()
 	{
-		return tra.parallelStream()
-				.flatMap(t->Stream.of(t.getSource(),t.getTarget()))
-				.collect(Collectors.toSet()); //without equals, duplicates objects are detected
+		return states;
 	}
 	
 	/**
 	 * Returns a map where for each entry the key is the index of principal, and the value is its set of basic states.
 	 * It is required that states are lists of basic states.
-	 * @return a map where for each entry the key is the index of principal, and the value is its set of basic states
+	 * The map is computed the first time this method is invoked.
+	 * @return an unmodifiable map where for each entry the key is the index of principal, and the value is its set of basic states
 	 */
 	public Map<Integer,Set<BasicState<S1>>> getBasicStates()
 	{
-		return this.getStates().stream()
-				.flatMap(cs->cs.getState().stream()
-						.map(bs-> new AbstractMap.SimpleEntry<>(cs.getState().indexOf(bs), bs)))
-				.collect(Collectors.groupingBy(Entry::getKey, Collectors.mapping(Entry::getValue, Collectors.toSet())));
-
+		Map<Integer,Set<BasicState<S1>>> map = this.basicStates;
+		if (map==null)
+			synchronized (this) {
+				if (this.basicStates==null) {
+					Map<Integer,Set<BasicState<S1>>> index = new HashMap<>();
+					for (S cs : states) {
+						List<BasicState<S1>> tuple = cs.getState();
+						for (int i=0;i<tuple.size();i++)
+							index.computeIfAbsent(i, k->new HashSet<>()).add(tuple.get(i));
+					}
+					index.replaceAll((k,v)->Collections.unmodifiableSet(v));
+					this.basicStates=Collections.unmodifiableMap(index);
+				}
+				map = this.basicStates;
+			}
+		return map;
 	}
 
 	/**
@@ -119,10 +232,7 @@ public class Automaton<S1,L1, S extends State<S1>,T extends Transition<S1,L1,S,?
 	 */
 	public S getInitial()
 	{
-		return  tra.parallelStream()
-				.flatMap(t->Stream.of(t.getSource(),t.getTarget()))
-				.filter(S::isInitial)
-				.findFirst().orElseThrow(NullPointerException::new);
+		return initial;
 	}
 
 	/**
@@ -133,7 +243,7 @@ public class Automaton<S1,L1, S extends State<S1>,T extends Transition<S1,L1,S,?
 	@Override
 	public Integer getRank()
 	{
-		return this.tra.iterator().next().getRank();
+		return rank;
 	}
 
 	/**
@@ -142,18 +252,89 @@ public class Automaton<S1,L1, S extends State<S1>,T extends Transition<S1,L1,S,?
 	 */
 	public int getNumStates()
 	{
-		return this.getStates().size();
+		return states.size();
+	}
+
+	/**
+	 * Returns a fingerprint of the content of this automaton, i.e., a SHA-256 digest of the printing of its transitions
+	 * together with the flags (initial, final, committed) of their states. <br>
+	 * Automata with the same transitions have the same fingerprint, also if their states and transitions are different
+	 * objects or are created in different executions. Automata with different transitions have different fingerprints,
+	 * up to collisions of the digest. <br>
+	 * The fingerprint is computed the first time this method is invoked.
+	 * @return the hexadecimal fingerprint of this automaton
+	 */
+	public String getFingerprint()
+	{
+		String f = this.fingerprint;
+		if (f==null) {
+			MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);//every implementation of the Java platform supports SHA-256
+			}
+			tra.stream()
+					.map(t->t+printFlags(t.getSource())+printFlags(t.getTarget()))
+					.sorted()
+					.forEachOrdered(x->digest.update((x+"\n").getBytes(StandardCharsets.UTF_8)));
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest())
+				sb.append(String.format("%02x", b));
+			f = sb.toString();
+			this.fingerprint = f;
+		}
+		return f;
+	}
+
+	private static String printFlags(State<?> s) {
+		return s.getState().stream()
+				.map(bs->(bs.isInitial()?"i":"")+(bs.isFinalState()?"f":"")+(bs.isCommitted()?"c":""))
+				.collect(Collectors.joining(",","[","]"));
 	}
 
 	/**
-	 * Returns the set of transitions outgoing from the state source
+	 * Returns the set of transitions outgoing from the state source.
+	 * The transitions are indexed by source state the first time this method is invoked,
+	 * afterwards each call costs a lookup.
+	 *
 	 * @param source the source state of the forward star
-	 * @return set of transitions outgoing state source
+	 * @return an unmodifiable set of transitions outgoing state source
 	 */
 	public Set<T> getForwardStar(AbstractState<?> source) {
-		return this.tra.parallelStream()
-				.filter(x->x.getSource().equals(source))
-				.collect(Collectors.toSet());
+		Map<S,Set<T>> index = this.forwardStar;
+		if (index==null)
+			synchronized (this) {
+				if (this.forwardStar==null)
+					this.forwardStar=indexTransitions(T::getSource);
+				index = this.forwardStar;
+			}
+		return index.getOrDefault(source, Collections.emptySet());
+	}
+
+	/**
+	 * Returns the set of transitions incoming to the state target.
+	 * The transitions are indexed by target state the first time this method is invoked,
+	 * afterwards each call costs a lookup.
+	 *
+	 * @param target the target state of the backward star
+	 * @return an unmodifiable set of transitions incoming to state target
+	 */
+	public Set<T> getBackwardStar(AbstractState<?> target) {
+		Map<S,Set<T>> index = this.backwardStar;
+		if (index==null)
+			synchronized (this) {
+				if (this.backwardStar==null)
+					this.backwardStar=indexTransitions(T::getTarget);
+				index = this.backwardStar;
+			}
+		return index.getOrDefault(target, Collections.emptySet());
+	}
+
+	private Map<S,Set<T>> indexTransitions(Function<T,S> key) {
+		return this.tra.stream()
+				.collect(Collectors.groupingBy(key,
+						Collectors.collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet)));
 	}
 
 
@@ -164,29 +345,29 @@ public class Automaton<S1,L1, S extends State<S1>,T extends Transition<S1,L1,S,?
 	@Override
 	public String toString() {
 		StringBuilder pr = new StringBuilder();
-		int rank = this.getRank();
+		Map<Integer,Set<BasicState<S1>>> bs = this.getBasicStates();
 		pr.append("Rank: ").append(rank).append(System.lineSeparator());
-		pr.append("Initial state: ").append(this.getInitial().toString()).append(System.lineSeparator());
+		pr.append("Initial state: ").append(initial.toString()).append(System.lineSeparator());
 		pr.append("Final states: ["); 
-		for (int i=0;i<this.getRank();i++) 
+		for (int i=0;i<rank;i++)
 			pr.append(Arrays.toString(
-					this.getBasicStates().get(i).stream()
+					bs.get(i).stream()
 					.filter(BasicState::isFinalState)
 					.map(BasicState::getState)
 					.sorted()
 					.toArray()));
 		pr.append("]").append(System.lineSeparator());
 		pr.append("Committed states: [");
-		for (int i=0;i<this.getRank();i++)
+		for (int i=0;i<rank;i++)
 			pr.append(Arrays.toString(
-					this.getBasicStates().get(i).stream()
+					bs.get(i).stream()
 							.filter(BasicState::isCommitted)
 							.map(BasicState::getState)
 							.sorted()
 							.toArray()));
 		pr.append("]").append(System.lineSeparator());
 		pr.append("Transitions: ").append(System.lineSeparator());
-		this.getTransition().stream()
+		tra.stream()
 				.sorted(Comparator.comparing(T::toString))
 				.forEach(t-> pr.append(t).append(System.lineSeparator()));
 		return pr.toString();
@@ -0,0 +1,548 @@
+package io.github.contractautomata.catlib.automaton;
+
+import io.github.contractautomata.catlib.automaton.label.Label;
+import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements a compact and immutable representation of an automaton with modal transitions. <br>
+ * States and labels are stored once, in two dictionaries, and are referred to by their integer index. <br>
+ * Transitions are stored in compressed sparse row format: they are sorted by source state and, for each state s, <br>
+ * the outgoing transitions are those whose index ranges from <code>forwardStart(s)</code> (included) to
+ * <code>forwardEnd(s)</code> (excluded). <br>
+ * For each transition only the indexes of its source, label and target are stored, together with a byte encoding its modality. <br>
+ * A second offset array indexes the transitions by target state, to support backward traversals. <br>
+ * The index of a transition is its position in the forward order. <br>
+ * Compared to an <code>Automaton</code>, no transition object is stored, and traversing the automaton amounts to  <br>
+ * scanning contiguous arrays of integers. <br>
+ * A compact automaton can be built either from an <code>Automaton</code>, or from a <code>TransitionStore</code> without
+ * materializing the transitions. <br>
+ * The compact form is produced by the composition (see <code>CompositionFunction.applyToCompact</code>), and it is
+ * taken and returned by the synthesis operators (see <code>SynthesisOperator.applyToCompact</code>), which also use it
+ * internally for their graph traversals. A synthesis of a compact automaton never builds an <code>Automaton</code>, its
+ * result is a restriction of the compact automaton (see <code>restrict</code>). The other operations of the library
+ * (i.e., projection, union, relabeling, and the model checking of a property) take and return an <code>Automaton</code>:
+ * a compact automaton is converted to an <code>Automaton</code> with <code>toAutomaton</code>. <br>
+ *
+ * @param <S1> the generic type of the content of states
+ * @param <L1> the generic type of the content of labels
+ * @param <S> the generic type of states
+ * @param <L> the generic type of labels
+ *
+ * @author Davide Basile
+ */
+public final class CompactAutomaton<S1,L1,S extends State<S1>,L extends Label<L1>> implements Ranked {
+
+	private static final ModalTransition.Modality[] MODALITIES = ModalTransition.Modality.values();
+
+	/**
+	 * the dictionary of states, the index of a state is its position in the array
+	 */
+	private final Object[] states;
+
+	/**
+	 * the inverse of the dictionary of states
+	 */
+	private final Map<S,Integer> stateIndex;
+
+	/**
+	 * the dictionary of labels, the index of a label is its position in the array
+	 */
+	private final Object[] labels;
+
+	/**
+	 * the index of the initial state
+	 */
+	private final int initial;
+
+	/**
+	 * the indexes of the final states
+	 */
+	private final BitSet finalStates;
+
+	/**
+	 * the outgoing transitions of state s range from forwardOffset[s] to forwardOffset[s+1]
+	 */
+	private final int[] forwardOffset;
+
+	/**
+	 * the index of the source state of each transition
+	 */
+	private final int[] source;
+
+	/**
+	 * the index of the label of each transition
+	 */
+	private final int[] label;
+
+	/**
+	 * the index of the target state of each transition
+	 */
+	private final int[] target;
+
+	/**
+	 * the ordinal of the modality of each transition
+	 */
+	private final byte[] modality;
+
+	/**
+	 * the incoming transitions of state s are stored in backwardTransition from backwardOffset[s] to backwardOffset[s+1]
+	 */
+	private final int[] backwardOffset;
+
+	/**
+	 * the indexes of the transitions sorted by target state
+	 */
+	private final int[] backwardTransition;
+
+	/**
+	 * the rank of the automaton
+	 */
+	private final int rank;
+
+	/**
+	 * Constructor of a compact automaton from an automaton.
+	 *
+	 * @param aut the automaton to convert, must be non-null
+	 */
+	public CompactAutomaton(Automaton<S1,L1,S,? extends ModalTransition<S1,L1,S,L>> aut){
+		this(aut.getTransitionView(), aut.getInitial());
+	}
+
+	/**
+	 * Constructor of a compact automaton from a set of transitions and its initial state.
+	 * Similarly to <code>Automaton</code>, each state must be represented by a single object.
+	 *
+	 * @param tr the set of transitions, must be non-null and without null elements
+	 * @param initial the initial state, must be non-null
+	 */
+	public CompactAutomaton(Set<? extends ModalTransition<S1,L1,S,L>> tr, S initial){
+		this(tr, initial, null);
+	}
+
+	/**
+	 * Constructor of a compact automaton from a set of transitions and its initial state.
+	 * Similarly to <code>Automaton</code>, each state must be represented by a single object. <br>
+	 * The consumer is notified with each transition and its index, so that the index of a transition is not
+	 * looked up afterwards (see <code>getTransitionId</code>).
+	 *
+	 * @param tr the set of transitions, must be non-null and without null elements
+	 * @param initial the initial state, must be non-null
+	 * @param indexed the consumer notified with each transition and its index, if non-null
+	 * @param <T> the generic type of the transitions
+	 */
+	public <T extends ModalTransition<S1,L1,S,L>> CompactAutomaton(Set<T> tr, S initial, ObjIntConsumer<? super T> indexed){
+		Objects.requireNonNull(tr);
+		Objects.requireNonNull(initial);
+
+		this.stateIndex = new HashMap<>();
+		Map<L,Integer> labelIndex = new HashMap<>();
+		List<S> stateList = new ArrayList<>();
+		List<L> labelList = new ArrayList<>();
+		Function<S,Integer> indexState = s -> stateIndex.computeIfAbsent(s, x->{stateList.add(x); return stateList.size()-1;});
+
+		this.initial = indexState.apply(initial);
+		int numTransitions = tr.size();
+		int[] src = new int[numTransitions];
+		int[] lab = new int[numTransitions];
+		int[] tgt = new int[numTransitions];
+		byte[] mod = new byte[numTransitions];
+		int i=0;
+		for (ModalTransition<S1,L1,S,L> t : tr) {
+			src[i] = indexState.apply(t.getSource());
+			tgt[i] = indexState.apply(t.getTarget());
+			lab[i] = labelIndex.computeIfAbsent(t.getLabel(), x->{labelList.add(x); return labelList.size()-1;});
+			mod[i] = (byte) t.getModality().ordinal();
+			i++;
+		}
+
+		this.states = stateList.toArray();
+		this.labels = labelList.toArray();
+		this.rank = tr.isEmpty()?0:tr.iterator().next().getRank();
+		this.forwardOffset = offsets(src, states.length);
+		this.source = new int[numTransitions];
+		this.label = new int[numTransitions];
+		this.target = new int[numTransitions];
+		this.modality = new byte[numTransitions];
+		this.finalStates = new BitSet(states.length);
+		this.backwardOffset = new int[states.length+1];
+		this.backwardTransition = new int[numTransitions];
+		int[] position = index(src, lab, tgt, mod);
+
+		if (indexed!=null) {
+			i=0;
+			for (T t : tr)
+				indexed.accept(t, position[i++]);
+		}
+	}
+
+	/**
+	 * Constructor of a compact automaton from a store of transitions and its initial state.
+	 * The records of the store are copied into arrays, states and labels are the same objects stored in the store.
+	 *
+	 * @param store the store of transitions, must be non-null
+	 * @param initial the initial state, must be non-null and must be a state of the store if the store is not empty
+	 */
+	public CompactAutomaton(TransitionStore<S1,L1,S,L> store, S initial){
+		Objects.requireNonNull(store);
+		Objects.requireNonNull(initial);
+
+		int numTransitions = store.size();
+		int numStates = store.getNumStates();
+		int init = store.getStateId(initial);
+		if (init==-1 && numTransitions>0)
+			throw new IllegalArgumentException("The initial state is not in the store");
+
+		this.stateIndex = new HashMap<>();
+		this.states = new Object[(init==-1)?1:numStates];
+		for (int s=0; s<states.length; s++) {
+			states[s] = (init==-1)?initial:store.getState(s);
+			stateIndex.put(getState(s), s);
+		}
+		this.initial = (init==-1)?0:init;
+		this.labels = IntStream.range(0, store.getNumLabels()).mapToObj(store::getLabel).toArray();
+		this.rank = numTransitions==0?0:store.getRank();
+
+		int[] src = new int[numTransitions];
+		int[] lab = new int[numTransitions];
+		int[] tgt = new int[numTransitions];
+		byte[] mod = new byte[numTransitions];
+		for (int i=0; i<numTransitions; i++) {
+			src[i] = store.getSource(i);
+			lab[i] = store.getLabelId(i);
+			tgt[i] = store.getTarget(i);
+			mod[i] = (byte) store.getModality(i).ordinal();
+		}
+		this.forwardOffset = offsets(src, states.length);
+		this.source = new int[numTransitions];
+		this.label = new int[numTransitions];
+		this.target = new int[numTransitions];
+		this.modality = new byte[numTransitions];
+		this.finalStates = new BitSet(states.length);
+		this.backwardOffset = new int[states.length+1];
+		this.backwardTransition = new int[numTransitions];
+		index(src, lab, tgt, mod);
+	}
+
+	/**
+	 * Constructor of the restriction of a compact automaton to the given transitions, see <code>restrict</code>.
+	 */
+	private CompactAutomaton(CompactAutomaton<S1,L1,S,L> aut, BitSet kept) {
+		int numTransitions = kept.cardinality();
+		int[] stateIds = new int[aut.getNumStates()];
+		int[] labelIds = new int[aut.getNumLabels()];
+		Arrays.fill(stateIds, -1);
+		Arrays.fill(labelIds, -1);
+		List<Object> stateList = new ArrayList<>();
+		List<Object> labelList = new ArrayList<>();
+
+		stateIds[aut.initial] = 0;
+		stateList.add(aut.states[aut.initial]);
+		int[] src = new int[numTransitions];
+		int[] lab = new int[numTransitions];
+		int[] tgt = new int[numTransitions];
+		byte[] mod = new byte[numTransitions];
+		int i=0;
+		for (int t = kept.nextSetBit(0); t>=0; t = kept.nextSetBit(t+1)) {
+			src[i] = newId(stateIds, stateList, aut.states, aut.source[t]);
+			tgt[i] = newId(stateIds, stateList, aut.states, aut.target[t]);
+			lab[i] = newId(labelIds, labelList, aut.labels, aut.label[t]);
+			mod[i] = aut.modality[t];
+			i++;
+		}
+
+		this.states = stateList.toArray();
+		this.labels = labelList.toArray();
+		this.stateIndex = new HashMap<>();
+		for (int s=0; s<states.length; s++)
+			stateIndex.put(getState(s), s);
+		this.initial = 0;
+		this.rank = numTransitions==0?0:aut.rank;
+		this.forwardOffset = offsets(src, states.length);
+		this.source = new int[numTransitions];
+		this.label = new int[numTransitions];
+		this.target = new int[numTransitions];
+		this.modality = new byte[numTransitions];
+		this.finalStates = new BitSet(states.length);
+		this.backwardOffset = new int[states.length+1];
+		this.backwardTransition = new int[numTransitions];
+		index(src, lab, tgt, mod);
+	}
+
+	/**
+	 * returns the index in the restriction of the element with index old, adding the element if absent
+	 */
+	private static int newId(int[] ids, List<Object> list, Object[] elements, int old) {
+		if (ids[old]==-1) {
+			ids[old] = list.size();
+			list.add(elements[old]);
+		}
+		return ids[old];
+	}
+
+	/**
+	 * fills the final states and the forward and backward indexes, the arrays must be already allocated,
+	 * returns the index of each transition given as argument
+	 */
+	private int[] index(int[] src, int[] lab, int[] tgt, byte[] mod) {
+		for (int s=0; s<states.length; s++)
+			if (getState(s).isFinalState())
+				finalStates.set(s);
+
+		//transitions are sorted by source with a counting sort
+		int[] cursor = Arrays.copyOf(forwardOffset, states.length);
+		int[] position = new int[src.length];
+		for (int j=0; j<src.length; j++) {
+			int pos = cursor[src[j]]++;
+			source[pos]=src[j];
+			label[pos]=lab[j];
+			target[pos]=tgt[j];
+			modality[pos]=mod[j];
+			position[j]=pos;
+		}
+
+		System.arraycopy(offsets(target, states.length), 0, backwardOffset, 0, backwardOffset.length);
+		cursor = Arrays.copyOf(backwardOffset, states.length);
+		for (int j=0; j<target.length; j++)
+			backwardTransition[cursor[target[j]]++]=j;
+		return position;
+	}
+
+	private static int[] offsets(int[] keys, int numStates) {
+		int[] offset = new int[numStates+1];
+		for (int k : keys)
+			offset[k+1]++;
+		for (int s=0; s<numStates; s++)
+			offset[s+1]+=offset[s];
+		return offset;
+	}
+
+	/**
+	 * Returns the number of states.
+	 * @return the number of states
+	 */
+	public int getNumStates() {
+		return states.length;
+	}
+
+	/**
+	 * Returns the number of transitions.
+	 * @return the number of transitions
+	 */
+	public int getNumTransitions() {
+		return source.length;
+	}
+
+	/**
+	 * Returns the number of distinct labels.
+	 * @return the number of distinct labels
+	 */
+	public int getNumLabels() {
+		return labels.length;
+	}
+
+	/**
+	 * Returns the index of the initial state.
+	 * @return the index of the initial state
+	 */
+	public int getInitial() {
+		return initial;
+	}
+
+	/**
+	 * Returns true if the state with index s is final.
+	 * @param s the index of the state
+	 * @return true if the state with index s is final
+	 */
+	public boolean isFinalState(int s) {
+		return finalStates.get(s);
+	}
+
+	/**
+	 * Returns the state with index s.
+	 * @param s the index of the state
+	 * @return the state with index s
+	 */
+	@SuppressWarnings("unchecked")
+	public S getState(int s) {
+		return (S) states[s];
+	}
+
+	/**
+	 * Returns the index of the state passed as argument, or -1 if the state is not in this automaton.
+	 * @param s the state
+	 * @return the index of the state passed as argument, or -1 if the state is not in this automaton
+	 */
+	public int getStateId(S s) {
+		return stateIndex.getOrDefault(s,-1);
+	}
+
+	/**
+	 * Returns the label with index l.
+	 * @param l the index of the label
+	 * @return the label with index l
+	 */
+	@SuppressWarnings("unchecked")
+	public L getLabel(int l) {
+		return (L) labels[l];
+	}
+
+	/**
+	 * Returns the index of the source state of transition t.
+	 * @param t the index of the transition
+	 * @return the index of the source state of transition t
+	 */
+	public int getSource(int t) {
+		return source[t];
+	}
+
+	/**
+	 * Returns the index of the target state of transition t.
+	 * @param t the index of the transition
+	 * @return the index of the target state of transition t
+	 */
+	public int getTarget(int t) {
+		return target[t];
+	}
+
+	/**
+	 * Returns the index of the label of transition t.
+	 * @param t the index of the transition
+	 * @return the index of the label of transition t
+	 */
+	public int getLabelId(int t) {
+		return label[t];
+	}
+
+	/**
+	 * Returns the modality of transition t.
+	 * @param t the index of the transition
+	 * @return the modality of transition t
+	 */
+	public ModalTransition.Modality getModality(int t) {
+		return MODALITIES[modality[t]];
+	}
+
+	/**
+	 * Returns the index of the first transition outgoing from state s.
+	 * @param s the index of the state
+	 * @return the index of the first transition outgoing from state s
+	 */
+	public int forwardStart(int s) {
+		return forwardOffset[s];
+	}
+
+	/**
+	 * Returns the index following the last transition outgoing from state s.
+	 * @param s the index of the state
+	 * @return the index following the last transition outgoing from state s
+	 */
+	public int forwardEnd(int s) {
+		return forwardOffset[s+1];
+	}
+
+	/**
+	 * Returns the position of the first transition incoming to state s, to be used with <code>getBackwardTransition</code>.
+	 * @param s the index of the state
+	 * @return the position of the first transition incoming to state s
+	 */
+	public int backwardStart(int s) {
+		return backwardOffset[s];
+	}
+
+	/**
+	 * Returns the position following the last transition incoming to state s, to be used with <code>getBackwardTransition</code>.
+	 * @param s the index of the state
+	 * @return the position following the last transition incoming to state s
+	 */
+	public int backwardEnd(int s) {
+		return backwardOffset[s+1];
+	}
+
+	/**
+	 * Returns the index of the transition at position i of the transitions sorted by target state.
+	 * @param i the position
+	 * @return the index of the transition at position i of the transitions sorted by target state
+	 */
+	public int getBackwardTransition(int i) {
+		return backwardTransition[i];
+	}
+
+	/**
+	 * Returns the transition with index t, created with the given constructor.
+	 * @param t the index of the transition
+	 * @param createTransition the constructor of a transition from source state, label, target state and modality
+	 * @param <T> the generic type of the transition
+	 * @return the transition with index t
+	 */
+	public <T extends ModalTransition<S1,L1,S,L>> T getTransition(int t, TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition) {
+		return createTransition.apply(getState(source[t]), getLabel(label[t]), getState(target[t]), getModality(t));
+	}
+
+	/**
+	 * Returns the index of the transition passed as argument, or -1 if the transition is not in this automaton.
+	 * The cost is linear in the number of transitions outgoing from the source of t: callers that look up the same
+	 * transitions repeatedly should rather keep their indexes (e.g., as notified by the constructor).
+	 *
+	 * @param t the transition
+	 * @return the index of the transition passed as argument, or -1 if the transition is not in this automaton
+	 */
+	public int getTransitionId(ModalTransition<S1,L1,S,L> t) {
+		int s = getStateId(t.getSource());
+		if (s==-1)
+			return -1;
+		int tgt = getStateId(t.getTarget());
+		for (int i=forwardStart(s); i<forwardEnd(s); i++)
+			if (target[i]==tgt && MODALITIES[modality[i]]==t.getModality() && Objects.equals(labels[label[i]],t.getLabel()))
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Method inherited from the interface Ranked.
+	 * It returns the rank of the automaton.
+	 * @return the rank of the automaton
+	 */
+	@Override
+	public Integer getRank() {
+		return rank;
+	}
+
+	/**
+	 * Returns the restriction of this compact automaton to the transitions whose index is in kept. <br>
+	 * The restriction contains the initial state and the states and labels of the kept transitions, which are the same
+	 * objects of this automaton. The indexes of states, labels and transitions are not preserved.
+	 *
+	 * @param kept the indexes of the transitions to keep, must be non-null
+	 * @return the restriction of this compact automaton to the transitions whose index is in kept
+	 */
+	public CompactAutomaton<S1,L1,S,L> restrict(BitSet kept) {
+		Objects.requireNonNull(kept);
+		if (kept.length()>getNumTransitions())
+			throw new IllegalArgumentException("Not a transition index");
+		return new CompactAutomaton<>(this, kept);
+	}
+
+	/**
+	 * Converts this compact automaton back to an automaton.
+	 *
+	 * @param createTransition the constructor of a transition from source state, label, target state and modality
+	 * @param createAutomaton the constructor of an automaton from its set of transitions
+	 * @param <T> the generic type of the transitions
+	 * @param <A> the generic type of the automaton
+	 * @return the automaton represented by this compact automaton
+	 */
+	public <T extends ModalTransition<S1,L1,S,L>,A extends Automaton<S1,L1,S,T>> A toAutomaton(TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition,
+																								 Function<Set<T>,A> createAutomaton) {
+		return createAutomaton.apply(IntStream.range(0, getNumTransitions())
+				.mapToObj(t->getTransition(t, createTransition))
+				.collect(Collectors.toSet()));
+	}
+}
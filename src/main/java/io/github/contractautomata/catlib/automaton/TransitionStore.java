@@ -0,0 +1,277 @@
+package io.github.contractautomata.catlib.automaton;
+
+import io.github.contractautomata.catlib.automaton.label.Label;
+import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class implements an append-only store of modal transitions kept outside of the Java heap. <br>
+ * States and labels are stored once, in two dictionaries on the heap, and are referred to by their integer index. <br>
+ * Each transition is a record of 13 bytes (the indexes of its source, label and target, and the ordinal of its modality) <br>
+ * stored in direct byte buffers, allocated in chunks of fixed size so that growing the store never copies the stored records. <br>
+ * The store is meant for compositions with a very large number of transitions, where an on-heap object graph would make <br>
+ * garbage collection dominate the computation. <br>
+ * An <code>Automaton</code> or a <code>CompactAutomaton</code> can be materialized from the store on request. <br>
+ * Adding transitions is thread-safe. The store does not check for duplicates: adding the same transition twice stores
+ * two records. <br>
+ *
+ * @param <S1> the generic type of the content of states
+ * @param <L1> the generic type of the content of labels
+ * @param <S> the generic type of states
+ * @param <L> the generic type of labels
+ *
+ * @author Davide Basile
+ */
+public final class TransitionStore<S1,L1,S extends State<S1>,L extends Label<L1>> implements Ranked {
+
+	private static final ModalTransition.Modality[] MODALITIES = ModalTransition.Modality.values();
+
+	/**
+	 * the size in bytes of a transition record
+	 */
+	private static final int RECORD = 13;
+
+	/**
+	 * the number of records of a chunk is 2^CHUNK_BITS
+	 */
+	private static final int CHUNK_BITS = 16;
+
+	private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+	/**
+	 * the chunks of records
+	 */
+	private final List<ByteBuffer> chunks;
+
+	/**
+	 * the dictionary of states, the index of a state is its position in the list
+	 */
+	private final List<S> states;
+
+	/**
+	 * the inverse of the dictionary of states
+	 */
+	private final Map<S,Integer> stateIndex;
+
+	/**
+	 * the dictionary of labels, the index of a label is its position in the list
+	 */
+	private final List<L> labels;
+
+	/**
+	 * the inverse of the dictionary of labels
+	 */
+	private final Map<L,Integer> labelIndex;
+
+	/**
+	 * the number of stored transitions
+	 */
+	private volatile int size;
+
+	/**
+	 * the rank of the stored transitions, -1 if no transition has been stored
+	 */
+	private int rank;
+
+	/**
+	 * Constructor for an empty store.
+	 */
+	public TransitionStore() {
+		this.chunks = new ArrayList<>();
+		this.states = new ArrayList<>();
+		this.stateIndex = new HashMap<>();
+		this.labels = new ArrayList<>();
+		this.labelIndex = new HashMap<>();
+		this.rank = -1;
+	}
+
+	/**
+	 * Appends a transition to this store.
+	 * All transitions of the store must have the same rank.
+	 *
+	 * @param source the source state, must be non-null
+	 * @param label the label, must be non-null
+	 * @param target the target state, must be non-null
+	 * @param modality the modality, must be non-null
+	 * @return the index of the added transition
+	 */
+	public synchronized int add(S source, L label, S target, ModalTransition.Modality modality) {
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(label);
+		Objects.requireNonNull(target);
+		Objects.requireNonNull(modality);
+		if (rank==-1)
+			rank = label.getRank();
+		else if (rank!=label.getRank())
+			throw new IllegalArgumentException("Transitions with different rank");
+
+		int t = size;
+		if ((t & CHUNK_MASK)==0)
+			chunks.add(ByteBuffer.allocateDirect(RECORD << CHUNK_BITS));
+		ByteBuffer chunk = chunks.get(t >>> CHUNK_BITS);
+		int offset = (t & CHUNK_MASK)*RECORD;
+		chunk.putInt(offset, indexState(source));
+		chunk.putInt(offset+4, labelIndex.computeIfAbsent(label, x->{labels.add(x); return labels.size()-1;}));
+		chunk.putInt(offset+8, indexState(target));
+		chunk.put(offset+12, (byte) modality.ordinal());
+		size = t+1;
+		return t;
+	}
+
+	/**
+	 * Appends a transition to this store.
+	 * @param t the transition to add, must be non-null
+	 * @return the index of the added transition
+	 */
+	public int add(ModalTransition<S1,L1,S,L> t) {
+		return add(t.getSource(), t.getLabel(), t.getTarget(), t.getModality());
+	}
+
+	private int indexState(S s) {
+		return stateIndex.computeIfAbsent(s, x->{states.add(x); return states.size()-1;});
+	}
+
+	/**
+	 * Returns the number of stored transitions.
+	 * @return the number of stored transitions
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of distinct states of the stored transitions.
+	 * @return the number of distinct states of the stored transitions
+	 */
+	public synchronized int getNumStates() {
+		return states.size();
+	}
+
+	/**
+	 * Returns the number of distinct labels of the stored transitions.
+	 * @return the number of distinct labels of the stored transitions
+	 */
+	public synchronized int getNumLabels() {
+		return labels.size();
+	}
+
+	/**
+	 * Returns the state with index s.
+	 * @param s the index of the state
+	 * @return the state with index s
+	 */
+	public synchronized S getState(int s) {
+		return states.get(s);
+	}
+
+	/**
+	 * Returns the index of the state passed as argument, or -1 if the state is not in this store.
+	 * @param s the state
+	 * @return the index of the state passed as argument, or -1 if the state is not in this store
+	 */
+	public synchronized int getStateId(S s) {
+		return stateIndex.getOrDefault(s,-1);
+	}
+
+	/**
+	 * Returns the label with index l.
+	 * @param l the index of the label
+	 * @return the label with index l
+	 */
+	public synchronized L getLabel(int l) {
+		return labels.get(l);
+	}
+
+	/**
+	 * Returns the index of the source state of transition t.
+	 * @param t the index of the transition
+	 * @return the index of the source state of transition t
+	 */
+	public int getSource(int t) {
+		return chunk(t).getInt(offset(t));
+	}
+
+	/**
+	 * Returns the index of the label of transition t.
+	 * @param t the index of the transition
+	 * @return the index of the label of transition t
+	 */
+	public int getLabelId(int t) {
+		return chunk(t).getInt(offset(t)+4);
+	}
+
+	/**
+	 * Returns the index of the target state of transition t.
+	 * @param t the index of the transition
+	 * @return the index of the target state of transition t
+	 */
+	public int getTarget(int t) {
+		return chunk(t).getInt(offset(t)+8);
+	}
+
+	/**
+	 * Returns the modality of transition t.
+	 * @param t the index of the transition
+	 * @return the modality of transition t
+	 */
+	public ModalTransition.Modality getModality(int t) {
+		return MODALITIES[chunk(t).get(offset(t)+12)];
+	}
+
+	private ByteBuffer chunk(int t) {
+		Objects.checkIndex(t, size);
+		synchronized (this) {
+			return chunks.get(t >>> CHUNK_BITS);
+		}
+	}
+
+	private static int offset(int t) {
+		return (t & CHUNK_MASK)*RECORD;
+	}
+
+	/**
+	 * Returns true if some state of the stored transitions is final.
+	 * @return true if some state of the stored transitions is final
+	 */
+	public synchronized boolean hasFinalState() {
+		return states.stream().anyMatch(State::isFinalState);
+	}
+
+	/**
+	 * Method inherited from the interface Ranked.
+	 * It returns the rank of the stored transitions, or -1 if the store is empty.
+	 * @return the rank of the stored transitions
+	 */
+	@Override
+	public synchronized Integer getRank() {
+		return rank;
+	}
+
+	/**
+	 * Materializes the automaton whose transitions are those of this store.
+	 *
+	 * @param createTransition the constructor of a transition from source state, label, target state and modality
+	 * @param createAutomaton the constructor of an automaton from its set of transitions
+	 * @param <T> the generic type of the transitions
+	 * @param <A> the generic type of the automaton
+	 * @return the automaton whose transitions are those of this store
+	 */
+	public <T extends ModalTransition<S1,L1,S,L>,A extends Automaton<S1,L1,S,T>> A toAutomaton(TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition,
+																							 Function<Set<T>,A> createAutomaton) {
+		return createAutomaton.apply(IntStream.range(0, size)
+				.mapToObj(t->createTransition.apply(getState(getSource(t)), getLabel(getLabelId(t)), getState(getTarget(t)), getModality(t)))
+				.collect(Collectors.toSet()));
+	}
+}
@@ -17,15 +17,38 @@ import java.util.stream.IntStream;
  * <li> match: two actions are matching (i.e., one is a request, the other an offer, and h
  * 			the content is the same) and all the others are idle.</li>
  * </ul>
+ * The indexes of the offerer, requester and tau mover, as well as the action of the label, are computed once at construction. <br>
+ * Labels are immutable, identical labels can be shared by means of a <code>CALabelFactory</code>.
  * @author Davide Basile
  *
  */
 public class CALabel extends Label<Action> {
 
+	/**
+	 * the index of the principal performing the offer action, or -1 if none
+	 */
+	private final int offerer;
+
+	/**
+	 * the index of the principal performing the request action, or -1 if none
+	 */
+	private final int requester;
+
+	/**
+	 * the index of the principal performing the tau action, or -1 if none
+	 */
+	private final int tauMover;
+
+	/**
+	 * the action returned by getAction()
+	 */
+	private final Action action;
+
 	/**
 	 * Constructor only used for requests or offer actions, i.e., only one principal is moving.
 	 * The action must be either a request action or an offer action.
 	 * The index of the principal moving must be lower than the rank.
+	 * All other principals perform the shared idle action.
 	 *
 	 * @param rank	rank of the label
 	 * @param principal index of the principal
@@ -33,13 +56,18 @@ public class CALabel extends Label<Action> {
 	 */
 	public CALabel(Integer rank, Integer principal, Action action) {
 		super(IntStream.range(0, rank)
-				.mapToObj(i->(i==principal)?action:new IdleAction())
+				.mapToObj(i->(i==principal)?action:IdleAction.INSTANCE)
 				.collect(Collectors.toList()));
 		if (principal>=rank)
 			throw new IllegalArgumentException();
 
 		if (!(action instanceof OfferAction)&&!(action instanceof RequestAction))
 			throw new IllegalArgumentException("The action is not a request nor an offer");
+
+		this.offerer = (action instanceof OfferAction)?principal:-1;
+		this.requester = (action instanceof RequestAction)?principal:-1;
+		this.tauMover = -1;
+		this.action = action;
 	}
 
 	/**
@@ -59,46 +87,29 @@ public class CALabel extends Label<Action> {
 				label.stream().filter(RequestAction.class::isInstance).count()>1 ||
 				label.stream().filter(TauAction.class::isInstance).count()>1)
 			throw new IllegalArgumentException("The label is not well-formed");
-	}
 
-	/**
-	 * Returns the index of the principal performing the offer action, or -1 in
-	 * case no principal is performing an offer.
-	 * @return the index of the principal performing the offer actions, or -1 in
-	 * 	  case no principal is performing an offer.
-	 */
-	private Integer getOffererIfAny() {
-		List<Action> label = this.getContent();
-		return IntStream.range(0, label.size())
-				.filter(i->label.get(i) instanceof  OfferAction)
-				.findAny().orElse(-1);
-	}
+		List<Action> content = this.getContent();
+		this.offerer = indexOf(content, OfferAction.class);
+		this.requester = indexOf(content, RequestAction.class);
+		this.tauMover = indexOf(content, TauAction.class);
 
-	/**
-	 * Returns the index of the principal performing the request action, or -1 in
-	 * 	  	  case no principal is performing a request
-	 * @return the index of the principal performing the request action, or -1 in
-	 * 	  case no principal is performing a request.
-	 */
-	private Integer getRequesterIfAny() {
-		List<Action> label = this.getContent();
-		return IntStream.range(0, label.size())
-				.filter(i->label.get(i) instanceof RequestAction)
-				.findAny().orElse(-1);
+		//in case of match, the action is always the offer
+		if (tauMover!=-1)
+			this.action = content.get(tauMover);
+		else if (offerer==-1)
+			this.action = content.get(requester);
+		else
+			this.action = content.get(offerer);
 	}
 
-
 	/**
-	 * Returns the index of the principal performing the tau action, or -1 in
-	 * 	  	  case no principal is performing a tau move
-	 * @return the index of the principal performing the tau action, or -1 in
-	 * 	  case no principal is performing a tau move.
+	 * Returns the index of the first action of the given type, or -1 if there is none.
 	 */
-	private Integer getTauMoverIfAny() {
-		List<Action> label = this.getContent();
-		return IntStream.range(0, label.size())
-				.filter(i->label.get(i) instanceof TauAction)
-				.findAny().orElse(-1);
+	private static int indexOf(List<Action> content, Class<? extends Action> type) {
+		for (int i=0; i<content.size(); i++)
+			if (type.isInstance(content.get(i)))
+				return i;
+		return -1;
 	}
 
 	/**
@@ -109,7 +120,6 @@ public class CALabel extends Label<Action> {
 	 * 	      There must be a principal performing an offer action.
 	 */
 	public Integer getOfferer() {
-		Integer offerer = getOffererIfAny();
 		if (offerer ==-1) throw new UnsupportedOperationException();
 		else return offerer;
 
@@ -124,7 +134,6 @@ public class CALabel extends Label<Action> {
 	 * 	      There must be a principal performing a request action.
 	 */
 	public Integer getRequester() {
-		Integer requester = getRequesterIfAny();
 		if (requester ==-1) throw new UnsupportedOperationException();
 		else return requester;
 	}
@@ -136,7 +145,7 @@ public class CALabel extends Label<Action> {
 	 */
 	public boolean isMatch()
 	{
-		return getOffererIfAny() != -1 && getRequesterIfAny() != -1;
+		return offerer != -1 && requester != -1;
 	}
 
 
@@ -146,7 +155,7 @@ public class CALabel extends Label<Action> {
 	 */
 	public boolean isOffer()
 	{
-		return !this.isTau() &&  getRequesterIfAny() == -1;
+		return tauMover == -1 && requester == -1;
 	}
 
 
@@ -156,7 +165,7 @@ public class CALabel extends Label<Action> {
 	 */
 	public boolean isRequest()
 	{
-		return !this.isTau() && getOffererIfAny() == -1;
+		return tauMover == -1 && offerer == -1;
 	}
 
 
@@ -166,7 +175,7 @@ public class CALabel extends Label<Action> {
 	 */
 	public boolean isTau()
 	{
-		return  getTauMoverIfAny() != -1;
+		return tauMover != -1;
 	}
 	
 	/**
@@ -191,25 +200,7 @@ public class CALabel extends Label<Action> {
 	 */
 	@Override
 	public Action getAction() {
-		if (this.isTau())
-			return this.getContent()
-					.stream()
-					.filter(TauAction.class::isInstance)
-					.findAny()
-					.orElseThrow(RuntimeException::new);
-		else if (this.isRequest())
-			return this.getContent()
-					.stream()
-					.filter(RequestAction.class::isInstance)
-					.findAny()
-					.orElseThrow(RuntimeException::new);
-		else
-			return this.getContent()
-					.stream()
-					.filter(OfferAction.class::isInstance)
-					.findAny()
-					.orElseThrow(RuntimeException::new);
-		//in case of match, the action is always the offer
+		return action;
 	}
 
 	/**
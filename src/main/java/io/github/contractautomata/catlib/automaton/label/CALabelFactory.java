@@ -0,0 +1,67 @@
+package io.github.contractautomata.catlib.automaton.label;
+
+import io.github.contractautomata.catlib.automaton.label.action.Action;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Class implementing a pool of contract automata labels. <br>
+ * The factory returns a unique (canonical) label for each list of actions, so that identical labels
+ * (e.g., the same action with many idle principals in a composition) are stored once. <br>
+ * The well-formedness of a label is checked only the first time it is created. <br>
+ * Canonical labels are unique only within the same factory. The factory is thread-safe. <br>
+ *
+ * @author Davide Basile
+ */
+public class CALabelFactory {
+
+	/**
+	 * the canonical labels, indexed by their content
+	 */
+	private final ConcurrentMap<List<Action>, CALabel> labels;
+
+	/**
+	 * Constructor for an empty factory.
+	 */
+	public CALabelFactory() {
+		this.labels = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the canonical label with the given content, creating it if absent.
+	 * The label must be well-formed (see <code>CALabel</code>).
+	 *
+	 * @param content the list of actions of the label
+	 * @return the canonical label with the given content
+	 */
+	public CALabel createLabel(List<Action> content) {
+		if (content==null)
+			throw new IllegalArgumentException();
+		CALabel label = labels.get(content);
+		return (label!=null)?label:labels.computeIfAbsent(new ArrayList<>(content), CALabel::new);
+	}
+
+	/**
+	 * Returns the canonical label of the given rank where only the given principal moves, creating it if absent.
+	 * The action must be either a request action or an offer action.
+	 *
+	 * @param rank	rank of the label
+	 * @param principal index of the principal
+	 * @param action action of the label
+	 * @return the canonical label of the given rank where only the given principal moves
+	 */
+	public CALabel createLabel(Integer rank, Integer principal, Action action) {
+		return createLabel(new CALabel(rank, principal, action).getContent());
+	}
+
+	/**
+	 * Returns the number of distinct labels created by this factory.
+	 * @return the number of distinct labels created by this factory
+	 */
+	public int getNumLabels() {
+		return labels.size();
+	}
+}
@@ -1,6 +1,7 @@
 package io.github.contractautomata.catlib.automaton.label;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -33,15 +34,16 @@ public class Label<T> implements Ranked,Matchable<Label<T>>{
 		super();
 		if (content ==null || content.isEmpty())
 			throw new IllegalArgumentException();
-		this.content = new ArrayList<>(content);
+		this.content = Collections.unmodifiableList(new ArrayList<>(content));
 	}
 
 	/**
-	 * Getter of the content of this label
+	 * Getter of the content of this label.
+	 * The returned list is unmodifiable and is not copied.
 	 * @return the content of this label
 	 */
 	public List<T> getContent() {
-		return new ArrayList<>(content);
+		return content;
 	}
 
 
@@ -17,6 +17,11 @@ public class Action implements Matchable<Action> {
      */
     private final String label;
 
+    /**
+     * the identifier of the label of this action in the ActionDictionary
+     */
+    private final int id;
+
     /**
      * Constructor for an action.
      *
@@ -25,6 +30,7 @@ public class Action implements Matchable<Action> {
     public Action(String label) {
         Objects.requireNonNull(label);
         this.label = label;
+        this.id = ActionDictionary.getId(label);
     }
 
 
@@ -45,17 +51,26 @@ public class Action implements Matchable<Action> {
         return label;
     }
 
+    /**
+     * Getter of the identifier of the label of this action (see <code>ActionDictionary</code>).
+     * Two actions have the same identifier if and only if they have the same label.
+     * @return the identifier of the label of this action
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Implementation of the interface Matchable.
      * True if this action is matching arg.
-     * Two actions match if they have the same content.
+     * Two actions match if they have the same content, i.e., the same identifier.
      *
      * @param arg the other action to match
      * @return true if this action matches arg
      */
     @Override
     public boolean match(Action arg) {
-        return label.equals(arg.getLabel());
+        return id == arg.getId();
     }
 
 
@@ -0,0 +1,51 @@
+package io.github.contractautomata.catlib.automaton.label.action;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class implementing the global dictionary of action names. <br>
+ * Each distinct name (i.e., the label of an action) is assigned a unique integer identifier, starting from 0. <br>
+ * An action and its co-action have the same name, thus the same identifier.
+ * Identifiers are dense, so that sets of actions can be stored as bitsets indexed by identifier. <br>
+ * The dictionary is thread-safe. <br>
+ *
+ * @author Davide Basile
+ */
+public final class ActionDictionary {
+
+	/**
+	 * the identifiers of the names
+	 */
+	private static final ConcurrentMap<String,Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * the next free identifier
+	 */
+	private static final AtomicInteger counter = new AtomicInteger();
+
+	private ActionDictionary() {}
+
+	/**
+	 * Returns the identifier of the name passed as argument, assigning a new identifier if the name is not
+	 * in the dictionary.
+	 *
+	 * @param name the name of an action, must be non-null
+	 * @return the identifier of name
+	 */
+	public static int getId(String name) {
+		Objects.requireNonNull(name);
+		Integer id = ids.get(name);
+		return (id!=null)?id:ids.computeIfAbsent(name, k->counter.getAndIncrement());
+	}
+
+	/**
+	 * Returns the number of names in the dictionary, i.e., an upper bound to all identifiers assigned so far.
+	 * @return the number of names in the dictionary
+	 */
+	public static int size() {
+		return counter.get();
+	}
+}
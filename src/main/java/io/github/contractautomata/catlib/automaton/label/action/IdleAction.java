@@ -12,6 +12,12 @@ public class IdleAction extends Action{
      */
     public static final String IDLE="-";
 
+    /**
+     * Shared idle action. Idle actions are all equal, thus labels can refer to this instance
+     * instead of creating a new one for each idle principal.
+     */
+    public static final IdleAction INSTANCE = new IdleAction();
+
     /**
      * Constructor for an idle action
      */
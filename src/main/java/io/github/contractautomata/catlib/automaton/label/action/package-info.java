@@ -3,6 +3,7 @@
  * <code>Action</code> is the super class from which the other actions are inheriting.<br>
  * In Contract Automata, an action can be either an <code>OfferAction</code>, a <code>RequestAction</code> or an <code>IdleAction</code> (i.e., nil action).<br>
  * Actions are matchable and a request action matches an offer action (and vice-versa) if both have the same label.<br>
+ * Labels of actions are mapped to integer identifiers by the <code>ActionDictionary</code>, so that matching amounts to comparing integers.<br>
  * Actions can have an <code>Address</code>, in this case implementing the interface <code>AddressedAction</code>. <br>
  * Actions with addresses are <code>AddressedOfferAction</code> and <code>AddressedRequestActions</code>.<br>
  * These actions are equipped with an address storing senders and receivers of actions.<br>
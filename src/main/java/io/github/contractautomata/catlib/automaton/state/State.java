@@ -1,6 +1,7 @@
 package io.github.contractautomata.catlib.automaton.state;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -24,7 +25,7 @@ public class State<T> extends AbstractState<List<BasicState<T>>> {
 	 * @param listState  the list of basic states
 	 */
 	public State(List<BasicState<T>> listState){
-		super(listState);
+		super(listState==null?null:Collections.unmodifiableList(new ArrayList<>(listState)));
 		if (listState.isEmpty() || listState.stream().anyMatch(Objects::isNull))
 			throw new IllegalArgumentException();
 	}
@@ -58,12 +59,13 @@ public class State<T> extends AbstractState<List<BasicState<T>>> {
 	}
 
 	/**
-	 * Getter of the content of this state
-	 * @return the list of basic states
+	 * Getter of the content of this state.
+	 * The list is copied once at construction, and is returned without copying it.
+	 * @return the unmodifiable list of basic states
 	 */
 	@Override
 	public  List<BasicState<T>> getState() {
-		return new ArrayList<>(super.getState());
+		return super.getState();
 	}
 
 
@@ -0,0 +1,90 @@
+package io.github.contractautomata.catlib.automaton.state;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Class implementing a factory of states. <br>
+ * The factory returns a unique (canonical) object for each basic state with the same content and flags (and
+ * principal, if given), and a unique object for each state with the same tuple of basic states. <br>
+ * Because states use identity equality, a factory ensures that the states it creates are never ambiguous, and
+ * the lookup of a state from its basic states costs a hash lookup with a precomputed hash code. <br>
+ * Canonical objects are unique only within the same factory. The factory is thread-safe. <br>
+ *
+ * @param <T> the generic type of the content of the basic states
+ *
+ * @author Davide Basile
+ */
+public class StateFactory<T> {
+
+	/**
+	 * the canonical basic states, indexed by their content and flags, and possibly by their principal
+	 */
+	private final ConcurrentMap<List<Object>, BasicState<T>> basicStates;
+
+	/**
+	 * the canonical states, indexed by their tuple of basic states
+	 */
+	private final ConcurrentMap<StateTuple<BasicState<T>>, State<T>> states;
+
+	/**
+	 * Constructor for an empty factory.
+	 */
+	public StateFactory() {
+		this.basicStates = new ConcurrentHashMap<>();
+		this.states = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the canonical basic state with the given content and flags, creating it if absent.
+	 *
+	 * @param label the content of the state
+	 * @param init  true if it is initial
+	 * @param fin true if it is final
+	 * @param committed true if the state is committed
+	 * @return the canonical basic state with the given content and flags
+	 */
+	public BasicState<T> createBasicState(T label, boolean init, boolean fin, boolean committed) {
+		if (label==null)
+			throw new IllegalArgumentException();
+		return basicStates.computeIfAbsent(List.of(label, init, fin, committed),
+				k->new BasicState<>(label, init, fin, committed));
+	}
+
+	/**
+	 * Returns the canonical basic state of the given principal with the given content and flags, creating it if absent.
+	 * Basic states of different principals are different objects, also when they have the same content and flags.
+	 *
+	 * @param principal the index of the principal of the state
+	 * @param label the content of the state
+	 * @param init  true if it is initial
+	 * @param fin true if it is final
+	 * @param committed true if the state is committed
+	 * @return the canonical basic state of the given principal with the given content and flags
+	 */
+	public BasicState<T> createBasicState(int principal, T label, boolean init, boolean fin, boolean committed) {
+		if (label==null)
+			throw new IllegalArgumentException();
+		return basicStates.computeIfAbsent(List.of(principal, label, init, fin, committed),
+				k->new BasicState<>(label, init, fin, committed));
+	}
+
+	/**
+	 * Returns the canonical state with the given tuple of basic states, creating it if absent.
+	 *
+	 * @param listState the list of basic states
+	 * @return the canonical state with the given tuple of basic states
+	 */
+	public State<T> createState(List<BasicState<T>> listState) {
+		return states.computeIfAbsent(new StateTuple<>(listState), k->new State<>(listState));
+	}
+
+	/**
+	 * Returns the number of distinct states created by this factory.
+	 * @return the number of distinct states created by this factory
+	 */
+	public int getNumStates() {
+		return states.size();
+	}
+}
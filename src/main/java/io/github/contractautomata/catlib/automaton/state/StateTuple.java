@@ -0,0 +1,123 @@
+package io.github.contractautomata.catlib.automaton.state;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Class implementing an immutable tuple of states. <br>
+ * It is used as a key for retrieving the unique state corresponding to a tuple of states (e.g., the composed state
+ * corresponding to a tuple of states of the operands of a composition). <br>
+ * States do not override equals, thus two tuples are equal if they contain the same objects in the same positions. <br>
+ * The hash code is computed once, at construction. <br>
+ *
+ * @param <S> the generic type of the states in the tuple
+ *
+ * @author Davide Basile
+ */
+public final class StateTuple<S extends AbstractState<?>> {
+
+	/**
+	 * the states of the tuple
+	 */
+	private final Object[] states;
+
+	/**
+	 * the hash code of the tuple
+	 */
+	private final int hash;
+
+	/**
+	 * Constructor for a tuple of states.
+	 *
+	 * @param states the list of states, must be non-null and without null elements
+	 */
+	public StateTuple(List<? extends S> states) {
+		this(states.toArray());
+	}
+
+	private StateTuple(Object[] states) {
+		for (Object s : states)
+			if (s==null)
+				throw new IllegalArgumentException();
+		this.states = states;
+		int h = 1;
+		for (Object s : states)
+			h = 31*h + s.hashCode();
+		this.hash = h;
+	}
+
+	/**
+	 * Returns the state at position i.
+	 * @param i the position
+	 * @return the state at position i
+	 */
+	@SuppressWarnings("unchecked")
+	public S get(int i) {
+		return (S) states[i];
+	}
+
+	/**
+	 * Returns the size of this tuple.
+	 * @return the size of this tuple
+	 */
+	public int size() {
+		return states.length;
+	}
+
+	/**
+	 * Returns a new tuple equal to this one, except for the state at position i which is replaced by s.
+	 * @param i the position of the state to replace
+	 * @param s the new state
+	 * @return a new tuple where the state at position i is s
+	 */
+	public StateTuple<S> set(int i, S s) {
+		Object[] copy = states.clone();
+		copy[i] = s;
+		return new StateTuple<>(copy);
+	}
+
+	/**
+	 * Returns an unmodifiable list view of this tuple.
+	 * @return an unmodifiable list view of this tuple
+	 */
+	public List<S> toList() {
+		return new AbstractList<>() {
+			@Override
+			public S get(int index) {
+				return StateTuple.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return states.length;
+			}
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		StateTuple<?> other = (StateTuple<?>) o;
+		if (hash != other.hash || states.length != other.states.length)
+			return false;
+		for (int i=0; i<states.length; i++)
+			if (states[i]!=other.states[i])
+				return false;
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Print a String representing this object
+	 * @return a String representing this object
+	 */
+	@Override
+	public String toString() {
+		return toList().toString();
+	}
+}
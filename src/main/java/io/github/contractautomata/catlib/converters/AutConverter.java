@@ -59,7 +59,7 @@ public interface AutConverter<A1 extends Automaton<?,?,?,?>,A2 extends Automaton
 		BiPredicate<String,String> isAction = (s,a)->s.startsWith(a) && s.length()>1;
 
 		if (action.equals(IdleAction.IDLE))
-			return new IdleAction();
+			return IdleAction.INSTANCE;
 		if (isAction.test(action, OfferAction.OFFER))
 			return new OfferAction(action.substring(1));
 		if (isAction.test(action, RequestAction.REQUEST))
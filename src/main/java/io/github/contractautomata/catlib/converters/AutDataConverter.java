@@ -5,8 +5,8 @@ import com.google.re2j.Pattern;
 import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
-import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.state.StateFactory;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 
 import java.io.*;
@@ -75,8 +75,7 @@ public class AutDataConverter<L extends Label<Action>>  implements AutConverter<
 			String[][] fin = new String[1][];
 			String[][] comm = new String[1][];
 			tr = new HashSet<>();
-			Set<State<String>> states = new HashSet<>();
-			Map<Integer,Set<BasicState<String>>> mapBasicStates = new HashMap<>();
+			StateFactory<String> factory = new StateFactory<>();
 
 			String strLine;
 			while ((strLine = br.readLine()) != null)
@@ -108,12 +107,12 @@ public class AutDataConverter<L extends Label<Action>>  implements AutConverter<
 						}
 						case "(": //a permitted transition
 						{
-							tr.add(loadTransition(strLine,rank, ModalTransition.Modality.PERMITTED, states,mapBasicStates,initial,fin,comm));
+							tr.add(loadTransition(strLine,rank, ModalTransition.Modality.PERMITTED, factory,initial,fin,comm));
 							break;
 						}
 						case ModalTransition.NECESSARY: //a necessary transition
 						{
-							tr.add(loadTransition(strLine,rank,readModality(strLine),states,mapBasicStates,initial,fin,comm));
+							tr.add(loadTransition(strLine,rank,readModality(strLine),factory,initial,fin,comm));
 							break;
 						}
 						default :
@@ -160,7 +159,7 @@ public class AutDataConverter<L extends Label<Action>>  implements AutConverter<
 			throw new IllegalArgumentException("Invalid modality");
 	}
 
-	private ModalTransition<String,Action,State<String>,L> loadTransition(String str, int rank, ModalTransition.Modality type, Set<State<String>> states,Map<Integer,Set<BasicState<String>>> mapBasicStates,String[] initial, String[][] fin, String[][] comm) throws IOException
+	private ModalTransition<String,Action,State<String>,L> loadTransition(String str, int rank, ModalTransition.Modality type, StateFactory<String> factory,String[] initial, String[][] fin, String[][] comm) throws IOException
 	{
 		String regex = "\\(\\["+"(.+)"+"\\],\\["+"(.+)"+"\\],\\["+"(.+)"+"\\]\\)";
 		Pattern pattern = Pattern.compile(regex);
@@ -178,8 +177,8 @@ public class AutDataConverter<L extends Label<Action>>  implements AutConverter<
 				tr[2].length!=rank)
 			throw new IOException("Ill-formed transitions, different ranks");
 
-		State<String> source = createOrLoadState(states,mapBasicStates,tr[0],initial, fin, comm);//source
-		State<String> target = createOrLoadState(states,mapBasicStates,tr[2],initial, fin, comm);//target
+		State<String> source = createOrLoadState(factory,tr[0],initial, fin, comm);//source
+		State<String> target = createOrLoadState(factory,tr[2],initial, fin, comm);//target
 		return new ModalTransition<>(source,createLabel(tr),target,type);
 	}
 
@@ -194,36 +193,15 @@ public class AutDataConverter<L extends Label<Action>>  implements AutConverter<
 
 	}
 
-	private State<String> createOrLoadState(Set<State<String>> states,Map<Integer,Set<BasicState<String>>> mapBasicStates, String[] state,String[] initial, String[][] fin, String[][] comm)  {
-
-		return states.stream()
-				.filter(cs->IntStream.range(0, cs.getState().size())
-						.allMatch(i->cs.getState().get(i).getState().equals(state[i])))
-				.findAny()
-				.orElseGet(()->{
-					State<String> temp= new State<>(
-							IntStream.range(0, state.length) //creating the list of basic states using mapBasicStates
-									.mapToObj(i->{
-										Set<BasicState<String>> l = mapBasicStates.get(i);
-										if (l==null || l.stream().noneMatch(bs-> bs.getState().equals(state[i])))
-										{
-											BasicState<String> bs=new BasicState<>(state[i]+"",
-													state[i].equals(initial[i]),
-													Arrays.stream(fin[i]).anyMatch(id->id.equals(state[i])),
-													i<comm.length&&!Objects.isNull(comm[i])&& //for retrocompatibility
-															Arrays.stream(comm[i]).anyMatch(id->id.equals(state[i])));
-											if (l==null)
-												mapBasicStates.put(i, new HashSet<>(List.of(bs)));
-											else
-												l.add(bs);
-											return bs;
-										} else
-											return l.stream()
-													.filter(bs->bs.getState().equals(state[i]))
-													.findFirst()
-													.orElseThrow(RuntimeException::new);
-									}).collect(Collectors.toList()));
-					states.add(temp); return temp;});
+	private State<String> createOrLoadState(StateFactory<String> factory, String[] state,String[] initial, String[][] fin, String[][] comm)  {
+		//the factory returns the same object for the same basic state of a principal, and for the same list of basic states
+		return factory.createState(IntStream.range(0, state.length)
+				.mapToObj(i->factory.createBasicState(i,state[i],
+						state[i].equals(initial[i]),
+						Arrays.stream(fin[i]).anyMatch(id->id.equals(state[i])),
+						i<comm.length&&!Objects.isNull(comm[i])&& //for retrocompatibility
+								Arrays.stream(comm[i]).anyMatch(id->id.equals(state[i]))))
+				.collect(Collectors.toList()));
 	}
 
 	/**
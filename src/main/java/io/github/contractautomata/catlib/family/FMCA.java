@@ -16,6 +16,7 @@ import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.operations.OrchestrationSynthesisOperator;
 import io.github.contractautomata.catlib.requirements.Agreement;
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 
 /**
  * Class implementing a Featured Modal Contract Automaton (FMCA). <br>
@@ -73,7 +74,7 @@ public class FMCA {
 		Objects.requireNonNull(products);
 
 		Function<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>, Set<String>>
-				getActions = a -> a.getTransition().parallelStream()
+				getActions = a -> ExecutionContext.stream(a.getTransitionView())
 				.map(t->t.getLabel().getAction().getLabel())
 				.collect(Collectors.toSet());
 
@@ -88,7 +89,7 @@ public class FMCA {
 		//(e.g. equivalent features, features that are never forbidden).
 		//Once the orchestration is computed, products requiring features not present in the orchestration are removed.
 		this.aut=aut;
-		this.family= new Family(products.parallelStream()
+		this.family= new Family(ExecutionContext.stream(products)
 				.filter(p->orcActions.containsAll(p.getRequired().stream()
 						.map(Feature::getName)
 						.filter(autActions::contains)
@@ -136,7 +137,7 @@ public class FMCA {
 				.anyMatch(l->l.getAction().getLabel().equals("dummy")))
 			throw new UnsupportedOperationException();
 
-		Set<String> act=aut.getTransition().parallelStream()
+		Set<String> act=ExecutionContext.stream(aut.getTransitionView())
 				.map(t->t.getLabel().getAction().getLabel())
 				.collect(Collectors.toSet());
 
@@ -151,7 +152,7 @@ public class FMCA {
 												.collect(Collectors.toSet()),
 								Collectors.toMap(Entry::getKey, Entry::getValue)));
 
-		return quotientClasses.entrySet().parallelStream()
+		return ExecutionContext.stream(quotientClasses.entrySet())
 				.map(e->e.getValue().entrySet())
 				.map(s->s.iterator().next())//the first element is the canonical of each equivalence class
 				.collect(Collectors.toMap(Entry::getKey, Entry::getValue));
@@ -184,8 +185,7 @@ public class FMCA {
 	 */
 	public Map<Product,Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> getTotalProductsWithNonemptyOrchestration()
 	{
-		return this.family.getPo().entrySet()
-				.parallelStream()
+		return ExecutionContext.stream(this.family.getPo().entrySet())
 				.filter(e->e.getValue().get(false).isEmpty())
 				.map(Entry::getKey)
 				.map(p-> new AbstractMap.SimpleEntry<>(p,
@@ -237,11 +237,11 @@ public class FMCA {
 				.anyMatch(l->l.getAction().getLabel().equals("dummy")))
 			throw new UnsupportedOperationException();
 
-		return Stream.iterate(this.family.getMaximalProducts().parallelStream()
+		return Stream.iterate(ExecutionContext.stream(this.family.getMaximalProducts())
 								.filter(pred)
 								.collect(Collectors.toSet()),
 						s->!s.isEmpty(),
-						s->s.parallelStream()
+						s->ExecutionContext.stream(s)
 								.map(this.family::getSubProductsNotClosedTransitively)
 								.flatMap(Set::stream)
 								.filter(pred)
@@ -1,5 +1,6 @@
 package io.github.contractautomata.catlib.family;
 
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -87,9 +88,9 @@ public class Family {
 		this.products=new HashSet<>(products);
 		this.areComparable=areComparable;
 		this.compare=compare;
-		this.po=products.parallelStream()
+		this.po=ExecutionContext.stream(products)
 				.collect(Collectors.toMap(Function.identity(),
-						p1->products.parallelStream()
+						p1->ExecutionContext.stream(products)
 								.filter(p2-> !p1.equals(p2) && areComparable.test(p1,p2))//are comparable
 								.collect(Collectors.partitioningBy(p2->compare.apply(p2, p1)<=-1,Collectors.toSet())))); //changed from <0 to <=-1 for mutation testing
 
@@ -118,7 +119,7 @@ public class Family {
 	 */
 	public int getMaximumDepth()
 	{
-		return products.parallelStream()
+		return ExecutionContext.stream(products)
 				.mapToInt(Product::getForbiddenAndRequiredNumber)
 				.max().orElse(0)+1; //also consider products with zero features	
 	}
@@ -152,10 +153,8 @@ public class Family {
 	 * @return the sub-products not closed transitively of prod.
 	 */
 	public Set<Product> getSubProductsNotClosedTransitively(Product p) {
-		return this.getSubProductsOfProduct(p)
-				.parallelStream()
-				.filter(subProduct1->this.getSubProductsOfProduct(p)
-						.parallelStream()
+		return ExecutionContext.stream(this.getSubProductsOfProduct(p))
+				.filter(subProduct1->ExecutionContext.stream(this.getSubProductsOfProduct(p))
 						.noneMatch(subProduct2-> areComparable.test(subProduct1,subProduct2)
 								&&	compare.apply(subProduct2, subProduct1)<=-1))
 				.collect(Collectors.toSet());
@@ -167,7 +166,7 @@ public class Family {
 	 */
 	public Set<Product> getMaximalProducts()
 	{
-		return this.po.entrySet().parallelStream()
+		return ExecutionContext.stream(this.po.entrySet())
 				.filter(e->e.getValue().get(true).isEmpty())
 				.map(Entry::getKey)
 				.collect(Collectors.toSet());
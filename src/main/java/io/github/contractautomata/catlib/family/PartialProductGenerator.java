@@ -1,5 +1,6 @@
 package io.github.contractautomata.catlib.family;
 
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
@@ -45,17 +46,17 @@ public class PartialProductGenerator implements UnaryOperator<Set<Product>>{
 		 * 	 is not a valid product (p1 if f is negated in the disjunct, p2 otherwise).<br>
 		 */
 		Set<Feature> features =
-				setprod.parallelStream()
+				ExecutionContext.stream(setprod)
 		.flatMap(p->Stream.of(p.getRequired().stream(),p.getForbidden().stream()))
 		.flatMap(Function.identity())
 		.collect(Collectors.toSet());
 		
 		return Stream.iterate(setprod, s->!s.isEmpty(), sp->{
 			Map<Product,Set<Product>> map = features.stream()
-					.map(f->sp.parallelStream()
+					.map(f->ExecutionContext.stream(sp)
 							.collect(Collectors.groupingByConcurrent(p->p.removeFeatures(Collections.singleton(f)),Collectors.toSet())))
 					.reduce(new ConcurrentHashMap<>(),(x,y)->{x.putAll(y); return x;});	
-			return map.entrySet().parallelStream()
+			return ExecutionContext.stream(map.entrySet())
 					.filter(e->e.getValue().size()>1)
 					.map(Entry::getKey)
 					.collect(Collectors.toSet());})
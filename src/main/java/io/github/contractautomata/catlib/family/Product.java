@@ -1,6 +1,7 @@
 package io.github.contractautomata.catlib.family;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -10,7 +11,9 @@ import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.label.action.ActionDictionary;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 
 /**
  * A configuration/product of a product line/family, identified as set of required and forbidden features.
@@ -29,6 +32,16 @@ public class Product {
 	 */
 	private final Set<Feature> forbidden;
 
+	/**
+	 * the identifiers of the names of the required features, see ActionDictionary
+	 */
+	private final BitSet requiredIds;
+
+	/**
+	 * the identifiers of the names of the forbidden features, see ActionDictionary
+	 */
+	private final BitSet forbiddenIds;
+
 	/**
 	 * Constructor for a product from sets of features
 	 * @param required the set of required features, must be non-null
@@ -39,12 +52,26 @@ public class Product {
 		Objects.requireNonNull(required);
 		Objects.requireNonNull(forbidden);
 
-		if (required.parallelStream()
+		if (ExecutionContext.stream(required)
 				.anyMatch(forbidden::contains))
 			throw new IllegalArgumentException("A feature is both required and forbidden");
 
 		this.required= new HashSet<>(required);
 		this.forbidden= new HashSet<>(forbidden);
+		this.requiredIds = toIds(this.required);
+		this.forbiddenIds = toIds(this.forbidden);
+	}
+
+	private static BitSet toIds(Set<Feature> features) {
+		BitSet ids = new BitSet();
+		features.forEach(f->ids.set(ActionDictionary.getId(f.getName())));
+		return ids;
+	}
+
+	private static BitSet actionIds(Set<? extends ModalTransition<?, Action, ?, CALabel>> tr) {
+		BitSet ids = new BitSet();
+		tr.forEach(t->ids.set(t.getLabel().getAction().getId()));
+		return ids;
 	}
 
 	/**
@@ -110,12 +137,9 @@ public class Product {
 	 */
 	public <S1> boolean checkRequired(Set<? extends ModalTransition<S1, Action, State<S1>, CALabel>> tr)
 	{
-		Set<String> act=tr.parallelStream()
-				.map(t->t.getLabel().getAction().getLabel())
-				.collect(Collectors.toSet());
-		return required.stream()
-				.map(Feature::getName)
-				.allMatch(act::contains);
+		BitSet missing = (BitSet) requiredIds.clone();
+		missing.andNot(actionIds(tr));
+		return missing.isEmpty();
 	}
 
 	/**
@@ -127,12 +151,7 @@ public class Product {
 	 */
 	public boolean checkForbidden(Set<? extends ModalTransition<String,Action,State<String>,CALabel>> tr)
 	{
-		Set<String> act=tr.parallelStream()
-				.map(t->t.getLabel().getAction().getLabel())
-				.collect(Collectors.toSet());
-		return forbidden.stream()
-				.map(Feature::getName)
-				.noneMatch(act::contains);
+		return !forbiddenIds.intersects(actionIds(tr));
 	}
 
 	/**
@@ -143,9 +162,7 @@ public class Product {
 	 */
 	public boolean isForbidden(CALabel l)
 	{
-		return forbidden.stream()
-				.map(Feature::getName)
-				.anyMatch(s->s.equals(l.getAction().getLabel()));
+		return forbiddenIds.get(l.getAction().getId());
 	}
 
 	/**
@@ -155,7 +172,7 @@ public class Product {
 	 */
 	public boolean isValid(Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut)
 	{
-		return this.checkForbidden(aut.getTransition()) && this.checkRequired(aut.getTransition());
+		return this.checkForbidden(aut.getTransitionView()) && this.checkRequired(aut.getTransitionView());
 	}
 
 
@@ -17,6 +17,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import io.github.contractautomata.catlib.family.Family;
 import io.github.contractautomata.catlib.family.Feature;
 import io.github.contractautomata.catlib.family.Product;
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -70,7 +71,7 @@ public class FeatureIDEfamilyConverter implements FamilyConverter {
 
 		List<File> listOfFiles = Arrays.asList(listFiles);
 
-		return listOfFiles.parallelStream()
+		return ExecutionContext.stream(listOfFiles)
 				.map(f->{
 					if (f.isFile()&&f.getName().contains("config"))
 						return f.getAbsolutePath();//no sub-directory on products
@@ -92,11 +93,11 @@ public class FeatureIDEfamilyConverter implements FamilyConverter {
 						throw new RuntimeException(e);
 					}
 				})
-				.map(l->new Product(features.parallelStream()
+				.map(l->new Product(ExecutionContext.stream(features)
 						.filter(l::contains)//required
 						.map(Feature::new)
 						.collect(Collectors.toSet()),
-						features.parallelStream()
+						ExecutionContext.stream(features)
 								.filter(s->!l.contains(s))//forbidden
 								.map(Feature::new)
 								.collect(Collectors.toSet())))
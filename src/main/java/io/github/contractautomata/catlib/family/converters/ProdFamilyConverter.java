@@ -22,6 +22,7 @@ import com.google.re2j.Pattern;
 import io.github.contractautomata.catlib.family.Family;
 import io.github.contractautomata.catlib.family.Feature;
 import io.github.contractautomata.catlib.family.Product;
+import io.github.contractautomata.catlib.operations.ExecutionContext;
 
 /**
  * Class implementing import/export from the <code>.prod</code> textual format.
@@ -49,7 +50,7 @@ public class ProdFamilyConverter implements FamilyConverter {
 
 		Pattern pattern = Pattern.compile("p[0-9]+: R=\\{(.*)\\} F=\\{(.*)\\}");
 
-		return lines.parallelStream()
+		return ExecutionContext.stream(lines)
 				.map(pattern::matcher)
 				.filter(Matcher::find)
 				.map(matcher ->new Product(Arrays.stream(matcher.group(1).split(","))
@@ -1,20 +1,28 @@
 package io.github.contractautomata.catlib.operations;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.automaton.transition.Transition;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 
 /**
  * Class implementing the Choreography Synthesis.
@@ -41,6 +49,7 @@ public class ChoreographySynthesisOperator<S1>  extends ModelCheckingSynthesisOp
 
 	private final Predicate<CALabel> req;
 	private Function<Stream<ModalTransition<S1, Action,State<S1>,CALabel>>,Optional<ModalTransition<S1,Action,State<S1>,CALabel>>> choice=Stream::findAny;
+	private boolean independentRemoval;
 
 	/**
 	 * Constructor for the choreography synthesis operator enforcing the requirement req.
@@ -49,7 +58,7 @@ public class ChoreographySynthesisOperator<S1>  extends ModelCheckingSynthesisOp
 	 */
 	public ChoreographySynthesisOperator(Predicate<CALabel> req){
 		super((t,str,sst)->t.isUncontrollable(str,sst,ChoreographySynthesisOperator::controllabilityPredicate),req,
-				Automaton::new,CALabel::new,ModalTransition::new,State::new);
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new);
 
 		this.req=req;
 	}
@@ -64,7 +73,7 @@ public class ChoreographySynthesisOperator<S1>  extends ModelCheckingSynthesisOp
 										 Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,Label<Action>>>  prop){
 		super((t,str,sst)->t.isUncontrollable(str,sst,ChoreographySynthesisOperator::controllabilityPredicate),req, prop,
 				lab->new CALabel(lab.getRank(),lab.getOfferer(),lab.getAction()), //offers are necessary
-				Automaton::new,CALabel::new,ModalTransition::new,State::new,Label::new,ModalTransition::new,Automaton::new);
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new,Label::new,ModalTransition::new,Automaton::trusted);
 
 		this.req=req;
 	}
@@ -82,50 +91,175 @@ public class ChoreographySynthesisOperator<S1>  extends ModelCheckingSynthesisOp
 										 Function<Stream<ModalTransition<S1,Action,State<S1>,CALabel>>,
 												 Optional<ModalTransition<S1,Action,State<S1>,CALabel>>> choice){
 		super((t,str,sst)->t.isUncontrollable(str,sst,ChoreographySynthesisOperator::controllabilityPredicate),req, null,null,
-				Automaton::new,CALabel::new,ModalTransition::new,State::new,null,null,null);
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new,null,null,null);
 
 		this.req=req;
 		this.choice=choice;
 	}
 
+	/**
+	 * Sets whether, each time no further updates are possible, all the transitions violating the branching condition
+	 * that are independent of each other are removed at once, instead of only one of them. <br>
+	 * Two transitions are independent if the offerer of each one is in a different local state in the source states
+	 * of the two transitions, so that removing one of them does not change the branching condition of the other.
+	 * The independent transitions are selected one after the other with the strategy for resolving the choice.
+	 * Note that the synthesis following the removal may prune further transitions, thus the result may differ from
+	 * removing one transition at a time.
+	 * @param independentRemoval true for removing all independent violating transitions at once
+	 */
+	public void setIndependentRemoval(boolean independentRemoval) {
+		this.independentRemoval = independentRemoval;
+	}
+
 	/**
 	 * Applies the choreography synthesis operator to aut
 	 *
 	 * @param arg the plant automaton to which the synthesis is performed
 	 * @return the synthesised choreography, removing only one transition violating the branching condition 
 	 * each time no further updates are possible. The transition to remove is chosen non-deterministically in
-	 * case a specific strategy was not provided in the constructor.
+	 * case a specific strategy was not provided in the constructor. <br>
+	 * If no property is enforced, after each removal the synthesis is resumed from its previous fixpoint rather
+	 * than restarted.
 	 *
 	 */
 	@Override
 	public Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> apply(Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> arg)
 	{
-		if (arg.getTransition().parallelStream()
+		return ExecutionContext.callIn(getExecutionContext(), ()->choreographySynthesis(arg));
+	}
+
+	private Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> choreographySynthesis(Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> arg)
+	{
+		if (ExecutionContext.stream(arg.getTransitionView())
 				.anyMatch(t-> !t.isPermitted()&&t.getLabel().isRequest()))
 			throw new UnsupportedOperationException("The automaton contains necessary requests that are not allowed in the choreography synthesis");
 
+		//the transitions of the synthesis are those of arg only if no property is enforced
+		if (getProp()==null)
+			return removeViolatingBranchingCondition(applyResumable(arg), arg::getTransitionView, this::resume);
+
 		Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> aut = arg;
+		Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> chor = super.apply(aut);
+		while(true)
+		{
+			if (chor==null)
+				return null;
+			final Set<String> violatingBC = violatingBranchingCondition(chor.getTransitionView()).stream()
+					.map(Object::toString)
+					.collect(Collectors.toSet());
+			if (violatingBC.isEmpty())
+				return chor;
+			aut = Automaton.trusted(ExecutionContext.stream(aut.getTransitionView())
+					.filter(t -> !violatingBC.contains(t.toString()))
+					.collect(Collectors.toSet()));
+			chor = super.apply(aut);
+		}
+	}
+
+	/**
+	 * Applies the choreography synthesis operator to the compact automaton arg (see <code>SynthesisOperator.applyToCompact</code>
+	 * and <code>apply</code>). After each removal of the transitions violating the branching condition, the synthesis is resumed
+	 * from its previous fixpoint.
+	 *
+	 * @param arg the plant compact automaton to which the synthesis is performed
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised choreography in compact form, or null if it is empty
+	 * @throws UnsupportedOperationException if a property is to be enforced, model checking requires an <code>Automaton</code>
+	 */
+	@Override
+	public CompactAutomaton<S1,Action,State<S1>,CALabel> applyToCompact(CompactAutomaton<S1,Action,State<S1>,CALabel> arg,
+																		 TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition)
+	{
+		return ExecutionContext.callIn(getExecutionContext(), ()->choreographySynthesis(arg, createTransition));
+	}
+
+	private CompactAutomaton<S1,Action,State<S1>,CALabel> choreographySynthesis(CompactAutomaton<S1,Action,State<S1>,CALabel> arg,
+																			 TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition)
+	{
+		if (getProp()!=null)
+			throw new UnsupportedOperationException("The model checking of a property is not supported on compact automata");
 
+		if (ExecutionContext.parallel(IntStream.range(0, arg.getNumTransitions()))
+				.anyMatch(t-> arg.getModality(t)!=ModalTransition.Modality.PERMITTED&&arg.getLabel(arg.getLabelId(t)).isRequest()))
+			throw new UnsupportedOperationException("The automaton contains necessary requests that are not allowed in the choreography synthesis");
+
+		return removeViolatingBranchingCondition(applyResumableToCompact(arg, createTransition),
+				()->ExecutionContext.parallel(IntStream.range(0, arg.getNumTransitions()))
+						.mapToObj(t->arg.getTransition(t, createTransition))
+						.collect(Collectors.toList()),
+				this::resumeToCompact);
+	}
+
+	/**
+	 * removes the transitions violating the branching condition from the result chor of the resumable synthesis,
+	 * and resumes the synthesis, until no transition violates the branching condition;
+	 * all supplies the transitions of the automaton to which the synthesis has been applied
+	 */
+	private <R> R removeViolatingBranchingCondition(R chor, Supplier<Collection<ModalTransition<S1,Action,State<S1>,CALabel>>> all,
+													 Function<Set<ModalTransition<S1,Action,State<S1>,CALabel>>,R> resume)
+	{
+		Map<String,List<ModalTransition<S1,Action,State<S1>,CALabel>>> printed = null;
 		while(true)
 		{
-			Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> chor = super.apply(aut);
 			if (chor==null)
 				return null;
-			final Set<ModalTransition<S1,Action,State<S1>,CALabel>> trf = chor.getTransition();
-			ModalTransition<S1,Action,State<S1>,CALabel> violatingBC = choice.apply(chor.getTransition().parallelStream()
-							.filter(x->!satisfiesBranchingCondition(x,trf, new HashSet<>())))
-					.orElse(null);
-			if (violatingBC==null)
+			final Set<String> violatingBC = violatingBranchingCondition(getResumableTransitions()).stream()
+					.map(Object::toString)
+					.collect(Collectors.toSet());
+			if (violatingBC.isEmpty())
 				return chor;
-			aut = new Automaton<>(aut.getTransition().parallelStream()
-					.filter(t -> !t.toString().equals(violatingBC.toString()))
+			if (printed==null)
+				printed = ExecutionContext.stream(all.get())
+						.collect(Collectors.groupingByConcurrent(Object::toString));
+			final Map<String,List<ModalTransition<S1,Action,State<S1>,CALabel>>> p = printed;
+			chor = resume.apply(violatingBC.stream()
+					.flatMap(x->p.get(x).stream())
 					.collect(Collectors.toSet()));
 		}
 	}
 
+	/**
+	 * the transitions of chor violating the branching condition to be removed
+	 */
+	private List<ModalTransition<S1,Action,State<S1>,CALabel>> violatingBranchingCondition(Set<ModalTransition<S1,Action,State<S1>,CALabel>> trf)
+	{
+		if (!independentRemoval)
+			return choice.apply(ExecutionContext.stream(trf)
+							.filter(x->!satisfiesBranchingCondition(x,trf, new HashSet<>())))
+					.map(List::of)
+					.orElse(List.of());
+
+		final Set<ModalTransition<S1,Action,State<S1>,CALabel>> violating = ExecutionContext.stream(trf)
+				.filter(x->!satisfiesBranchingCondition(x,trf, new HashSet<>()))
+				.collect(Collectors.toSet());
+		final List<ModalTransition<S1,Action,State<S1>,CALabel>> selected = new ArrayList<>();
+		while (true) {
+			Optional<ModalTransition<S1,Action,State<S1>,CALabel>> next = choice.apply(ExecutionContext.stream(violating)
+					.filter(x->selected.stream().allMatch(y->independent(x,y))));
+			if (next.isEmpty())
+				return selected;
+			selected.add(next.get());
+			violating.remove(next.get());
+		}
+	}
+
+	/**
+	 * true if the offerer of each transition is in a different local state in the source states of the two transitions
+	 */
+	private static <S1> boolean independent(ModalTransition<S1,Action,State<S1>,CALabel> t1, ModalTransition<S1,Action,State<S1>,CALabel> t2)
+	{
+		return differentLocalState(t1.getSource(), t2.getSource(), t1.getLabel().getOfferer())
+				&& differentLocalState(t1.getSource(), t2.getSource(), t2.getLabel().getOfferer());
+	}
+
+	private static <S1> boolean differentLocalState(State<S1> s1, State<S1> s2, Integer principal)
+	{
+		return !s1.getState().get(principal).getState().equals(s2.getState().get(principal).getState());
+	}
+
 	private static <S1> boolean controllabilityPredicate(ModalTransition<S1,Action,State<S1>,CALabel> tra, Set<ModalTransition<S1,Action,State<S1>,CALabel>> str, Set<State<S1>> badStates)
 	{
-		return	str.parallelStream()
+		return	ExecutionContext.stream(str)
 				.filter(t->t.getLabel().isMatch()
 						&& !badStates.contains(t.getSource())) 	//badStates does not contain target of t,
 				//guaranteed to hold because the pruning predicate of the synthesis has bad.contains(x.getTarget())
@@ -156,18 +290,18 @@ public class ChoreographySynthesisOperator<S1>  extends ModelCheckingSynthesisOp
 	 */
 	public boolean satisfiesBranchingCondition(ModalTransition<S1,Action,State<S1>,CALabel> tra, Set<ModalTransition<S1,Action,State<S1>,CALabel>> trans, Set<State<S1>> bad)
 	{
-		final Set<ModalTransition<S1,Action,State<S1>,CALabel>> ftr = trans.parallelStream()
+		final Set<ModalTransition<S1,Action,State<S1>,CALabel>> ftr = ExecutionContext.stream(trans)
 				.filter(x->req.test(x.getLabel())&&!bad.contains(x.getSource())&&!bad.contains(x.getTarget()))
 				.collect(Collectors.toSet()); //only valid candidates
 
-		return ftr.parallelStream()
+		return ExecutionContext.stream(ftr)
 				.map(Transition::getSource)
 				.filter(x->x!=tra.getSource()&&
 						tra.getSource().getState().get(tra.getLabel().getOfferer()).getState()
 								.equals(x.getState().get(tra.getLabel().getOfferer()).getState()))
 				//it's not the same state of tra but sender is in the same state of this
 
-				.allMatch(s -> ftr.parallelStream()
+				.allMatch(s -> ExecutionContext.stream(ftr)
 								.anyMatch(x->x.getSource()==s
 										&& tra.getLabel().equals(x.getLabel()))
 						//for all such states there exists an outgoing transition with the same label of tra
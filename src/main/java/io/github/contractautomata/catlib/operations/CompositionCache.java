@@ -0,0 +1,159 @@
+package io.github.contractautomata.catlib.operations;
+
+import io.github.contractautomata.catlib.automaton.Automaton;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class implementing a cache of the results of compositions, shared among different invocations of composition
+ * functions. <br>
+ * A result is indexed by the fingerprints of the operands, the pruning predicate (compared by identity),
+ * the bound, and the options of the composition function. <br>
+ * The size of the cache is bounded by the total number of transitions of the cached compositions (a null composition
+ * counts as one transition): when the bound is exceeded, the least recently used compositions are evicted. <br>
+ * The cached composition refers to the states of the operands it has been computed from: states do not override
+ * equals, hence a hit for operands with the same fingerprints but different states must be translated to the
+ * states of the new operands (see <code>CompositionFunction</code>). <br>
+ * The numbers of hits, misses and evictions are recorded. The cache is thread-safe. <br>
+ *
+ * @author Davide Basile
+ */
+public final class CompositionCache {
+
+	/**
+	 * a cached composition, with the information on whether its frontier was empty
+	 */
+	static final class Cached {
+		final List<? extends Automaton<?,?,?,?>> operands;
+		final Automaton<?,?,?,?> aut;
+		final boolean frontierEmpty;
+		final long weight;
+
+		private Cached(List<? extends Automaton<?,?,?,?>> operands, Automaton<?,?,?,?> aut, boolean frontierEmpty) {
+			this.operands = operands;
+			this.aut = aut;
+			this.frontierEmpty = frontierEmpty;
+			this.weight = (aut==null)?1:Math.max(1, aut.getTransitionView().size());
+		}
+	}
+
+	private final long maxWeight;
+
+	/**
+	 * the cached compositions, in access order
+	 */
+	private final LinkedHashMap<List<Object>,Cached> entries;
+
+	private long weight;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Constructor for an empty cache.
+	 * @param maxWeight the maximum total number of transitions of the cached compositions, must be positive
+	 */
+	public CompositionCache(long maxWeight) {
+		if (maxWeight<1)
+			throw new IllegalArgumentException();
+		this.maxWeight = maxWeight;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the cached composition of the key, or null if absent.
+	 * @param key the key
+	 * @return the cached composition of the key, or null if absent
+	 */
+	synchronized Cached get(List<Object> key) {
+		Cached c = entries.get(key);
+		if (c==null)
+			misses++;
+		else
+			hits++;
+		return c;
+	}
+
+	/**
+	 * Stores the composition of the key, evicting the least recently used compositions if needed.
+	 * A composition larger than the bound of the cache is not stored.
+	 * @param key the key
+	 * @param operands the operands of the composition, whose states are those of the composition
+	 * @param aut the composition, possibly null
+	 * @param frontierEmpty true if the frontier of the composition was empty
+	 */
+	synchronized void put(List<Object> key, List<? extends Automaton<?,?,?,?>> operands, Automaton<?,?,?,?> aut, boolean frontierEmpty) {
+		Cached c = new Cached(operands, aut, frontierEmpty);
+		if (c.weight>maxWeight)
+			return;
+		Cached old = entries.put(key, c);
+		if (old!=null)
+			weight -= old.weight;
+		weight += c.weight;
+		Iterator<Map.Entry<List<Object>,Cached>> it = entries.entrySet().iterator();
+		while (weight>maxWeight) {
+			weight -= it.next().getValue().weight;
+			it.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes all cached compositions. The recorded numbers of hits, misses and evictions are not reset.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+	}
+
+	/**
+	 * Returns the number of cached compositions.
+	 * @return the number of cached compositions
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the total number of transitions of the cached compositions.
+	 * @return the total number of transitions of the cached compositions
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * Returns the maximum total number of transitions of the cached compositions.
+	 * @return the maximum total number of transitions of the cached compositions
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Returns the number of lookups that found a cached composition.
+	 * @return the number of hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of lookups that did not find a cached composition.
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of compositions evicted from the cache.
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+}
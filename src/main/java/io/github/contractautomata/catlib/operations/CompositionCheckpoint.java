@@ -0,0 +1,170 @@
+package io.github.contractautomata.catlib.operations;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class implementing a checkpoint of a bounded composition, i.e., the state of the exploration of a
+ * <code>CompositionFunction</code> written to a file, that can be resumed in a later execution. <br>
+ * States and labels of the operands are referred to by their index in the operand, and each operand is
+ * described by the printing of its states and labels, used for checking that the checkpoint is resumed with the
+ * same operands. <br>
+ * A composed state is a tuple of indexes of states of the operands, a composed label is a tuple of indexes of labels
+ * of the operands (-1 if the operand is idle). <br>
+ * The checkpoint is written to a temporary file which is then moved onto the target file, so that a crash
+ * while writing does not corrupt a previous checkpoint. <br>
+ *
+ * @author Davide Basile
+ */
+final class CompositionCheckpoint {
+
+	private static final int MAGIC = 0xCA7C4EC0;
+	private static final int VERSION = 1;
+
+	/**
+	 * for each operand, the printing of its states, the index of a state is its position in the list
+	 */
+	final List<List<String>> states;
+
+	/**
+	 * for each operand, the printing of its labels, the index of a label is its position in the list
+	 */
+	final List<List<String>> labels;
+
+	/**
+	 * true if the transitions are kept in a transition store
+	 */
+	final boolean store;
+
+	/**
+	 * the visited composed states
+	 */
+	final List<int[]> visited;
+
+	/**
+	 * the composed states that are not to be visited
+	 */
+	final List<int[]> dontvisit;
+
+	/**
+	 * the composed states still to be visited, the last element is the depth of the state
+	 */
+	final List<int[]> pending;
+
+	/**
+	 * the composed transitions, each is the source tuple, the label tuple, the target tuple and the ordinal of the modality
+	 */
+	final List<int[]> transitions;
+
+	CompositionCheckpoint(List<List<String>> states, List<List<String>> labels, boolean store,
+						  List<int[]> visited, List<int[]> dontvisit, List<int[]> pending, List<int[]> transitions) {
+		this.states = states;
+		this.labels = labels;
+		this.store = store;
+		this.visited = visited;
+		this.dontvisit = dontvisit;
+		this.pending = pending;
+		this.transitions = transitions;
+	}
+
+	/**
+	 * Writes this checkpoint to the file, replacing its previous content.
+	 * @param path the file
+	 * @throws IOException if an I/O error occurs
+	 */
+	void write(Path path) throws IOException {
+		Path dir = path.toAbsolutePath().getParent();
+		Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				writeStrings(out, states);
+				writeStrings(out, labels);
+				out.writeBoolean(store);
+				writeTuples(out, visited);
+				writeTuples(out, dontvisit);
+				writeTuples(out, pending);
+				writeTuples(out, transitions);
+			}
+			Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Reads a checkpoint from the file.
+	 * @param path the file
+	 * @return the checkpoint read from the file
+	 * @throws IOException if an I/O error occurs or the file is not a checkpoint
+	 */
+	static CompositionCheckpoint read(Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt()!=MAGIC)
+				throw new IOException("Not a checkpoint of a composition");
+			if (in.readInt()!=VERSION)
+				throw new IOException("Unsupported version of the checkpoint");
+			return new CompositionCheckpoint(readStrings(in), readStrings(in), in.readBoolean(),
+					readTuples(in), readTuples(in), readTuples(in), readTuples(in));
+		}
+	}
+
+	private static void writeStrings(DataOutputStream out, List<List<String>> strings) throws IOException {
+		out.writeInt(strings.size());
+		for (List<String> l : strings) {
+			out.writeInt(l.size());
+			for (String s : l)
+				out.writeUTF(s);
+		}
+	}
+
+	private static List<List<String>> readStrings(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		List<List<String>> strings = new ArrayList<>();
+		for (int i=0; i<size; i++) {
+			int lsize = readSize(in);
+			List<String> l = new ArrayList<>();
+			for (int j=0; j<lsize; j++)
+				l.add(in.readUTF());
+			strings.add(l);
+		}
+		return strings;
+	}
+
+	private static void writeTuples(DataOutputStream out, List<int[]> tuples) throws IOException {
+		out.writeInt(tuples.size());
+		for (int[] t : tuples) {
+			out.writeInt(t.length);
+			for (int i : t)
+				out.writeInt(i);
+		}
+	}
+
+	private static List<int[]> readTuples(DataInputStream in) throws IOException {
+		int size = readSize(in);
+		List<int[]> tuples = new ArrayList<>();
+		for (int i=0; i<size; i++) {
+			int[] t = new int[readSize(in)];
+			for (int j=0; j<t.length; j++)
+				t[j] = in.readInt();
+			tuples.add(t);
+		}
+		return tuples;
+	}
+
+	private static int readSize(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		if (size<0)
+			throw new IOException("Malformed checkpoint");
+		return size;
+	}
+}
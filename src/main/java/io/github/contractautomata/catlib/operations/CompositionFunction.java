@@ -1,28 +1,38 @@
 package io.github.contractautomata.catlib.operations;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.Ranked;
+import io.github.contractautomata.catlib.automaton.TransitionStore;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.label.action.IdleAction;
 import io.github.contractautomata.catlib.automaton.state.AbstractState;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.state.StateTuple;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.*;
 
@@ -59,6 +69,7 @@ import static java.util.stream.Collectors.*;
 public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,T extends ModalTransition<S1,Action,S,L>,A extends Automaton<S1,Action,S,T>>  implements IntFunction<A>{
 
 	private final BiPredicate<L,L> match;
+	private final ToIntFunction<L> matchKey;
 	private final Function<List<BasicState<S1>>,S> createState;
 	private final TetraFunction<S,L,S,ModalTransition.Modality, T> createTransition;
 	private final Function<List<Action>,L> createLabel;
@@ -67,15 +78,76 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 	private final List<? extends Automaton<S1,Action,S,T>> aut;
 	private final int rank;
 	private final S initialState;
-	private final Queue<Entry<List<S>,Integer>> toVisit;
-	private final Queue<Entry<List<S>,Integer>> frontier;
-	private final ConcurrentMap<List<S>, S> operandstat2compstat;
+	private final Queue<Entry<long[],Integer>> toVisit;//the packed keys of the composed states to visit, with their depth
+	private final Queue<Entry<long[],Integer>> frontier;
+	private final List<List<S>> operandStates;
+	private final List<Map<S,Integer>> operandStateIds;
+	private final int[] wordOf;
+	private final int[] shiftOf;
+	private final int[] bitsOf;
+	private final int words;
+	private final PackedStateMap<S> operandstat2compstat;
 	private final Set<T> tr;
-	private final Set<List<S>> visited;
-	private final Queue<S> dontvisit;
+	private TransitionStore<S1,Action,S,L> store;
+	private Queue<S> discovered;
+	private final Set<S> dontvisit;
 	private final Predicate<T> pruningPred;
 
 	private boolean ignoreModality;
+	private boolean parallel;
+	private List<Set<L>> localLabels;//non-null if the partial-order reduction is enabled
+	private List<int[]> symmetries;//the permutations of the operands, excluding the identity, non-null if the symmetry reduction is enabled
+	private List<int[]> symmetryGroups;//the positions of the operands of each group of symmetric operands
+	private int[][] toRef;//for each symmetric operand, maps its state ids to the state ids of the first operand of its group
+	private int[][] fromRef;//the inverse of toRef
+	private int[] offsetOf;//the position in a composed label of the first action of each operand
+	private boolean quotient;//if true, the explored transitions are not unfolded under the symmetries
+
+	private ExecutionContext executionContext;//null if the parallel work is executed in the common pool
+	private CompositionCache cache;
+	private Boolean cachedFrontierEmpty;//non-null if the last result has been retrieved from the cache
+
+	private int maxStates = Integer.MAX_VALUE;
+	private int maxTransitions = Integer.MAX_VALUE;
+	private Duration timeout;//null if there is no deadline
+	private double maxHeapFraction = 1.0;
+	private long deadline;//in nanoseconds, the deadline of the current exploration
+	private volatile boolean budgetExhausted;
+
+	private Consumer<? super CompositionProgress> progressListener;
+	private long progressInterval;//in nanoseconds
+	private long lastProgress;
+	private long progressStart;//in nanoseconds, the start of the current exploration
+	private long visitedAtStart;//the visited states at the start of the current exploration
+	private final LongAdder visitedStates = new LongAdder();
+	private final LongAdder generatedTransitions = new LongAdder();
+	private volatile int depth;//the depth of the last expanded states
+
+	private Path checkpointPath;
+	private long checkpointInterval;//in nanoseconds
+	private long lastCheckpoint;
+	private List<List<List<Action>>> operandLabels;//computed when the first checkpoint is taken or resumed
+	private List<Map<List<Action>,Integer>> operandLabelIds;
+
+	//the result of expanding a composed state
+	final class Expansion {
+		final Set<T> trans;
+		final List<S> dontvisit;
+		final List<Entry<long[],Integer>> next;
+		final boolean badInitial;
+		Expansion(Set<T> trans, List<S> dontvisit, List<Entry<long[],Integer>> next) {
+			this(trans, dontvisit, next, false);
+		}
+		Expansion(boolean badInitial) {//a bad state has no outgoing transitions
+			this(Collections.emptySet(), Collections.emptyList(), Collections.emptyList(), badInitial);
+		}
+		private Expansion(Set<T> trans, List<S> dontvisit, List<Entry<long[],Integer>> next, boolean badInitial) {
+			this.trans=trans;
+			this.dontvisit=dontvisit;
+			this.next=next;
+			this.badInitial=badInitial;
+		}
+	}
 
 	//each transition of each MSCA in aut is associated with the corresponding index in aut
 	final class TIndex {//more readable than Entry
@@ -106,32 +178,95 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 							   Function<List<Action>,L> createLabel,
 							   Function<Set<T>,A> createAutomaton,
 							   Predicate<T> pruningPred)
+	{
+		this(aut, match, null, createState, createTransition, createLabel, createAutomaton, pruningPred);
+	}
+
+	/**
+	 * Constructor for a composition function, where the candidate matches are selected by a match key. <br>
+	 * The match key of a label is an integer such that two labels can match only if their keys are opposite
+	 * and different from zero (e.g., an offer has key k and the corresponding request has key -k, a label that
+	 * cannot be matched has key 0). <br>
+	 * The outgoing transitions of a composed state are grouped by match key, and the match function is only tested on
+	 * the pairs of transitions having opposite keys, rather than on all pairs of transitions.
+	 *
+	 * @param aut the list of automata to compose
+	 * @param match a function taking two operands labels L and returning true if there is a match
+	 * @param matchKey a function taking a label and returning its match key, if null all pairs of labels are tested for a match
+	 * @param createState	a function with argument the list of operands state, and as result the composed state
+	 * @param createTransition	a function taking as arguments the composed source state, composed label, composed target state and composed modality, and returns the created transition
+	 * @param createLabel a function taking as arguments a list of actions, and returns the composed label
+	 * @param createAutomaton a function taking as argument the set of transitions of the composition, and returns the composed automaton
+	 * @param pruningPred a predicate on transitions useful for pruning unwanted transitions not to be explored during the computation of the composition
+	 *
+	 */
+	public CompositionFunction(List<A> aut,
+							   BiPredicate<L,L> match,
+							   ToIntFunction<L> matchKey,
+							   Function<List<BasicState<S1>>,S> createState,
+							   TetraFunction<S,L,S,ModalTransition.Modality, T> createTransition,
+							   Function<List<Action>,L> createLabel,
+							   Function<Set<T>,A> createAutomaton,
+							   Predicate<T> pruningPred)
 	{
 		this.aut= new ArrayList<>(aut);
 		this.rank= aut.stream()
 				.map(Ranked::getRank)
 				.mapToInt(Integer::intValue).sum();
 
-		List<S> initial = aut.stream()
+		StateTuple<S> initial = new StateTuple<>(aut.stream()
 				.flatMap(a -> a.getStates().stream())
 				.filter(AbstractState::isInitial)
-				.collect(toList());
+				.collect(toList()));
+
+		//the states of each operand are numbered, and a composed state is encoded as a vector of longs
+		//where the number of the state of each operand is stored using the minimum number of bits
+		//the states are numbered in the order of their printing, so that the numbering is the same in different executions (see checkpoints)
+		this.operandStates = new ArrayList<>(aut.size());
+		this.operandStateIds = new ArrayList<>(aut.size());
+		this.wordOf = new int[aut.size()];
+		this.shiftOf = new int[aut.size()];
+		this.bitsOf = new int[aut.size()];
+		int word = 0;
+		int shift = 0;
+		for (int i=0; i<aut.size(); i++) {
+			List<S> states = aut.get(i).getStates().stream()
+					.sorted(Comparator.comparing(Object::toString))
+					.collect(toList());
+			Map<S,Integer> ids = new HashMap<>();
+			states.forEach(st->ids.put(st, ids.size()));
+			operandStates.add(states);
+			operandStateIds.add(ids);
+			int bits = 64 - Long.numberOfLeadingZeros(Math.max(ids.size()-1, 1));
+			if (shift+bits>64) {
+				word++;
+				shift=0;
+			}
+			wordOf[i]=word;
+			shiftOf[i]=shift;
+			bitsOf[i]=bits;
+			shift+=bits;
+		}
+
+		this.words = word+1;
 
 		initialState = createState.apply(flattenState(initial));
-		this.toVisit = new ConcurrentLinkedQueue<>(List.of(new AbstractMap.SimpleEntry<>(initial, 0)));
+		long[] initialKey = encode(initial);
+		this.toVisit = new ConcurrentLinkedQueue<>(List.of(new AbstractMap.SimpleEntry<>(initialKey, 0)));
 		this.frontier = new ConcurrentLinkedQueue<>();
-		this.operandstat2compstat = new ConcurrentHashMap<>();
-		this.operandstat2compstat.put(initial, initialState);//used to avoid duplicate target states
+		this.operandstat2compstat = new PackedStateMap<>(words);//used to avoid duplicate target states, also records the visited states
+		this.operandstat2compstat.putIfAbsent(initialKey, initialState);
 		this.tr = new HashSet<>();//transitions of the composed automaton to build
-		this.visited = new HashSet<>();
-		this.dontvisit = new ConcurrentLinkedQueue<>();
+		this.dontvisit = ConcurrentHashMap.newKeySet();
 		this.match=match;
+		this.matchKey=matchKey;
 		this.createState=createState;
 		this.createLabel=createLabel;
 		this.createTransition=createTransition;
 		this.createAutomaton=createAutomaton;
 		this.pruningPred=pruningPred;
 		this.ignoreModality=false;
+		this.parallel=false;
 	}
 
 	/**
@@ -140,81 +275,79 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 	 *
 	 * @param bound  the bound on the depth of the visit
 	 * @return  the composed automaton
+	 * @throws UncheckedIOException if a checkpoint cannot be written (see <code>setCheckpoint</code>)
 	 */
 	@Override
 	public A apply(int bound)
 	{
-		if (!frontier.isEmpty())//in case this method is called more than once, a potential frontier can be restored
-		{
-			toVisit.addAll(frontier);
-			frontier.clear();
-		}
-
-		do {
-			Entry<List<S>,Integer> sourceEntry=toVisit.remove(); //pop state to visit
-			if (sourceEntry.getValue()>=bound)  //if bound is reached store the frontier for a next call
-				frontier.add(sourceEntry);
-			else if (visited.add(sourceEntry.getKey())) //if the state has not been visited so far, and it is within bound
-			{
-				List<S> source =sourceEntry.getKey();
-				S sourcestate= operandstat2compstat.get(source);
+		return ExecutionContext.callIn(executionContext, ()->composeAutomaton(bound));
+	}
 
-				if (dontvisit.remove(sourcestate))
-					continue;//was target of a semicontrollable bad transition
+	private A composeAutomaton(int bound)
+	{
+		if (store!=null)
+			throw new UnsupportedOperationException("The composition is stored in a transition store");
+		if (discovered!=null)
+			throw new UnsupportedOperationException("The composition is streamed");
 
-				List<TIndex> trans2index = IntStream.range(0,aut.size())
-						.mapToObj(i->aut.get(i)
-								.getForwardStar(source.get(i))
-								.parallelStream()
-								.map(t->new TIndex(t,i)))
-						.flatMap(Function.identity())
-						.collect(toList()); //indexing outgoing transitions of each operand, used for target states and labels
+		List<Object> key = cacheKey(bound);
+		if (key!=null) {
+			CompositionCache.Cached cached = cache.get(key);
+			if (cached!=null) {
+				cachedFrontierEmpty = cached.frontierEmpty;
+				budgetExhausted = false;
+				return translate(cached);
+			}
+		}
+		cachedFrontierEmpty = null;
 
-				//				assert(trans2index.parallelStream()
-				//						.filter(e -> e.tra.getRank() != aut.get(e.ind).rank)
-				//						.count()==0);
+		A result = compose(bound, tr::addAll)?composition():null;
+		if (key!=null && !budgetExhausted)//a partial composition is not cached
+			cache.put(key, aut, result, frontier.isEmpty());
+		return result;
+	}
 
-				//if source state is bad (more than one committed state) then don't visit target states
-				boolean badsourcestatecommitted  = sourcestate.getState().stream().filter(BasicState::isCommitted).count()>1;
+	/**
+	 * returns the cached composition, with its basic states replaced by those of the operands of this function
+	 * if the composition has been computed from other operands with the same fingerprints
+	 */
+	@SuppressWarnings("unchecked")
+	private A translate(CompositionCache.Cached cached)
+	{
+		A cachedAut = (A) cached.aut;
+		if (cachedAut==null || IntStream.range(0, aut.size()).allMatch(i->cached.operands.get(i)==aut.get(i)))
+			return cachedAut;
 
-				if (badsourcestatecommitted && sourcestate.equals(initialState))
-					return null;
-				else if (!badsourcestatecommitted) {
-					Set<SimpleEntry<T, List<S>>> trmap = computeComposedForwardStar(trans2index, source, sourcestate);
-
-					//if source state is bad (outgoing urgent transition violating pruning pred) then don't visit target states
-					boolean badsourcestateurgent = (pruningPred != null && !ignoreModality
-							&& trmap.parallelStream().anyMatch(x -> pruningPred.test(x.getKey()) && x.getKey().isUrgent()));
-
-					if (badsourcestateurgent && sourcestate.equals(initialState))
-						return null;
-					else if (!badsourcestateurgent) {//adding transitions, updating states
-						Set<T> trans = trmap.parallelStream()
-								.filter(x -> pruningPred == null ||(!ignoreModality && x.getKey().isNecessary()) || pruningPred.negate().test(x.getKey()))
-								.map(Entry::getKey).collect(toSet());
-						tr.addAll(trans);
-
-						if (pruningPred != null)//avoid visiting targets of semicontrollable bad transitions
-							dontvisit.addAll(trans.parallelStream()
-									.filter(x -> !ignoreModality && x.isLazy() && pruningPred.test(x))
-									.map(T::getTarget)
-									.collect(toList()));
-
-						toVisit.addAll(trmap.parallelStream()
-								.filter(x -> pruningPred == null || (!ignoreModality && x.getKey().isNecessary()) || pruningPred.negate().test(x.getKey()))
-								.map(Entry::getValue).collect(toSet())
-								.parallelStream()
-								.map(s -> new AbstractMap.SimpleEntry<>(s, sourceEntry.getValue() + 1))
-								.collect(toSet()));
-					}
-				}
+		//the basic states of the operands are indexed by position in the composed state and printing
+		List<Map<String,BasicState<S1>>> basic = new ArrayList<>();
+		for (Automaton<S1,Action,S,T> a : aut)
+			for (int j=0; j<a.getRank(); j++) {
+				final int ind = j;
+				basic.add(a.getStates().stream()
+						.map(s->s.getState().get(ind))
+						.collect(toMap(CompositionFunction::printBasic, bs->bs, (x,y)->x)));
 			}
-		} while (!toVisit.isEmpty());
 
+		Map<S,S> states = new HashMap<>();
+		Function<S,S> newState = s->states.computeIfAbsent(s, x->createState.apply(IntStream.range(0, x.getState().size())
+				.mapToObj(i->basic.get(i).get(printBasic(x.getState().get(i))))
+				.collect(toList())));
+		return createAutomaton.apply(cachedAut.getTransition().stream()
+				.map(t->createTransition.apply(newState.apply(t.getSource()), t.getLabel(), newState.apply(t.getTarget()), t.getModality()))
+				.collect(toSet()));
+	}
+
+	private static String printBasic(BasicState<?> bs)
+	{
+		return bs+(bs.isCommitted()?",committed=true":"");
+	}
+
+	private A composition()
+	{
 		//if (pruningPred==null) assert(new CompositionSpecCheck().test(aut, new MSCA(tr)));   post-condition
 
 		//in case of pruning if no final states are reachable return null
-		if (pruningPred!=null && tr.parallelStream()
+		if (pruningPred!=null && ExecutionContext.stream(tr)
 				.flatMap(t->Stream.of(t.getSource(),t.getTarget()))
 				.distinct().noneMatch(State::isFinalState))
 			return null;
@@ -222,65 +355,547 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 			return this.createAutomaton.apply(tr);
 	}
 
-	private Set<SimpleEntry<T,List<S>>> computeComposedForwardStar(List<TIndex> trans2index,List<S> source, S sourceState){
+	/**
+	 * returns the key of the composition in the cache, or null if the result is not to be cached, i.e.,
+	 * there is no cache, or the composition has already been explored, or checkpoints are taken
+	 */
+	private List<Object> cacheKey(int bound)
+	{
+		if (cache==null || checkpointPath!=null || toVisit.size()!=1 || !frontier.isEmpty() || !tr.isEmpty())
+			return null;
+		int options = (ignoreModality?1:0) | (parallel?2:0) | (localLabels!=null?4:0) | (symmetries!=null?8:0) | (quotient?16:0);
+		return Arrays.asList(getClass(),
+				aut.stream().map(Automaton::getFingerprint).collect(toList()),
+				pruningPred, bound, options);
+	}
+
+	/**
+	 * It applies the composition function to compute the non-associative composition, similarly to <code>apply</code>. <br>
+	 * The transitions of the composition are not kept on the heap, they are written into a <code>TransitionStore</code>
+	 * as soon as they are generated. The composed automaton can be materialized from the store on request. <br>
+	 * This is useful for compositions with a very large number of transitions. <br>
+	 * As for <code>apply</code>, this method can be invoked again with a greater bound, in which case the new transitions
+	 * are appended to the same store. This method cannot be used after <code>apply</code> has generated some transitions,
+	 * and vice versa. <br>
+	 *
+	 * @param bound  the bound on the depth of the visit
+	 * @return  the store of the transitions of the composition, or null in the same cases in which <code>apply</code> returns null
+	 * @throws UncheckedIOException if a checkpoint cannot be written (see <code>setCheckpoint</code>)
+	 */
+	public TransitionStore<S1,Action,S,L> applyToStore(int bound)
+	{
+		return ExecutionContext.callIn(executionContext, ()->composeStore(bound));
+	}
+
+	/**
+	 * It applies the composition function as <code>applyToStore</code>, and returns the composition in compact form. <br>
+	 * The transitions are written into a <code>TransitionStore</code> as soon as they are generated, and the store
+	 * is then indexed by a <code>CompactAutomaton</code>, hence no transition object is ever materialized. <br>
+	 * The compact form is a read-only representation: the other operations of the library take an <code>Automaton</code>,
+	 * that can be obtained from the compact form with <code>toAutomaton</code>. <br>
+	 * As for <code>applyToStore</code>, this method can be invoked again with a greater bound, in which case the returned
+	 * compact automaton contains also the new transitions. <br>
+	 *
+	 * @param bound  the bound on the depth of the visit
+	 * @return  the compact composition, or null in the same cases in which <code>apply</code> returns null
+	 */
+	public CompactAutomaton<S1,Action,S,L> applyToCompact(int bound)
+	{
+		TransitionStore<S1,Action,S,L> st = applyToStore(bound);
+		return (st==null)?null:new CompactAutomaton<>(st, initialState);
+	}
+
+	private TransitionStore<S1,Action,S,L> composeStore(int bound)
+	{
+		if (discovered!=null)
+			throw new UnsupportedOperationException("The composition is streamed");
+		if (store==null) {
+			if (!tr.isEmpty())
+				throw new UnsupportedOperationException("The composition is stored in a set of transitions");
+			store = new TransitionStore<>();
+		}
+
+		if (!compose(bound, trans->trans.forEach(store::add)))
+			return null;
+
+		//in case of pruning if no final states are reachable return null
+		if (pruningPred!=null && !store.hasFinalState())
+			return null;
+		else
+			return store;
+	}
+
+	/**
+	 * Returns a lazy stream of the transitions of the non-associative composition, up to the given bound. <br>
+	 * The composition is explored while the stream is consumed: a composed state is expanded only when all
+	 * transitions generated so far have been consumed, so that a slow consumer throttles the exploration. <br>
+	 * The transitions are not kept by this composition function, thus the stream can be used to process compositions
+	 * that do not fit in memory (e.g., for exporting them or computing statistics). <br>
+	 * Differently from <code>apply</code>, the check that a final state is reachable in case of pruning is not performed, and
+	 * if the initial state is bad the stream is empty. The stream is sequential.<br>
+	 * As for <code>apply</code>, this method can be invoked again with a greater bound, the returned stream will contain
+	 * the transitions not streamed so far. This method cannot be used together with <code>apply</code> or <code>applyToStore</code>. <br>
+	 *
+	 * @param bound  the bound on the depth of the visit
+	 * @return a lazy stream of the transitions of the composition
+	 */
+	public Stream<T> stream(int bound)
+	{
+		return stream(bound, s->{});
+	}
+
+	/**
+	 * Returns a lazy stream of the transitions of the non-associative composition, up to the given bound (see <code>stream(int)</code>). <br>
+	 * Each newly discovered composed state is passed to onNewState, before any transition having such state as target is
+	 * streamed. The initial state is passed to onNewState by the first stream. onNewState is called in the thread consuming the stream. <br>
+	 *
+	 * @param bound  the bound on the depth of the visit
+	 * @param onNewState the consumer of the newly discovered states
+	 * @return a lazy stream of the transitions of the composition
+	 */
+	public Stream<T> stream(int bound, Consumer<? super S> onNewState)
+	{
+		if (store!=null || !tr.isEmpty())
+			throw new UnsupportedOperationException("The composition is not streamed");
+		if (discovered==null) {
+			discovered = new ConcurrentLinkedQueue<>(List.of(initialState));
+		}
+
+		if (!frontier.isEmpty())//in case this method is called more than once, a potential frontier can be restored
+		{
+			toVisit.addAll(frontier);
+			frontier.clear();
+		}
+
+		startProgress();
+		Deque<T> buffer = new ArrayDeque<>();
+		return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.NONNULL) {
+			private boolean badInitial=false;
+
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				while (buffer.isEmpty() && !badInitial && !toVisit.isEmpty()) {
+					badInitial = !step(bound, buffer::addAll);
+					progressIfDue();
+				}
+				for (S s = discovered.poll(); s!=null; s = discovered.poll())
+					onNewState.accept(s);
+				T t = buffer.poll();
+				if (t==null)
+					return false;
+				action.accept(t);
+				return true;
+			}
+		}, false);
+	}
+
+	/**
+	 * explores the composition up to the given bound, passing the generated transitions of each visited state to sink,
+	 * returns false if the initial state is bad
+	 */
+	private boolean compose(int bound, Consumer<Set<T>> sink)
+	{
+		if (!frontier.isEmpty())//in case this method is called more than once, a potential frontier can be restored
+		{
+			toVisit.addAll(frontier);
+			frontier.clear();
+		}
+		budgetExhausted = false;
+		if (timeout!=null)
+			deadline = System.nanoTime()+timeout.toNanos();
+		startProgress();
+
+		if (parallel) {
+			if (!composeParallel(bound, sink))
+				return false;
+		}
+		else
+			do {
+				if (isBudgetExceeded()) {//the states left to visit are stored in the frontier for a next call
+					frontier.addAll(toVisit);
+					toVisit.clear();
+					break;
+				}
+				if (!step(bound, sink))
+					return false;
+				checkpointIfDue();
+				progressIfDue();
+			} while (!toVisit.isEmpty());
+
+		if (checkpointPath!=null)
+			checkpoint();
+		if (progressListener!=null)
+			progress();
+		return true;
+	}
+
+	/**
+	 * pops a state to visit and, if it is within bound and not visited, expands it passing its generated transitions
+	 * to sink, returns false if the initial state is bad
+	 */
+	private boolean step(int bound, Consumer<Set<T>> sink)
+	{
+		Entry<long[],Integer> sourceEntry=toVisit.remove(); //pop state to visit
+		if (sourceEntry.getValue()>=bound)  //if bound is reached store the frontier for a next call
+			frontier.add(sourceEntry);
+		else {
+			long[] key = sourceEntry.getKey();
+			if (operandstat2compstat.markVisited(key) //if the state has not been visited so far, and it is within bound
+					&& !dontvisit.remove(operandstat2compstat.get(key))) //was target of a semicontrollable bad transition
+			{
+				Expansion exp = expand(sourceEntry);
+				if (exp.badInitial)
+					return false;
+				visitedStates.increment();
+				generatedTransitions.add(exp.trans.size());
+				depth = sourceEntry.getValue();
+				sink.accept(exp.trans);
+				dontvisit.addAll(exp.dontvisit);
+				toVisit.addAll(exp.next);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * explores the composition level by level: the states of each level are expanded in parallel, by the workers
+	 * of the common fork/join pool (which balance the load by work stealing), and the results of a level are merged
+	 * before starting the next level
+	 */
+	private boolean composeParallel(int bound, Consumer<Set<T>> sink)
+	{
+		while (!toVisit.isEmpty()) {
+			List<Entry<long[],Integer>> level = new ArrayList<>(toVisit);
+			toVisit.clear();
+
+			List<Expansion> expansions = ExecutionContext.stream(level)
+					.filter(sourceEntry -> {
+						if (sourceEntry.getValue()>=bound || isBudgetExceeded()) { //if bound or budget is reached store the frontier for a next call
+							frontier.add(sourceEntry);
+							return false;
+						}
+						long[] key = sourceEntry.getKey();
+						return operandstat2compstat.markVisited(key) && !dontvisit.remove(operandstat2compstat.get(key));
+					})
+					.map(this::expand)
+					.collect(toList());
+
+			if (expansions.stream().anyMatch(exp -> exp.badInitial))
+				return false;
+
+			Set<T> trans = ExecutionContext.stream(expansions)
+					.flatMap(exp -> exp.trans.stream())
+					.collect(toSet());
+			visitedStates.add(expansions.size());
+			generatedTransitions.add(trans.size());
+			if (!expansions.isEmpty())
+				depth = level.stream().mapToInt(Entry::getValue).filter(d->d<bound).max().orElse(depth);
+			sink.accept(trans);
+			expansions.forEach(exp -> {
+				dontvisit.addAll(exp.dontvisit);
+				toVisit.addAll(exp.next);
+			});
+			checkpointIfDue();
+			progressIfDue();
+		}
+		return true;
+	}
+
+	private void startProgress()
+	{
+		if (progressListener!=null) {
+			progressStart = System.nanoTime();
+			lastProgress = progressStart;
+			visitedAtStart = visitedStates.sum();
+		}
+	}
+
+	private void progressIfDue()
+	{
+		if (progressListener!=null && System.nanoTime()-lastProgress>=progressInterval)
+			progress();
+	}
+
+	/**
+	 * notifies the progress listener of the current statistics of the exploration
+	 */
+	private void progress()
+	{
+		long now = System.nanoTime();
+		lastProgress = now;
+		long visited = visitedStates.sum();
+		double seconds = (now-progressStart)/1e9;
+		progressListener.accept(new CompositionProgress(depth, visited, operandstat2compstat.size(),
+				toVisit.size()+frontier.size(), generatedTransitions.sum(),
+				(seconds>0)?(visited-visitedAtStart)/seconds:0));
+	}
+
+	/**
+	 * returns true, and records it, if some limit of the budget has been reached
+	 */
+	private boolean isBudgetExceeded()
+	{
+		if (!budgetExhausted && (operandstat2compstat.size()>=maxStates
+				|| ((store==null)?tr.size():store.size())>=maxTransitions
+				|| (timeout!=null && System.nanoTime()-deadline>=0)
+				|| (maxHeapFraction<1.0 && usedHeap()>maxHeapFraction*Runtime.getRuntime().maxMemory())))
+			budgetExhausted = true;
+		return budgetExhausted;
+	}
+
+	private static long usedHeap()
+	{
+		Runtime rt = Runtime.getRuntime();
+		return rt.totalMemory()-rt.freeMemory();
+	}
+
+	/**
+	 * computes the outgoing transitions of the composed state of sourceEntry, the targets to not visit and the
+	 * next states to visit
+	 */
+	private Expansion expand(Entry<long[],Integer> sourceEntry)
+	{
+		StateTuple<S> source = tuple(decode(sourceEntry.getKey()));
+		S sourcestate= operandstat2compstat.get(sourceEntry.getKey());
+
+		List<TIndex> trans2index = IntStream.range(0,aut.size())
+				.mapToObj(i->ExecutionContext.stream(aut.get(i)
+								.getForwardStar(source.get(i)))
+						.map(t->new TIndex(t,i)))
+				.flatMap(Function.identity())
+				.collect(toList()); //indexing outgoing transitions of each operand, used for target states and labels
+
+		//				assert(trans2index.parallelStream()
+		//						.filter(e -> e.tra.getRank() != aut.get(e.ind).rank)
+		//						.count()==0);
+
+		//if source state is bad (more than one committed state) then don't visit target states
+		boolean badsourcestatecommitted  = sourcestate.getState().stream().filter(BasicState::isCommitted).count()>1;
+
+		if (badsourcestatecommitted)
+			return new Expansion(sourcestate.equals(initialState));
+
+		List<TIndex> ample = (localLabels==null)?trans2index:ampleSet(trans2index, source);
+		Set<SimpleEntry<T, StateTuple<S>>> trmap = computeComposedForwardStar(ample, source, sourcestate);
+		if (ample!=trans2index && pruningPred!=null && ExecutionContext.stream(trmap).anyMatch(x->pruningPred.test(x.getKey())))
+			trmap = computeComposedForwardStar(trans2index, source, sourcestate);//the ample set must not contain pruned transitions
+
+		//if source state is bad (outgoing urgent transition violating pruning pred) then don't visit target states
+		boolean badsourcestateurgent = (pruningPred != null && !ignoreModality
+				&& ExecutionContext.stream(trmap).anyMatch(x -> pruningPred.test(x.getKey()) && x.getKey().isUrgent()));
+
+		if (badsourcestateurgent)
+			return new Expansion(sourcestate.equals(initialState));
+
+		//adding transitions, updating states
+		Set<SimpleEntry<T, StateTuple<S>>> kept = ExecutionContext.stream(trmap)
+				.filter(x -> pruningPred == null ||(!ignoreModality && x.getKey().isNecessary()) || pruningPred.negate().test(x.getKey()))
+				.collect(toSet());
+
+		Set<T> trans = (symmetries==null)?ExecutionContext.stream(kept).map(Entry::getKey).collect(toSet())
+				:quotient?ExecutionContext.stream(kept)
+				.map(x -> createTransition.apply(sourcestate, x.getKey().getLabel(),
+						composedState(canonical(x.getValue())), x.getKey().getModality()))
+				.collect(toSet())
+				:unfold(kept, source);
+
+		List<S> targetsNotToVisit = (pruningPred == null)?Collections.emptyList()
+				:ExecutionContext.stream(kept)//avoid visiting targets of semicontrollable bad transitions
+				.filter(x -> !ignoreModality && x.getKey().isLazy() && pruningPred.test(x.getKey()))
+				.map(x -> (symmetries==null)?x.getKey().getTarget():composedState(canonical(x.getValue())))
+				.collect(toList());
+
+		Set<StateTuple<S>> targets = ExecutionContext.stream(kept)
+				.map(x -> canonical(x.getValue())).collect(toSet());
+		List<Entry<long[],Integer>> next = ExecutionContext.stream(targets)
+				.map(s -> new AbstractMap.SimpleEntry<>(encode(s), sourceEntry.getValue() + 1))
+				.collect(toList());
+
+		return new Expansion(trans, targetsNotToVisit, next);
+	}
+
+	/**
+	 * returns the transitions kept from the source state, together with their images under the symmetries of the operands
+	 */
+	private Set<T> unfold(Set<SimpleEntry<T, StateTuple<S>>> kept, StateTuple<S> source) {
+		Set<T> trans = ExecutionContext.stream(symmetries)
+				.flatMap(sigma -> {
+					S permutedSource = composedState(permute(source, sigma));
+					return kept.stream()
+							.map(x -> createTransition.apply(permutedSource,
+									permute(x.getKey().getLabel(), sigma),
+									composedState(permute(x.getValue(), sigma)),
+									x.getKey().getModality()));
+				})
+				.collect(toSet());
+		kept.forEach(x -> trans.add(x.getKey()));
+		return trans;
+	}
+
+	/**
+	 * returns the tuple where the states of the operands in each symmetric group are sorted, so that all tuples
+	 * equal up to a symmetry of the operands have the same canonical tuple
+	 */
+	private StateTuple<S> canonical(StateTuple<S> lstate) {
+		if (symmetries==null)
+			return lstate;
+		StateTuple<S> canonical = lstate;
+		for (int[] group : symmetryGroups) {
+			int[] ref = Arrays.stream(group)
+					.map(p -> toRef[p][operandStateIds.get(p).get(lstate.get(p))])
+					.sorted()
+					.toArray();
+			for (int m=0; m<group.length; m++)
+				canonical = canonical.set(group[m], operandStates.get(group[m]).get(fromRef[group[m]][ref[m]]));
+		}
+		return canonical;
+	}
+
+	/**
+	 * returns the tuple where the state of operand p is moved to operand sigma[p]
+	 */
+	private StateTuple<S> permute(StateTuple<S> lstate, int[] sigma) {
+		StateTuple<S> permuted = lstate;
+		for (int p=0; p<sigma.length; p++)
+			if (sigma[p]!=p)
+				permuted = permuted.set(sigma[p], operandStates.get(sigma[p])
+						.get(fromRef[sigma[p]][toRef[p][operandStateIds.get(p).get(lstate.get(p))]]));
+		return permuted;
+	}
+
+	/**
+	 * returns the label where the actions of operand p are moved to the positions of operand sigma[p]
+	 */
+	private L permute(L label, int[] sigma) {
+		List<Action> content = label.getContent();
+		Action[] permuted = new Action[rank];
+		for (int p=0; p<sigma.length; p++) {
+			int r = aut.get(p).getRank();
+			for (int k=0; k<r; k++)
+				permuted[offsetOf[sigma[p]]+k] = content.get(offsetOf[p]+k);
+		}
+		return createLabel.apply(Arrays.asList(permuted));
+	}
+
+	private S composedState(StateTuple<S> lstate) {
+		return composedState(encode(lstate), lstate);
+	}
+
+	/**
+	 * returns the composed state of the key, creating it if absent: the state is created outside the lock of the map
+	 * and published if no other thread has inserted it meanwhile, only the published state is discovered
+	 */
+	private S composedState(long[] key, StateTuple<S> lstate) {
+		S state = operandstat2compstat.get(key);
+		if (state!=null)
+			return state;
+		S created = createState.apply(flattenState(lstate));
+		state = operandstat2compstat.putIfAbsent(key, created);
+		if (state!=null)
+			return state;
+		if (discovered!=null)
+			discovered.add(created);
+		return created;
+	}
+
+	/**
+	 * returns the outgoing transitions of the first operand whose moves can be explored alone, postponing the moves of
+	 * the other operands, or all outgoing transitions if there is no such operand
+	 */
+	private List<TIndex> ampleSet(List<TIndex> trans2index, StateTuple<S> source) {
+		if (trans2index.stream().anyMatch(e->e.tra.isNecessary()))
+			return trans2index;//postponing necessary transitions could hide a bad state
+		for (int i=0; i<aut.size(); i++) {
+			int ind=i;
+			List<TIndex> ample = trans2index.stream()
+					.filter(e->e.ind==ind)
+					.collect(toList());
+			if (!ample.isEmpty() && ample.size()<trans2index.size() && ample.stream()
+					.allMatch(e->localLabels.get(ind).contains(e.tra.getLabel()) //independent from the moves of other operands
+							&& e.tra.getSource().isFinalState()==e.tra.getTarget().isFinalState() //invisible
+							&& operandstat2compstat.get(encode(canonical(source.set(ind, e.tra.getTarget()))))==null)) //not closing a cycle
+				return ample;
+		}
+		return trans2index;
+	}
+
+	private Set<SimpleEntry<T,StateTuple<S>>> computeComposedForwardStar(List<TIndex> trans2index,StateTuple<S> source, S sourceState){
 		int committed = IntStream.range(0,sourceState.getRank())
 						.filter(i->sourceState.getState().get(i).isCommitted())
 						.findFirst().orElse(-1);
 
-		List<S> emptyList = new ArrayList<>();
-
 		//firstly match transitions are generated
-		Map<T, List<SimpleEntry<T,List<S>>>> matchTransitions=
-				trans2index.parallelStream()
-						.flatMap(e -> trans2index.parallelStream()
-								.filter(ee->(committed==-1)||(e.ind==committed)||(ee.ind==committed))
-								.filter(ee->(e.ind<ee.ind) && match.test(e.tra.getLabel(), ee.tra.getLabel()))
-								.flatMap(ee->{
-									List<S> targetlist =  new ArrayList<>(source);
-									targetlist.set(e.ind, e.tra.getTarget());
-									targetlist.set(ee.ind, ee.tra.getTarget());
-
-									T tradd=createTransition.apply(sourceState,
-											this.createLabel(e, ee),
-											operandstat2compstat.computeIfAbsent(targetlist, s->createState.apply(flattenState(s))),
-											e.tra.isNecessary()?
-													e.tra.getModality()
-													:ee.tra.getModality());
-
-									return Stream.of(new AbstractMap.SimpleEntry<>(e.tra,
-													new AbstractMap.SimpleEntry<>(tradd,targetlist)),
-											new AbstractMap.SimpleEntry<>(ee.tra, //dummy, the match transition is already stored by e.tra
-													new AbstractMap.SimpleEntry<>(tradd, emptyList)));
-								}))
+		Map<T, List<SimpleEntry<T,StateTuple<S>>>> matchTransitions=
+				candidateMatches(trans2index)
+						.filter(p->(committed==-1)||(p.getKey().ind==committed)||(p.getValue().ind==committed))
+						.filter(p->match.test(p.getKey().tra.getLabel(), p.getValue().tra.getLabel()))
+						.flatMap(p->{
+							TIndex e = p.getKey();
+							TIndex ee = p.getValue();
+							StateTuple<S> targetlist = source.set(e.ind, e.tra.getTarget())
+									.set(ee.ind, ee.tra.getTarget());
+
+							T tradd=createTransition.apply(sourceState,
+									this.createLabel(e, ee),
+									composedState(targetlist),
+									e.tra.isNecessary()?
+											e.tra.getModality()
+											:ee.tra.getModality());
+
+							return Stream.of(new AbstractMap.SimpleEntry<>(e.tra,
+											new AbstractMap.SimpleEntry<>(tradd,targetlist)),
+									new AbstractMap.SimpleEntry<>(ee.tra, //dummy, the match transition is already stored by e.tra
+											new AbstractMap.SimpleEntry<>(tradd, (StateTuple<S>) null)));
+						})
 						.collect(groupingByConcurrent(Entry::getKey,
 								mapping(Entry::getValue,toList())));//each principal transition can have more matches
 
 
 		//collecting match transitions and adding unmatched transitions
-		Set<SimpleEntry<T,List<S>>> trmap = trans2index.parallelStream()
+		Set<SimpleEntry<T,StateTuple<S>>> trmap = ExecutionContext.stream(trans2index)
 				.filter(e->(committed==-1)||(e.ind==committed))
 				.filter(e -> !matchTransitions.containsKey(e.tra))
 				.map(e -> {
-					List<S> targetlist = new ArrayList<>(source);
-					targetlist.set(e.ind, e.tra.getTarget());
+					StateTuple<S> targetlist = source.set(e.ind, e.tra.getTarget());
 					return new SimpleEntry<>
 							(createTransition.apply(sourceState,
 									this.shiftLabel(e.tra.getLabel(), rank,
 											IntStream.range(0, e.ind)
 													.map(i -> aut.get(i).getRank())
 													.sum()),//shifting positions of label
-									operandstat2compstat.computeIfAbsent(targetlist, s -> createState.apply(flattenState(s))),
+									composedState(targetlist),
 									e.tra.getModality()),
 									targetlist);
 				}).collect(toSet());
-		trmap.addAll(matchTransitions.values().parallelStream()//matched transitions
-				.flatMap(List::parallelStream)
-				.filter(e->(!e.getValue().isEmpty())) //no duplicates
+		trmap.addAll(ExecutionContext.stream(matchTransitions.values())//matched transitions
+				.flatMap(ExecutionContext::stream)
+				.filter(e->e.getValue()!=null) //no duplicates
 				.collect(toSet()));
 
 		return trmap;
 	}
 
+	/**
+	 * returns the pairs of outgoing transitions of different operands that are candidate to be matched,
+	 * the transition of the operand with lower index comes first
+	 */
+	private Stream<SimpleEntry<TIndex,TIndex>> candidateMatches(List<TIndex> trans2index) {
+		if (matchKey==null)
+			return ExecutionContext.stream(trans2index)
+					.flatMap(e -> ExecutionContext.stream(trans2index)
+							.filter(ee->e.ind<ee.ind)
+							.map(ee->new SimpleEntry<>(e,ee)));
+
+		Map<Integer,List<TIndex>> buckets = trans2index.stream()
+				.collect(groupingBy(e->matchKey.applyAsInt(e.tra.getLabel())));
+		return ExecutionContext.stream(buckets.entrySet())
+				.filter(b->b.getKey()>0 && buckets.containsKey(-b.getKey()))
+				.flatMap(b->ExecutionContext.stream(b.getValue())
+						.flatMap(e->buckets.get(-b.getKey()).stream()
+								.filter(ee->!e.ind.equals(ee.ind))
+								.map(ee->(e.ind<ee.ind)?new SimpleEntry<>(e,ee):new SimpleEntry<>(ee,e))));
+	}
+
 	/**
 	 * Returns true if no states are left to be generated, i.e., the whole depth of the composition has been generated. <br>
 	 * If it returns false, this composition can be reapplied with a major depth to produce a composition with the frontier
@@ -290,7 +905,7 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 	 * @return true if no states are left to be generated, i.e., the whole depth of the composition has been generated.
 	 */
 	public boolean isFrontierEmpty() {
-		return this.frontier.isEmpty();
+		return (cachedFrontierEmpty!=null)?cachedFrontierEmpty:this.frontier.isEmpty();
 	}
 
 	/**
@@ -301,10 +916,35 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 		return pruningPred;
 	}
 
-	private List<BasicState<S1>> flattenState(List<S> lstate){
-		return lstate.stream()
-				.map(State::getState)
-				.reduce(new ArrayList<>(), (x,y)->{x.addAll(y); return x;});
+	private long[] encode(StateTuple<S> lstate){
+		long[] key = new long[words];
+		for (int i=0; i<lstate.size(); i++) {
+			Integer id = operandStateIds.get(i).get(lstate.get(i));
+			if (id==null)
+				throw new IllegalArgumentException("The state is not a state of the operand");
+			key[wordOf[i]] |= ((long) id) << shiftOf[i];
+		}
+		return key;
+	}
+
+	private int[] decode(long[] key){
+		int[] ids = new int[aut.size()];
+		for (int i=0; i<ids.length; i++)
+			ids[i] = (int) ((key[wordOf[i]] >>> shiftOf[i]) & ((1L << bitsOf[i]) - 1));
+		return ids;
+	}
+
+	private StateTuple<S> tuple(int[] ids){
+		return new StateTuple<>(IntStream.range(0, aut.size())
+				.mapToObj(i->operandStates.get(i).get(ids[i]))
+				.collect(toList()));
+	}
+
+	private List<BasicState<S1>> flattenState(StateTuple<S> lstate){
+		List<BasicState<S1>> flat = new ArrayList<>(rank);
+		for (int i=0; i<lstate.size(); i++)
+			flat.addAll(lstate.get(i).getState());
+		return flat;
 	}
 
 	private L createLabel(TIndex e1, TIndex e2){
@@ -312,7 +952,7 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 				.mapToObj(i->{
 					if (i==e1.ind) return e1.tra.getLabel().getContent();
 					else if (i==e2.ind) return e2.tra.getLabel().getContent();
-					else return Collections.nCopies(aut.get(i).getRank(),new IdleAction());
+					else return Collections.nCopies(aut.get(i).getRank(),IdleAction.INSTANCE);
 				})
 				.flatMap(List::stream)
 				.collect(toList());
@@ -321,17 +961,580 @@ public class CompositionFunction<S1,S extends State<S1>,L extends Label<Action>,
 
 	private L shiftLabel(L lab, Integer rank, Integer shift){
 		List<Action> l = new ArrayList<>(rank);
-		l.addAll(Collections.nCopies(shift,new IdleAction()));
+		l.addAll(Collections.nCopies(shift,IdleAction.INSTANCE));
 		l.addAll(lab.getContent());
 		//it always hold that rank-l.size() is non-negative
-		l.addAll(Collections.nCopies((int)rank.longValue()-l.size(), new IdleAction()));
+		l.addAll(Collections.nCopies((int)rank.longValue()-l.size(), IdleAction.INSTANCE));
 		return createLabel.apply(l);
 	}
 
+	/**
+	 * Enables the partial-order reduction of the state space. <br>
+	 * When the moves of an operand in a composed state are all permitted, cannot be matched with any label of
+	 * the other operands, and do not change whether the state of the operand is final, then only these moves
+	 * are explored from the composed state (ample set), whilst the moves of the other operands are postponed
+	 * to the target states. This avoids exploring all interleavings of independent moves of different operands. <br>
+	 * A composed state is fully expanded if any of its outgoing transitions is necessary, or if an ample move would be
+	 * pruned or would reach an already generated state (so that no move is postponed forever). <br>
+	 * For each path of the full composition reaching a final state, the reduced composition has a path reaching
+	 * a final state with the same matches and the same moves of each operand, possibly in a different order.
+	 * Ample moves never violate the pruning predicate (e.g., agreement or strong agreement), and the postponed moves
+	 * are still enabled after the ample moves, thus the pruning of the reduced composition is computed on the same
+	 * labels of the full composition. <br>
+	 * The reduction is not applied if some operand has committed states.
+	 */
+	public void setPartialOrderReduction(){
+		if (aut.stream().flatMap(a->a.getStates().stream())
+				.anyMatch(st->st.getState().stream().anyMatch(BasicState::isCommitted)))
+			return;
+		List<Set<L>> labels = aut.stream()
+				.map(a->a.getTransition().stream().map(T::getLabel).collect(toSet()))
+				.collect(toList());
+		this.localLabels = IntStream.range(0, aut.size())
+				.mapToObj(i->ExecutionContext.stream(labels.get(i))
+						.filter(l->IntStream.range(0, aut.size())
+								.filter(j->j!=i)
+								.allMatch(j->labels.get(j).stream()
+										.noneMatch(ll->(i<j)?match.test(l,ll):match.test(ll,l))))
+						.collect(toSet()))
+				.collect(toList());
+	}
+
+	/**
+	 * Enables the symmetry reduction of the state space. <br>
+	 * Operands that are identical up to a renaming of their states (e.g., several copies of the same client) are
+	 * grouped together, and only one composed state is explored for all composed states that are equal up to a
+	 * permutation of the operands of the same group. <br>
+	 * The transitions explored from such a state are then copied to all its permutations, by permuting accordingly
+	 * their source and target states and the actions of their labels (thus also the indexes of the principals in the labels).
+	 * Hence, the explored states are reduced up to k! for k identical operands, whilst the composition is
+	 * the same computed without the reduction. <br>
+	 * Two operands are identical if their states reachable from the initial state correspond one-to-one, with the
+	 * same initial, final and committed flags, and with the same outgoing labels and modalities, each label occurring in at most one
+	 * outgoing transition of a state. An operand is not grouped if one of its necessary transitions can be matched
+	 * with a necessary transition of different modality, because the modality of such match depends on the order of the operands. <br>
+	 * The pruning predicate must not depend on the order of the operands (e.g., agreement and strong agreement).
+	 * The targets of semi-controllable transitions violating the pruning predicate are not visited up to symmetry. <br>
+	 * Note that the unfolding recreates all the symmetric states and transitions: only the exploration (i.e., the
+	 * computation of the forward stars and of the matches) is reduced, whilst the size of the returned composition, and the
+	 * cost of creating it, are those of the composition without the reduction. For example, for three identical
+	 * operands with three states each, 9 composed states are explored, and the 27 composed states are all created.
+	 * The quotient of the composition can be returned instead (see <code>setSymmetryQuotient</code>). <br>
+	 * This method must be invoked before applying the composition.
+	 */
+	public void setSymmetryReduction(){
+		if (toVisit.size()!=1 || !frontier.isEmpty() || !tr.isEmpty() || store!=null || discovered!=null)
+			throw new UnsupportedOperationException("The composition has already been applied");
+
+		int n = aut.size();
+		int[][] to = new int[n][];
+		int[][] from = new int[n][];
+		boolean[] grouped = new boolean[n];
+		List<int[]> groups = new ArrayList<>();
+		for (int i=0; i<n; i++) {
+			if (grouped[i])
+				continue;
+			List<Integer> group = new ArrayList<>(List.of(i));
+			for (int j=i+1; j<n; j++)
+				if (!grouped[j]) {
+					int[] iso = isomorphism(i, j);
+					if (iso!=null) {
+						group.add(j);
+						grouped[j]=true;
+						from[j]=iso;
+					}
+				}
+			if (group.size()>1 && !orderDependentMatch(group)) {
+				from[i] = IntStream.range(0, operandStates.get(i).size()).toArray();
+				for (int p : group) {
+					to[p] = new int[operandStates.get(p).size()];
+					Arrays.fill(to[p], -1);
+					for (int r=0; r<from[p].length; r++)
+						if (from[p][r]!=-1)
+							to[p][from[p][r]] = r;
+				}
+				groups.add(group.stream().mapToInt(Integer::intValue).toArray());
+			}
+		}
+		if (groups.isEmpty())
+			return;
+
+		//all permutations of the operands in the same group, combined for all groups
+		List<int[]> perms = List.of(IntStream.range(0, n).toArray());
+		for (int[] group : groups)
+			perms = perms.stream()
+					.flatMap(sigma -> permutations(group).stream()
+							.map(pi -> {
+								int[] comp = sigma.clone();
+								for (int m=0; m<group.length; m++)
+									comp[group[m]] = pi[m];
+								return comp;
+							}))
+					.collect(toList());
+
+		this.offsetOf = new int[n];
+		for (int i=1; i<n; i++)
+			offsetOf[i] = offsetOf[i-1]+aut.get(i-1).getRank();
+		this.toRef = to;
+		this.fromRef = from;
+		this.symmetryGroups = groups;
+		this.symmetries = perms.stream()
+				.filter(sigma -> IntStream.range(0, n).anyMatch(p -> sigma[p]!=p))
+				.collect(toList());
+	}
+
+	/**
+	 * Enables the symmetry reduction of the state space as <code>setSymmetryReduction</code>, without unfolding
+	 * the explored transitions. <br>
+	 * The composition returned by <code>apply</code> is the quotient of the composition under the symmetries of
+	 * the operands: its states are the canonical representatives of the composed states that are equal up to a
+	 * permutation of the operands of the same group, and the target of each transition is replaced by its representative.
+	 * Hence, both the states and the transitions of the composition are reduced up to k! for k identical operands. <br>
+	 * The quotient can be unfolded on request by invoking <code>unfold</code>. If there are no symmetric operands,
+	 * the composition is computed as without the reduction. <br>
+	 * This method must be invoked before applying the composition.
+	 */
+	public void setSymmetryQuotient(){
+		setSymmetryReduction();
+		this.quotient = symmetries!=null;
+	}
+
+	/**
+	 * Unfolds a quotient computed by this composition function (see <code>setSymmetryQuotient</code>), returning the same
+	 * composition computed without the quotient. <br>
+	 * Each transition of the quotient is redirected to its actual target, that is computed from its source state and
+	 * its label, and it is copied to all permutations of its source state (as for <code>setSymmetryReduction</code>). <br>
+	 *
+	 * @param quotient the quotient computed by this composition function
+	 * @return the unfolded composition, or null if the quotient is null
+	 */
+	public A unfold(A quotient){
+		if (!this.quotient)
+			throw new UnsupportedOperationException("The symmetry quotient is not enabled");
+		if (quotient==null)
+			return null;
+
+		//the operand states are indexed by their basic states
+		List<Map<List<BasicState<S1>>,S>> operandOf = operandStates.stream()
+				.map(states->states.stream().collect(toMap(State::getState, st->st, (x,y)->x)))
+				.collect(toList());
+		Function<S,StateTuple<S>> tuple = st -> new StateTuple<>(IntStream.range(0, aut.size())
+				.mapToObj(i->{
+					S operand = operandOf.get(i).get(st.getState().subList(offsetOf[i], offsetOf[i]+aut.get(i).getRank()));
+					if (operand==null)
+						throw new IllegalArgumentException("The state is not a state of the composition");
+					return operand;
+				})
+				.collect(toList()));
+
+		return createAutomaton.apply(ExecutionContext.stream(quotient.getTransition())
+				.flatMap(t->{
+					StateTuple<S> source = tuple.apply(t.getSource());
+					StateTuple<S> target = actualTarget(source, t.getLabel(), tuple.apply(t.getTarget()));
+					T actual = createTransition.apply(composedState(source), t.getLabel(), composedState(target), t.getModality());
+					return unfold(Set.of(new SimpleEntry<>(actual, target)), source).stream();
+				})
+				.collect(toSet()));
+	}
+
+	/**
+	 * returns the target of the transition from source with the given label, whose target in the quotient is target:
+	 * only the operands in the symmetric groups are permuted by the quotient, and each label occurs in at most one
+	 * outgoing transition of their states
+	 */
+	private StateTuple<S> actualTarget(StateTuple<S> source, L label, StateTuple<S> target) {
+		List<Action> content = label.getContent();
+		StateTuple<S> actual = target;
+		for (int[] group : symmetryGroups)
+			for (int p : group) {
+				List<Action> move = content.subList(offsetOf[p], offsetOf[p]+aut.get(p).getRank());
+				S st = source.get(p);
+				actual = actual.set(p, move.stream().allMatch(IdleAction.class::isInstance)?st
+						:aut.get(p).getForwardStar(st).stream()
+						.filter(t->t.getLabel().getContent().equals(move))
+						.map(ModalTransition::getTarget)
+						.findAny()
+						.orElseThrow(()->new IllegalArgumentException("The transition is not a transition of the composition")));
+			}
+		return actual;
+	}
+
+	/**
+	 * returns all the arrangements of the positions of group
+	 */
+	private static List<int[]> permutations(int[] group) {
+		if (group.length==1)
+			return List.of(group.clone());
+		List<int[]> perms = new ArrayList<>();
+		for (int m=0; m<group.length; m++) {
+			int first = group[m];
+			for (int[] pi : permutations(Arrays.stream(group).filter(k -> k!=first).toArray())) {
+				int[] perm = new int[group.length];
+				perm[0] = first;
+				System.arraycopy(pi, 0, perm, 1, pi.length);
+				perms.add(perm);
+			}
+		}
+		return perms;
+	}
+
+	/**
+	 * returns an array mapping the state ids of operand i to the corresponding state ids of operand j (-1 if
+	 * the state is not reachable), or null if the two operands are not identical up to a renaming of their states
+	 */
+	private int[] isomorphism(int i, int j) {
+		Automaton<S1,Action,S,T> a = aut.get(i);
+		Automaton<S1,Action,S,T> b = aut.get(j);
+		if (!a.getRank().equals(b.getRank()))
+			return null;
+		int[] iso = new int[operandStates.get(i).size()];
+		int[] inv = new int[operandStates.get(j).size()];
+		Arrays.fill(iso, -1);
+		Arrays.fill(inv, -1);
+		Deque<S> toMatch = new ArrayDeque<>();
+		if (!pair(i, j, a.getInitial(), b.getInitial(), iso, inv, toMatch))
+			return null;
+		while (!toMatch.isEmpty()) {
+			S sa = toMatch.pop();
+			S sb = operandStates.get(j).get(iso[operandStateIds.get(i).get(sa)]);
+			Map<L,List<T>> fa = a.getForwardStar(sa).stream().collect(groupingBy(T::getLabel));
+			Map<L,List<T>> fb = b.getForwardStar(sb).stream().collect(groupingBy(T::getLabel));
+			if (!fa.keySet().equals(fb.keySet()))
+				return null;
+			for (Entry<L,List<T>> e : fa.entrySet()) {
+				List<T> lb = fb.get(e.getKey());
+				if (e.getValue().size()!=1 || lb.size()!=1
+						|| e.getValue().get(0).getModality()!=lb.get(0).getModality()
+						|| !pair(i, j, e.getValue().get(0).getTarget(), lb.get(0).getTarget(), iso, inv, toMatch))
+					return null;
+			}
+		}
+		return iso;
+	}
+
+	/**
+	 * pairs state sa of operand i with state sb of operand j, returns false if either of them is already paired with
+	 * another state or their flags differ
+	 */
+	private boolean pair(int i, int j, S sa, S sb, int[] iso, int[] inv, Deque<S> toMatch) {
+		int ia = operandStateIds.get(i).get(sa);
+		int ib = operandStateIds.get(j).get(sb);
+		if (iso[ia]!=-1 || inv[ib]!=-1)
+			return iso[ia]==ib;
+		List<BasicState<S1>> la = sa.getState();
+		List<BasicState<S1>> lb = sb.getState();
+		if (la.size()!=lb.size() || IntStream.range(0, la.size())
+				.anyMatch(k -> la.get(k).isInitial()!=lb.get(k).isInitial()
+						|| la.get(k).isFinalState()!=lb.get(k).isFinalState()
+						|| la.get(k).isCommitted()!=lb.get(k).isCommitted()))
+			return false;
+		iso[ia]=ib;
+		inv[ib]=ia;
+		toMatch.push(sa);
+		return true;
+	}
+
+	/**
+	 * returns true if a necessary transition of an operand of the group can be matched with a necessary transition
+	 * of different modality
+	 */
+	private boolean orderDependentMatch(List<Integer> group) {
+		List<T> necessary = aut.stream()
+				.flatMap(a -> a.getTransition().stream())
+				.filter(T::isNecessary)
+				.collect(toList());
+		return group.stream()
+				.flatMap(p -> aut.get(p).getTransition().stream())
+				.filter(T::isNecessary)
+				.anyMatch(t -> necessary.stream()
+						.filter(u -> u.getModality()!=t.getModality())
+						.anyMatch(u -> match.test(t.getLabel(), u.getLabel()) || match.test(u.getLabel(), t.getLabel())));
+	}
+
+	/**
+	 * Sets the cache of the results of <code>apply</code>. <br>
+	 * Before exploring the composition, <code>apply</code> looks up the cache for a composition of operands with the
+	 * same fingerprints, the same pruning predicate (compared by identity), the same bound and the same options,
+	 * and in case of a hit it returns the cached composition. Otherwise, the computed composition is stored in the cache. <br>
+	 * The cache is only used by the first invocation of <code>apply</code> (or by the following invocations if
+	 * the previous ones were hits), and it is not used if checkpoints are enabled.
+	 * A cache must only be shared among composition functions of the same class created with the same functions
+	 * (e.g., <code>MSCACompositionFunction</code>). <br>
+	 *
+	 * @param cache the cache, or null for disabling the cache
+	 */
+	public void setCache(CompositionCache cache){
+		this.cache=cache;
+	}
+
+	/**
+	 * Sets a budget on the resources used by the exploration of the composition. <br>
+	 * The limits are checked before expanding each composed state: when one of them is reached, <code>apply</code>
+	 * and <code>applyToStore</code> stop the exploration, store the composed states left to visit in the frontier and return the
+	 * composition generated so far, as for a bounded composition (see <code>isBudgetExhausted</code>).
+	 * The exploration can then be resumed by invoking again <code>apply</code> (or <code>applyToStore</code>), possibly after
+	 * setting a larger budget. <br>
+	 * The limits on states and transitions count all the states and transitions generated so far, also by previous invocations,
+	 * whilst the timeout is counted from the start of each invocation. The limits can be exceeded by the states and transitions
+	 * generated by the expansion of a single composed state. The used heap also counts unreachable objects not yet collected,
+	 * hence the heap limit is conservative. <br>
+	 * As for bounded compositions, a partial composition may have no final states: <code>applyToStore</code> can be used to
+	 * inspect partial compositions that are not accepted by the constructor of the automaton. A partial composition is not
+	 * cached (see <code>setCache</code>). The budget does not apply to the streamed composition. <br>
+	 *
+	 * @param maxStates the maximum number of composed states, must be positive
+	 * @param maxTransitions the maximum number of composed transitions, must be positive
+	 * @param timeout the maximum duration of each invocation, or null for no timeout, must be non-negative
+	 * @param maxHeapFraction the maximum fraction of the maximum heap size that can be used, must be in (0,1]
+	 */
+	public void setBudget(int maxStates, int maxTransitions, Duration timeout, double maxHeapFraction){
+		if (maxStates<1 || maxTransitions<1 || (timeout!=null && timeout.isNegative()) || !(maxHeapFraction>0 && maxHeapFraction<=1))
+			throw new IllegalArgumentException();
+		this.maxStates=maxStates;
+		this.maxTransitions=maxTransitions;
+		this.timeout=timeout;
+		this.maxHeapFraction=maxHeapFraction;
+	}
+
+	/**
+	 * Returns true if the last invocation of <code>apply</code> or <code>applyToStore</code> has stopped because
+	 * the budget has been exhausted (see <code>setBudget</code>). In this case the returned composition is partial,
+	 * and the frontier is not empty.
+	 *
+	 * @return true if the last exploration has stopped because the budget has been exhausted
+	 */
+	public boolean isBudgetExhausted() {
+		return budgetExhausted;
+	}
+
+	/**
+	 * Sets a listener notified with the statistics of the exploration of the composition (see <code>CompositionProgress</code>). <br>
+	 * While <code>apply</code>, <code>applyToStore</code> or a stream explore the composition, the listener is notified
+	 * at most once every interval of time, and <code>apply</code> and <code>applyToStore</code> notify it once more when the exploration ends.
+	 * The listener is notified by the thread exploring the composition, and the exploration waits for the listener to return. <br>
+	 * When no listener is set, the statistics are not computed.
+	 *
+	 * @param listener the listener, or null for removing the listener
+	 * @param interval the minimum interval of time between two notifications, must be non-negative
+	 */
+	public void setProgressListener(Consumer<? super CompositionProgress> listener, Duration interval){
+		if (interval==null || interval.isNegative())
+			throw new IllegalArgumentException();
+		this.progressListener=listener;
+		this.progressInterval=interval.toNanos();
+	}
+
+	/**
+	 * Enables checkpoints of the composition. <br>
+	 * While <code>apply</code> or <code>applyToStore</code> explore the composition, the state of the exploration
+	 * (the generated transitions, the visited states and the states still to be visited) is written to the file at
+	 * least every interval of time, and once more when the exploration ends. <br>
+	 * A checkpoint can be resumed by a composition function with the same operands, possibly in a later execution,
+	 * using <code>resume</code>. <br>
+	 * Checkpoints are not taken while the composition is streamed.
+	 * States of the same operand must have different printings, and the label of a composed transition must have as
+	 * content the list of actions from which it has been created. <br>
+	 * Each checkpoint writes again all the visited states and generated transitions, not only those added since the
+	 * previous checkpoint: the cost of a checkpoint grows with the explored composition, and the interval should be
+	 * chosen accordingly. <br>
+	 * If a checkpoint cannot be written, <code>apply</code> and <code>applyToStore</code> throw an
+	 * <code>UncheckedIOException</code>, and the exploration is interrupted.
+	 *
+	 * @param path the file where checkpoints are written, its content is replaced by each checkpoint
+	 * @param interval the minimum interval of time between two checkpoints, must be non-negative
+	 */
+	public void setCheckpoint(Path path, Duration interval){
+		if (path==null || interval==null || interval.isNegative())
+			throw new IllegalArgumentException();
+		this.checkpointPath=path;
+		this.checkpointInterval=interval.toNanos();
+		this.lastCheckpoint=System.nanoTime();
+	}
+
+	/**
+	 * Resumes the composition from a checkpoint (see <code>setCheckpoint</code>). <br>
+	 * This composition function must have the same operands of the one that has taken the checkpoint,
+	 * and must not have been applied yet. After resuming, <code>apply</code> (or <code>applyToStore</code>
+	 * if the checkpoint was taken by <code>applyToStore</code>) continues the exploration from the checkpoint,
+	 * and the frontier can be further pushed onwards with greater bounds. <br>
+	 * If checkpoints are enabled, the resumed exploration keeps writing them (see <code>setCheckpoint</code>).
+	 *
+	 * @param path the file of the checkpoint
+	 * @throws IOException if an I/O error occurs or the file is not a checkpoint
+	 * @throws IllegalArgumentException if the checkpoint does not match the operands of this composition function
+	 * @throws UnsupportedOperationException if this composition function has already been applied
+	 * @throws UncheckedIOException not thrown by this method, but by the following <code>apply</code> or
+	 * <code>applyToStore</code> if a checkpoint cannot be written during the resumed exploration
+	 */
+	public void resume(Path path) throws IOException {
+		if (toVisit.size()!=1 || !frontier.isEmpty() || !tr.isEmpty() || store!=null || discovered!=null)
+			throw new UnsupportedOperationException("The composition has already been applied");
+
+		CompositionCheckpoint cp = CompositionCheckpoint.read(path);
+		List<List<List<Action>>> labels = operandLabels();
+		if (!cp.states.equals(printing(operandStates)) || !cp.labels.equals(printing(labels)))
+			throw new IllegalArgumentException("The checkpoint does not match the operands");
+
+		toVisit.clear();
+		cp.visited.forEach(ids->operandstat2compstat.markVisited(stateKey(ids)));
+		cp.dontvisit.forEach(ids->dontvisit.add(operandstat2compstat.get(stateKey(ids))));
+		cp.pending.forEach(ids->frontier.add(new SimpleEntry<>(stateKey(Arrays.copyOf(ids, aut.size())), ids[aut.size()])));
+
+		if (cp.store)
+			store = new TransitionStore<>();
+		int n = aut.size();
+		for (int[] t : cp.transitions) {
+			List<Action> content = new ArrayList<>(rank);
+			for (int i=0; i<n; i++)
+				content.addAll(t[n+i]==-1?Collections.nCopies(aut.get(i).getRank(),IdleAction.INSTANCE):labels.get(i).get(t[n+i]));
+			T tra = createTransition.apply(operandstat2compstat.get(stateKey(Arrays.copyOfRange(t, 0, n))),
+					createLabel.apply(content),
+					operandstat2compstat.get(stateKey(Arrays.copyOfRange(t, 2*n, 3*n))),
+					ModalTransition.Modality.values()[t[3*n]]);
+			if (cp.store)
+				store.add(tra);
+			else
+				tr.add(tra);
+		}
+		visitedStates.add(cp.visited.size());
+		generatedTransitions.add(cp.transitions.size());
+	}
+
+	/**
+	 * returns the key of the composed state with the given operands states ids, creating the composed state if absent
+	 */
+	private long[] stateKey(int[] ids){
+		StateTuple<S> tuple = tuple(ids);
+		long[] key = encode(tuple);
+		composedState(key, tuple);
+		return key;
+	}
+
+	private void checkpointIfDue(){
+		if (checkpointPath!=null && System.nanoTime()-lastCheckpoint>=checkpointInterval)
+			checkpoint();
+	}
+
+	/**
+	 * writes the state of the exploration to the checkpoint file
+	 */
+	private void checkpoint(){
+		List<List<List<Action>>> labels = operandLabels();
+		Map<S,int[]> stateIds = new IdentityHashMap<>();
+		List<int[]> visitedIds = new ArrayList<>();
+		operandstat2compstat.forEach((key,st)->{
+			int[] ids = decode(key);
+			stateIds.put(st, ids);
+			if (operandstat2compstat.isVisited(key))
+				visitedIds.add(ids);
+		});
+
+		List<int[]> pending = Stream.concat(toVisit.stream(), frontier.stream())
+				.map(e->{
+					int[] ids = Arrays.copyOf(decode(e.getKey()), aut.size()+1);
+					ids[aut.size()] = e.getValue();
+					return ids;
+				})
+				.collect(toList());
+
+		Stream<T> transitions = (store!=null)?IntStream.range(0, store.size())
+				.mapToObj(t->createTransition.apply(store.getState(store.getSource(t)), store.getLabel(store.getLabelId(t)),
+						store.getState(store.getTarget(t)), store.getModality(t)))
+				:tr.stream();
+
+		int n = aut.size();
+		List<int[]> transitionIds = transitions.map(t->{
+			int[] ids = new int[3*n+1];
+			System.arraycopy(stateIds.get(t.getSource()), 0, ids, 0, n);
+			List<Action> content = t.getLabel().getContent();
+			int offset = 0;
+			for (int i=0; i<n; i++) {
+				int r = aut.get(i).getRank();
+				List<Action> segment = content.subList(offset, offset+r);
+				offset+=r;
+				if (segment.stream().allMatch(IdleAction.class::isInstance))
+					ids[n+i] = -1;
+				else {
+					Integer id = operandLabelIds.get(i).get(segment);
+					if (id==null)
+						throw new IllegalStateException("The label "+t.getLabel()+" is not composed of labels of the operands");
+					ids[n+i] = id;
+				}
+			}
+			System.arraycopy(stateIds.get(t.getTarget()), 0, ids, 2*n, n);
+			ids[3*n] = t.getModality().ordinal();
+			return ids;
+		}).collect(toList());
+
+		try {
+			new CompositionCheckpoint(printing(operandStates), printing(labels), store!=null, visitedIds,
+					dontvisit.stream().map(stateIds::get).collect(toList()), pending, transitionIds)
+					.write(checkpointPath);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		lastCheckpoint=System.nanoTime();
+	}
+
+	/**
+	 * returns, for each operand, the contents of its labels in the order of their printing,
+	 * the states and the labels of an operand must have different printings
+	 */
+	private List<List<List<Action>>> operandLabels(){
+		if (operandLabels==null) {
+			List<List<List<Action>>> labels = aut.stream()
+					.map(a->a.getTransition().stream()
+							.map(t->t.getLabel().getContent())
+							.distinct()
+							.sorted(Comparator.comparing(Object::toString))
+							.collect(toList()))
+					.collect(toList());
+			if (Stream.concat(operandStates.stream(), labels.stream())
+					.anyMatch(l->l.stream().map(Object::toString).distinct().count()<l.size()))
+				throw new IllegalArgumentException("States or labels of an operand with the same printing");
+			operandLabelIds = labels.stream()
+					.map(l->IntStream.range(0, l.size()).boxed().collect(toMap(l::get, Function.identity())))
+					.collect(toList());
+			operandLabels = labels;
+		}
+		return operandLabels;
+	}
+
+	private static List<List<String>> printing(List<? extends List<?>> l){
+		return l.stream()
+				.map(ll->ll.stream().map(Object::toString).collect(toList()))
+				.collect(toList());
+	}
 
 	public void setIgnoreModality(){
 		this.ignoreModality=true;
 	}
 
+	/**
+	 * Sets the execution context of <code>apply</code> and <code>applyToStore</code>, so that all their parallel
+	 * computations are executed by the pool of the context instead of the common fork/join pool (see <code>ExecutionContext</code>).
+	 * A streamed composition is generated by the thread consuming the stream, outside of the execution context. <br>
+	 *
+	 * @param executionContext the execution context, or null for the common fork/join pool
+	 */
+	public void setExecutionContext(ExecutionContext executionContext){
+		this.executionContext=executionContext;
+	}
+
+	/**
+	 * Enables the parallel exploration of the state space. <br>
+	 * The composition is explored breadth-first, one depth level at a time, and the states of each level are expanded
+	 * in parallel by the workers of the common fork/join pool (or of the pool of the execution context, see
+	 * <code>setExecutionContext</code>). The bound on the depth and the frontier of a previous
+	 * invocation are handled as in the sequential exploration. <br>
+	 * The generated composition is the same as the one generated sequentially, except possibly when
+	 * a state is the target of a lazy transition violating the pruning predicate that is generated at the same depth of the state:
+	 * in the parallel exploration such state is visited, whilst in the sequential exploration it may not be visited depending
+	 * on the order of visit. <br>
+	 */
+	public void setParallelExploration(){
+		this.parallel=true;
+	}
+
 
 }
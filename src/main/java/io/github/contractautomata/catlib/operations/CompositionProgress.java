@@ -0,0 +1,88 @@
+package io.github.contractautomata.catlib.operations;
+
+import java.util.Locale;
+
+/**
+ * Class implementing the statistics of the exploration of a composition, notified to the progress listener of a
+ * <code>CompositionFunction</code>. <br>
+ * The counts include the states and transitions explored by previous invocations of the same composition function,
+ * whilst the rate of visited states is relative to the current invocation. <br>
+ *
+ * @author Davide Basile
+ */
+public final class CompositionProgress {
+
+	private final int depth;
+	private final long visitedStates;
+	private final int generatedStates;
+	private final int frontierSize;
+	private final long transitions;
+	private final double statesPerSecond;
+
+	CompositionProgress(int depth, long visitedStates, int generatedStates, int frontierSize, long transitions, double statesPerSecond) {
+		this.depth = depth;
+		this.visitedStates = visitedStates;
+		this.generatedStates = generatedStates;
+		this.frontierSize = frontierSize;
+		this.transitions = transitions;
+		this.statesPerSecond = statesPerSecond;
+	}
+
+	/**
+	 * Returns the depth of the last expanded composed state.
+	 * @return the depth of the last expanded composed state
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the number of expanded composed states.
+	 * @return the number of expanded composed states
+	 */
+	public long getVisitedStates() {
+		return visitedStates;
+	}
+
+	/**
+	 * Returns the number of generated composed states, visited or not.
+	 * @return the number of generated composed states
+	 */
+	public int getGeneratedStates() {
+		return generatedStates;
+	}
+
+	/**
+	 * Returns the number of composed states left to visit, including those beyond the bound.
+	 * @return the number of composed states left to visit
+	 */
+	public int getFrontierSize() {
+		return frontierSize;
+	}
+
+	/**
+	 * Returns the number of generated transitions.
+	 * @return the number of generated transitions
+	 */
+	public long getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Returns the number of composed states visited per second by the current invocation.
+	 * @return the number of composed states visited per second
+	 */
+	public double getStatesPerSecond() {
+		return statesPerSecond;
+	}
+
+	/**
+	 * Print a String representing this object
+	 * @return a String representing this object
+	 */
+	@Override
+	public String toString() {
+		return "depth="+depth+", visited="+visitedStates+", generated="+generatedStates+", frontier="+frontierSize
+				+", transitions="+transitions+", states/s="+String.format(Locale.ROOT, "%.1f", statesPerSecond);
+	}
+}
@@ -0,0 +1,168 @@
+package io.github.contractautomata.catlib.operations;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+/**
+ * Class implementing the context in which the parallel computations of the library are executed. <br>
+ * Operations of the library use parallel streams (see <code>stream</code>), which by default are executed by the common
+ * fork/join pool of the JVM, shared by all computations. A task executed by an execution context runs in a worker of the
+ * fork/join pool of the context, hence all parallel streams used by the task (e.g., in the constructor of an <code>Automaton</code>,
+ * in a <code>FMCA</code> or in a synthesis) are executed by the workers of that pool. <br>
+ * An execution context can be set on a single operation (e.g., <code>CompositionFunction</code> or <code>SynthesisOperator</code>),
+ * or a sequence of operations can be executed in a context by invoking <code>call</code> or <code>run</code> from the current thread. <br>
+ * The sequential context executes each task directly in the current thread, and the streams of the library used by the task
+ * are sequential, so that no fork/join task is created. This is useful for small inputs, where the splitting and
+ * synchronisation of parallel streams are pure overhead. <br>
+ * A task invoked from a worker of the pool of the context is executed directly, without submitting it to the pool.
+ * Exceptions thrown by a task are rethrown to the caller. <br>
+ *
+ * @author Davide Basile
+ */
+public final class ExecutionContext {
+
+	private static final ExecutionContext SEQUENTIAL = new ExecutionContext();
+
+	//true in the threads executing a task of the sequential context, reset when the task returns
+	private static final ThreadLocal<Boolean> IN_SEQUENTIAL = ThreadLocal.withInitial(() -> false);
+
+	private final ForkJoinPool pool;//null for the sequential context
+
+	/**
+	 * Constructor for an execution context whose tasks are executed by the given pool.
+	 * @param pool the pool executing the tasks, must be non-null
+	 */
+	public ExecutionContext(ForkJoinPool pool) {
+		this.pool = Objects.requireNonNull(pool);
+	}
+
+	private ExecutionContext() {
+		this.pool = null;
+	}
+
+	/**
+	 * Returns the sequential execution context.
+	 * @return the sequential execution context
+	 */
+	public static ExecutionContext sequential() {
+		return SEQUENTIAL;
+	}
+
+	/**
+	 * Returns true if this is the sequential execution context.
+	 * @return true if this is the sequential execution context
+	 */
+	public boolean isSequential() {
+		return pool==null;
+	}
+
+	/**
+	 * Executes the task in this execution context, and returns its result.
+	 * @param task the task to execute
+	 * @param <R> the generic type of the result
+	 * @return the result of the task
+	 */
+	public <R> R call(Supplier<R> task) {
+		if (pool==null)
+			return callSequential(task);
+
+		Thread current = Thread.currentThread();
+		if (current instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) current).getPool()==pool) {
+			if (!IN_SEQUENTIAL.get())
+				return task.get();
+			//a task of the sequential context nested in a task of this context
+			IN_SEQUENTIAL.remove();
+			try {
+				return task.get();
+			} finally {
+				IN_SEQUENTIAL.set(true);
+			}
+		}
+
+		Outcome<R> outcome = new Outcome<>();
+		try {
+			//the exception is caught inside the task, the pool would rethrow a copy of it
+			pool.submit(() -> {
+				try {
+					outcome.result = task.get();
+				} catch (RuntimeException | Error e) {
+					outcome.exception = e;
+				}
+			}).get();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			current.interrupt();
+			throw new CancellationException("Interrupted while waiting for the task");
+		}
+		if (outcome.exception instanceof RuntimeException)
+			throw (RuntimeException) outcome.exception;
+		if (outcome.exception instanceof Error)
+			throw (Error) outcome.exception;
+		return outcome.result;
+	}
+
+	/**
+	 * Executes the task in this execution context.
+	 * @param task the task to execute
+	 */
+	public void run(Runnable task) {
+		call(() -> {
+			task.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Returns a parallel stream of the collection, or a sequential stream if the current thread is executing a task of
+	 * the sequential context. The operations of the library create their streams with this method.
+	 * @param c the collection
+	 * @param <E> the generic type of the elements
+	 * @return a stream of the collection, sequential if invoked from a task of the sequential context and parallel otherwise
+	 */
+	public static <E> Stream<E> stream(Collection<E> c) {
+		return IN_SEQUENTIAL.get()?c.stream():c.parallelStream();
+	}
+
+	/**
+	 * Returns the stream made parallel, or sequential if the current thread is executing a task of the sequential context.
+	 * @param stream the stream
+	 * @param <T> the generic type of the elements
+	 * @param <S> the generic type of the stream
+	 * @return the stream, sequential if invoked from a task of the sequential context and parallel otherwise
+	 */
+	public static <T, S extends BaseStream<T,S>> S parallel(S stream) {
+		return IN_SEQUENTIAL.get()?stream.sequential():stream.parallel();
+	}
+
+	private static <R> R callSequential(Supplier<R> task) {
+		if (IN_SEQUENTIAL.get())
+			return task.get();
+		IN_SEQUENTIAL.set(true);
+		try {
+			return task.get();
+		} finally {
+			IN_SEQUENTIAL.remove();
+		}
+	}
+
+	/**
+	 * executes the task in the context, or in the current thread if the context is null
+	 */
+	static <R> R callIn(ExecutionContext context, Supplier<R> task) {
+		return (context==null)?task.get():context.call(task);
+	}
+
+	//the result of a task, or the exception it has thrown
+	private static final class Outcome<R> {
+		private R result;
+		private Throwable exception;
+	}
+}
@@ -4,6 +4,7 @@ import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
+import io.github.contractautomata.catlib.automaton.label.CALabelFactory;
 import io.github.contractautomata.catlib.automaton.state.State;
 
 import java.util.List;
@@ -21,13 +22,27 @@ import java.util.function.Predicate;
 public class MSCACompositionFunction<S1> extends CompositionFunction<S1,State<S1>,CALabel, ModalTransition<S1, Action,State<S1>,CALabel>, Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>>> {
 
 	/**
-	 * Invokes the constructor of the superclass instantiating the generic types
+	 * Invokes the constructor of the superclass instantiating the generic types.
+	 * Labels of the composition are created by a <code>CALabelFactory</code>, so that identical labels are shared.
+	 * Only offers and requests of the same action are tested for a match.
+	 * No cache is used by default, a cache can be shared among instances of this class by invoking <code>setCache</code>.
 	 * @param aut  the list of automata to compose
 	 * @param pruningPred the pruning predicate
 	 */
 	public MSCACompositionFunction(List<Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>>> aut, Predicate<ModalTransition<S1,Action,State<S1>,CALabel>> pruningPred)
 	{
-		super(aut,CALabel::match,State::new,ModalTransition::new,CALabel::new,Automaton::new, pruningPred);
+		super(aut,CALabel::match,MSCACompositionFunction::matchKey,State::new,ModalTransition::new,new CALabelFactory()::createLabel,Automaton::trusted, pruningPred);
+	}
+
+	/**
+	 * the match key of an offer is the identifier of its action plus one, and of a request is its opposite,
+	 * matches and tau moves cannot be matched
+	 */
+	private static int matchKey(CALabel l) {
+		if (l.isMatch() || l.isTau())
+			return 0;
+		int key = l.getAction().getId()+1;
+		return l.isOffer()?key:-key;
 	}
 
 }
\ No newline at end of file
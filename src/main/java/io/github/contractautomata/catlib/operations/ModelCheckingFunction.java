@@ -64,9 +64,7 @@ public class ModelCheckingFunction<S1,
 		super(Arrays.asList(aut, prop),
 				(l1,l2)->  l1.getContent().stream()
 						.noneMatch(TauAction.class::isInstance)//do not match taus
-				 		&& l1.getAction()
-						.getLabel()
-						.equals(l2.getContent().get(0).getLabel()),
+				 		&& l1.getAction().getId()==l2.getContent().get(0).getId(),
 				createState, createTransition, createLabel,createAutomaton,
 				t->{	List<Action> listAct = t.getLabel().getContent();
 					return IntStream.range(0, t.getRank()-1)
@@ -1,6 +1,7 @@
 package io.github.contractautomata.catlib.operations;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
@@ -128,6 +129,7 @@ public class ModelCheckingSynthesisOperator<S1,
 	{
 		this((x,t,bad) -> false,forbiddenPredicate,req,prop,changeLabel,createAutomaton,
 				createLabel,createTransition,createState,createLabelProp,createTransitionProp,createAutomatonProp);
+		this.setLocalPruningPredicate(true);
 	}
 
 	/**
@@ -151,6 +153,7 @@ public class ModelCheckingSynthesisOperator<S1,
 	{
 		this((x,t,bad) -> false,forbiddenPredicate,req,null,null,createAutomaton,
 				createLabel,createTransition,createState,null,null,null);
+		this.setLocalPruningPredicate(true);
 	}
 
 	/**
@@ -161,6 +164,37 @@ public class ModelCheckingSynthesisOperator<S1,
 	 */
 	@Override
 	public A apply(A arg1) {
+		return ExecutionContext.callIn(getExecutionContext(), ()->modelCheckingSynthesis(arg1));
+	}
+
+	/**
+	 * Applies the synthesis operator to the compact automaton aut, its transitions are created with the constructor of
+	 * transitions of this operator (see <code>SynthesisOperator.applyToCompact</code>).
+	 *
+	 * @param aut the compact automaton to which the synthesis is applied
+	 * @return the synthesised automaton in compact form, or null if the synthesised automaton is empty
+	 * @throws UnsupportedOperationException if a property is to be model checked, model checking requires an <code>Automaton</code>
+	 */
+	public CompactAutomaton<S1,Action,S,L> applyToCompact(CompactAutomaton<S1,Action,S,L> aut) {
+		return applyToCompact(aut, createTransition);
+	}
+
+	/**
+	 * Applies the synthesis operator to the compact automaton aut (see <code>SynthesisOperator.applyToCompact</code>).
+	 *
+	 * @param aut the compact automaton to which the synthesis is applied
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised automaton in compact form, or null if the synthesised automaton is empty
+	 * @throws UnsupportedOperationException if a property is to be model checked, model checking requires an <code>Automaton</code>
+	 */
+	@Override
+	public CompactAutomaton<S1,Action,S,L> applyToCompact(CompactAutomaton<S1,Action,S,L> aut, TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition) {
+		if (prop!=null)
+			throw new UnsupportedOperationException("The model checking of a property is not supported on compact automata");
+		return super.applyToCompact(aut, createTransition);
+	}
+
+	private A modelCheckingSynthesis(A arg1) {
 		if (prop==null)
 			return super.apply(arg1);
 		else
@@ -169,8 +203,7 @@ public class ModelCheckingSynthesisOperator<S1,
 			//could not be calabels), whilst the synthesis is performed using the type of the automaton
 			//(generally requirements are expressed using calabels), thus conversions must be performed
 			A2 convertAut = createAutomatonProp.apply(  //converting A to A2
-						 arg1.getTransition()
-									.parallelStream()
+						 ExecutionContext.stream(arg1.getTransitionView())
 									.map(t -> createTransitionProp.apply(t.getSource(),
 											t.getLabel(),
 											t.getTarget(),
@@ -228,10 +261,10 @@ public class ModelCheckingSynthesisOperator<S1,
 				//transformed into a necessary not matched request. Note that this transformation is only
 				//necessary if the transition is not already detected as violating either agreement or strong agreement.
 				//lazy transitions are quantified existentially on the states: the states must not be modified
-				deletingPropAction = this.getCreateAut().apply(comp.getTransition()
-						.parallelStream().map(t -> {
+				deletingPropAction = this.getCreateAut().apply(ExecutionContext.stream(comp.getTransitionView())
+						.map(t -> {
 							List<Action> li = new ArrayList<>(t.getLabel().getContent());
-							li.set(t.getRank() - 1, new IdleAction()); //silencing the prop moves
+							li.set(t.getRank() - 1, IdleAction.INSTANCE); //silencing the prop moves
 							L lab = createLabel.apply(li);
 							if (mcf.getPruningPred().test(t) //the pruning pred of mcf does not allow interleavings of the automaton and the property
 									&& t.isLazy()
@@ -252,6 +285,15 @@ public class ModelCheckingSynthesisOperator<S1,
 		}
 	}
 
+	/**
+	 * Getter of the property.
+	 *
+	 * @return the property, or null if no property is enforced
+	 */
+	public A2 getProp(){
+		return this.prop;
+	}
+
 	/**
 	 * Getter of the function changeLabel.
 	 *
@@ -1,13 +1,16 @@
 package io.github.contractautomata.catlib.operations;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * Class implementing the most permissive controller synthesis operator.<br>
@@ -38,7 +41,8 @@ public class MpcSynthesisOperator<S1> extends ModelCheckingSynthesisOperator<S1,
 	 */
 	public MpcSynthesisOperator(Predicate<CALabel> req) {
 		super((x,t,bad) -> x.isUrgent(), req,
-				Automaton::new,CALabel::new,ModalTransition::new,State::new);
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new);
+		this.setLocalForbiddenPredicate(true);
 	}
 
 
@@ -54,7 +58,8 @@ public class MpcSynthesisOperator<S1> extends ModelCheckingSynthesisOperator<S1,
 	{
 		super((x,t,bad) -> x.isUrgent(), req, prop,
 				t->new CALabel(t.getRank(),t.getRequester(),t.getCoAction()),
-				Automaton::new,CALabel::new,ModalTransition::new,State::new,Label::new,ModalTransition::new,Automaton::new);
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new,Label::new,ModalTransition::new,Automaton::trusted);
+		this.setLocalForbiddenPredicate(true);
 	}
 	
 
@@ -67,12 +72,40 @@ public class MpcSynthesisOperator<S1> extends ModelCheckingSynthesisOperator<S1,
 	 */
 	@Override
 	public Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> apply(Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> aut) {
+		return ExecutionContext.callIn(getExecutionContext(), ()->mpcSynthesis(aut));
+	}
+
+	private Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> mpcSynthesis(Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> aut) {
 
-		if (aut.getTransition().parallelStream()
+		if (ExecutionContext.stream(aut.getTransitionView())
 				.anyMatch(ModalTransition::isLazy))
 			throw new UnsupportedOperationException("The automaton contains semi-controllable transitions");
 		
 		return super.apply(aut);
 	}
 
+	/**
+	 * Applies the mpc synthesis to the compact automaton aut (see <code>SynthesisOperator.applyToCompact</code>).
+	 * The argument must not contain lazy transitions.
+	 *
+	 * @param aut the plant compact automaton to which the synthesis is applied
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised most permissive controller in compact form, or null if it is empty
+	 */
+	@Override
+	public CompactAutomaton<S1,Action,State<S1>,CALabel> applyToCompact(CompactAutomaton<S1,Action,State<S1>,CALabel> aut,
+																		 TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition) {
+		return ExecutionContext.callIn(getExecutionContext(), ()->mpcSynthesis(aut, createTransition));
+	}
+
+	private CompactAutomaton<S1,Action,State<S1>,CALabel> mpcSynthesis(CompactAutomaton<S1,Action,State<S1>,CALabel> aut,
+																	   TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition) {
+
+		if (ExecutionContext.parallel(IntStream.range(0, aut.getNumTransitions()))
+				.anyMatch(t->aut.getModality(t)==ModalTransition.Modality.LAZY))
+			throw new UnsupportedOperationException("The automaton contains semi-controllable transitions");
+
+		return super.applyToCompact(aut, createTransition);
+	}
+
 }
@@ -1,6 +1,7 @@
 package io.github.contractautomata.catlib.operations;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
@@ -8,13 +9,21 @@ import io.github.contractautomata.catlib.automaton.label.action.IdleAction;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.automaton.transition.Transition;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 /**
@@ -45,14 +54,22 @@ public class OrchestrationSynthesisOperator<S1> extends ModelCheckingSynthesisOp
 
 	private static int version=ORIGINAL_LAZY;
 
+	private final ControllabilityIndex<S1> index;
+
 	/**
 	 * Constructor for the orchestration synthesis operator enforcing the requirement req.
 	 *
 	 * @param req the invariant requirement (e.g. agreement)
 	 */
 	public OrchestrationSynthesisOperator(Predicate<CALabel> req){
-		super((t,str,sst)->t.isUncontrollable(str,sst,OrchestrationSynthesisOperator::controllabilityPredicate),req,
-				Automaton::new,CALabel::new,ModalTransition::new,State::new);
+		this(req, new ControllabilityIndex<>());
+	}
+
+	private OrchestrationSynthesisOperator(Predicate<CALabel> req, ControllabilityIndex<S1> index){
+		super((t,str,sst)->t.isUncontrollable(str,sst,index::controllabilityPredicate),req,
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new);
+		this.index=index;
+		index.step=this::getStep;
 	}
 
 	/**
@@ -64,9 +81,17 @@ public class OrchestrationSynthesisOperator<S1> extends ModelCheckingSynthesisOp
 	 */
 	public OrchestrationSynthesisOperator(Predicate<CALabel> req,
 										  Automaton<S1,Action,State<S1>, ModalTransition<S1,Action,State<S1>,Label<Action>>> prop){
-		super((t,str,sst)->t.isUncontrollable(str,sst,OrchestrationSynthesisOperator::controllabilityPredicate),req, prop,
+		this(req, prop, new ControllabilityIndex<>());
+	}
+
+	private OrchestrationSynthesisOperator(Predicate<CALabel> req,
+										   Automaton<S1,Action,State<S1>, ModalTransition<S1,Action,State<S1>,Label<Action>>> prop,
+										   ControllabilityIndex<S1> index){
+		super((t,str,sst)->t.isUncontrollable(str,sst,index::controllabilityPredicate),req, prop,
 				l->new CALabel(l.getRank(),l.getRequester(),l.getCoAction()),
-				Automaton::new,CALabel::new,ModalTransition::new,State::new,Label::new,ModalTransition::new,Automaton::new);
+				Automaton::trusted,CALabel::new,ModalTransition::new,State::new,Label::new,ModalTransition::new,Automaton::trusted);
+		this.index=index;
+		index.step=this::getStep;
 	}
 
 	/**
@@ -79,61 +104,200 @@ public class OrchestrationSynthesisOperator<S1> extends ModelCheckingSynthesisOp
 	@Override
 	public Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> apply(Automaton<S1,Action,State<S1>,ModalTransition<S1, Action,State<S1>,CALabel>> aut)
 	{
-		if (aut.getTransition().parallelStream()
+		return ExecutionContext.callIn(getExecutionContext(), ()->orchestrationSynthesis(aut));
+	}
+
+	private Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> orchestrationSynthesis(Automaton<S1,Action,State<S1>,ModalTransition<S1, Action,State<S1>,CALabel>> aut)
+	{
+		if (ExecutionContext.stream(aut.getTransitionView())
 				.anyMatch(t-> !t.isPermitted()&&t.getLabel().isOffer()))
 			throw new UnsupportedOperationException("The automaton contains necessary offers that are not allowed in the orchestration synthesis");
 
-		return super.apply(aut);
+		try {
+			return super.apply(aut);
+		} finally {
+			index.clear();
+		}
 	}
 
-	private static <S1> boolean controllabilityPredicate(ModalTransition<S1,Action,State<S1>,CALabel> tra,
-														 Set<ModalTransition<S1,Action,State<S1>,CALabel>> str,
-														 Set<State<S1>> badStates){
-		return str.parallelStream()
-				.filter(t->t.getLabel().isMatch()
-						&& !badStates.contains(t.getSource()))//	badStates does not contain target of t,
-				//  guaranteed to hold because the pruning predicate of the synthesis has bad.contains(x.getTarget())
-				.noneMatch(t->
-						(t.getLabel().getRequester().equals(tra.getLabel().getRequester()))//the same requesting principal
-								&&(t.getSource().getState().get(t.getLabel().getRequester())
-								.equals(tra.getSource().getState().get(tra.getLabel().getRequester())))//in the same local source state
-								&&(tra.getLabel().isRequest()
-								&&t.getLabel().getAction().equals(tra.getLabel().getCoAction())||
-								tra.getLabel().isMatch()
-										&&t.getLabel().getAction().equals(tra.getLabel().getAction()))//doing the same request
-								&& (version!=REFINED_LAZY||isReachableWithoutMoving(tra.getSource(),t.getSource(),t.getLabel().getRequester(),str,badStates)));
+	/**
+	 * Applies the orchestration synthesis to the compact automaton aut (see <code>SynthesisOperator.applyToCompact</code>).
+	 * The argument must not contain necessary offers.
+	 *
+	 * @param aut the plant compact automaton to which the synthesis is applied.
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised orchestration in compact form, or null if it is empty.
+	 */
+	@Override
+	public CompactAutomaton<S1,Action,State<S1>,CALabel> applyToCompact(CompactAutomaton<S1,Action,State<S1>,CALabel> aut,
+																		 TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition)
+	{
+		return ExecutionContext.callIn(getExecutionContext(), ()->orchestrationSynthesis(aut, createTransition));
+	}
 
+	private CompactAutomaton<S1,Action,State<S1>,CALabel> orchestrationSynthesis(CompactAutomaton<S1,Action,State<S1>,CALabel> aut,
+																			  TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition)
+	{
+		if (ExecutionContext.parallel(IntStream.range(0, aut.getNumTransitions()))
+				.anyMatch(t-> aut.getModality(t)!=ModalTransition.Modality.PERMITTED&&aut.getLabel(aut.getLabelId(t)).isOffer()))
+			throw new UnsupportedOperationException("The automaton contains necessary offers that are not allowed in the orchestration synthesis");
+
+		try {
+			return super.applyToCompact(aut, createTransition);
+		} finally {
+			index.clear();
+		}
 	}
 
 	/**
-	 *	  true iff the source state of "to" is reachable from the source state of "from" by only using transitions in
-	 * 	  "str" whose states are not in "badStates" and in all those states the source state of "principal" does not change
+	 * Class implementing the index of the match transitions used by the controllability predicate. <br>
+	 * The match transitions of the set of transitions of the synthesis are indexed by their requesting principal,
+	 * the local source state of the requesting principal and their action, so that the match transitions doing the
+	 * same request of a transition are looked up rather than searched among all transitions. <br>
+	 * The index is built the first time the predicate is evaluated on a set of transitions (compared by identity),
+	 * and is rebuilt when a different set is evaluated. During the synthesis the set of transitions only shrinks,
+	 * hence the transitions found in the index are checked to be still in the set, and their source to be not bad. <br>
+	 * For the refined lazy version, the states reachable without moving by a principal from a state are memoised for
+	 * a step of the fixpoint of the synthesis (see <code>SynthesisOperator.getStep</code>), and are discarded at the next step.
+	 * During a step, the memoised states over-approximate the states reachable with the current transitions and bad states,
+	 * thus a transition may be deemed controllable whilst it is not. This is harmless: the predicate is monotone, and it is
+	 * evaluated again on all candidates at each step, where the step without updates terminating the synthesis computes
+	 * the exact closures. Outside a synthesis (step 0) nothing is memoised. <br>
 	 */
-	private static <S1> boolean isReachableWithoutMoving(State<S1> from, State<S1> to,
-														 Integer principal,
-														 Set<? extends ModalTransition<S1,Action,State<S1>,CALabel>> str,
-														 Set<State<S1>> badStates){
-		if (from.equals(to)) return true;
-		Queue<State<S1>> toVisit = new LinkedList<>(List.of(from));
-		Queue<State<S1>> visited = new LinkedList<>();
-		while(!toVisit.isEmpty()) {
-			State<S1> currentstate = toVisit.remove();
-			visited.add(currentstate);
-			Set<State<S1>> toAdd = str.parallelStream()
-					.filter(x -> x.getSource().equals(currentstate)
-							&& x.getLabel().getContent().get(principal) instanceof IdleAction
-							&& !visited.contains(x.getTarget())
-							&& !badStates.contains(x.getTarget()))
-					.map(Transition::getTarget)
-					.collect(Collectors.toSet());
-			if (toAdd.contains(to))
+	private static final class ControllabilityIndex<S1> {
+
+		private static final class Index<S1> {
+			private final Set<ModalTransition<S1,Action,State<S1>,CALabel>> str;
+			private final Map<List<Object>,List<ModalTransition<S1,Action,State<S1>,CALabel>>> matches;
+
+			/**
+			 * for each principal, the transitions where the principal is idle, grouped by source state
+			 */
+			private final Map<Integer,Map<State<S1>,List<ModalTransition<S1,Action,State<S1>,CALabel>>>> idle = new ConcurrentHashMap<>();
+
+			private volatile Closures<S1> closures;
+
+			private Index(Set<ModalTransition<S1,Action,State<S1>,CALabel>> str) {
+				this.str = str;
+				this.matches = ExecutionContext.stream(str)
+						.filter(t->t.getLabel().isMatch())
+						.collect(Collectors.groupingByConcurrent(t->key(t.getLabel().getRequester(),
+								t.getSource().getState().get(t.getLabel().getRequester()),t.getLabel().getAction())));
+			}
+
+			/**
+			 *	  true iff the source state of "to" is reachable from the source state of "from" by only using transitions in
+			 * 	  "str" whose states are not in "badStates" and in all those states the source state of "principal" does not change,
+			 * 	  the reachable states are memoised for the given step of the synthesis
+			 */
+			private boolean isReachableWithoutMoving(State<S1> from, State<S1> to, Integer principal, Set<State<S1>> badStates, long step) {
+				if (from.equals(to)) return true;
+				if (step==0)
+					return visit(from, principal, badStates).contains(to);
+				Map<List<Object>,Set<State<S1>>> reachable = getClosures(step).reachable;
+				List<Object> key = Arrays.asList(principal, from);
+				Set<State<S1>> r = reachable.get(key);
+				if (r==null) {
+					r = visit(from, principal, badStates);
+					reachable.putIfAbsent(key, r);
+				}
+				return r.contains(to);
+			}
+
+			/**
+			 * the closures are valid for a step of the synthesis
+			 */
+			private Closures<S1> getClosures(long step) {
+				Closures<S1> c = closures;
+				if (c!=null && c.step==step)
+					return c;
+				synchronized(this) {
+					c = closures;
+					if (c==null || c.step!=step) {
+						c = new Closures<>(step);
+						closures = c;
+					}
+					return c;
+				}
+			}
+
+			/**
+			 * breadth-first visit from "from" of the transitions in "str" where "principal" is idle and whose target is not bad
+			 */
+			private Set<State<S1>> visit(State<S1> from, Integer principal, Set<State<S1>> badStates) {
+				//sequential, the computation must not be interleaved with other tasks of the pool updating the map
+				Map<State<S1>,List<ModalTransition<S1,Action,State<S1>,CALabel>>> adjacency = idle.computeIfAbsent(principal,
+						p->str.stream()
+								.filter(x->x.getLabel().getContent().get(p) instanceof IdleAction)
+								.collect(Collectors.groupingBy(Transition::getSource)));
+				Set<State<S1>> visited = new HashSet<>(List.of(from));
+				Queue<State<S1>> toVisit = new ArrayDeque<>(List.of(from));
+				while(!toVisit.isEmpty()) {
+					for (ModalTransition<S1,Action,State<S1>,CALabel> x : adjacency.getOrDefault(toVisit.remove(), Collections.emptyList())) {
+						if (str.contains(x) && !badStates.contains(x.getTarget()) && visited.add(x.getTarget()))
+							toVisit.add(x.getTarget());
+					}
+				}
+				return visited;
+			}
+		}
+
+		/**
+		 * the states reachable without moving by each principal from each state, computed during a step of the synthesis
+		 */
+		private static final class Closures<S1> {
+			private final long step;
+			private final Map<List<Object>,Set<State<S1>>> reachable = new ConcurrentHashMap<>();
+
+			private Closures(long step) {
+				this.step = step;
+			}
+		}
+
+		private volatile Index<S1> index;
+
+		private LongSupplier step = ()->0;//the current step of the synthesis using this index
+
+		private static List<Object> key(Integer requester, Object localState, Action action) {
+			return Arrays.asList(requester, localState, action);
+		}
+
+		private Index<S1> getIndex(Set<ModalTransition<S1,Action,State<S1>,CALabel>> str) {
+			Index<S1> i = index;
+			if (i!=null && i.str==str)
+				return i;
+			synchronized(this) {
+				if (index==null || index.str!=str)
+					index = new Index<>(str);
+				return index;
+			}
+		}
+
+		private void clear() {
+			index = null;
+		}
+
+		private boolean controllabilityPredicate(ModalTransition<S1,Action,State<S1>,CALabel> tra,
+												 Set<ModalTransition<S1,Action,State<S1>,CALabel>> str,
+												 Set<State<S1>> badStates){
+			Action action = tra.getLabel().isRequest()?tra.getLabel().getCoAction()
+					:tra.getLabel().isMatch()?tra.getLabel().getAction():null;
+			if (action==null)
 				return true;
-			toVisit.addAll(toAdd);
+
+			Integer requester = tra.getLabel().getRequester();
+			Index<S1> index = getIndex(str);
+			long s = step.getAsLong();
+			return index.matches
+					.getOrDefault(key(requester,tra.getSource().getState().get(requester),action), Collections.emptyList())
+					.stream()
+					.filter(t->str.contains(t)
+							&& !badStates.contains(t.getSource()))//	badStates does not contain target of t,
+					//  guaranteed to hold because the pruning predicate of the synthesis has bad.contains(x.getTarget())
+					.noneMatch(t->version!=REFINED_LAZY||index.isReachableWithoutMoving(tra.getSource(),t.getSource(),requester,badStates,s));
 		}
-		return false;
 	}
 
-
 	public static void setRefinedLazy(){
 		OrchestrationSynthesisOperator.version = REFINED_LAZY;
 	}
@@ -0,0 +1,225 @@
+package io.github.contractautomata.catlib.operations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Class implementing an open-addressing hash map whose keys are composed states encoded as bit-packed vectors
+ * of longs, all of the same length. <br>
+ * Keys are stored contiguously in arrays of longs, values in arrays of objects, and a flag marks
+ * the keys that have been visited. <br>
+ * Compared to a hash map of tuples of states, no object is allocated for each entry. <br>
+ * The map is thread-safe: it is partitioned into segments selected by the high bits of the hash of the key,
+ * and each segment is locked independently, so that threads accessing different segments do not contend.
+ * Values are never computed under a lock: a value is built by the caller and published with <code>putIfAbsent</code>. <br>
+ *
+ * @param <V> the generic type of the values
+ *
+ * @author Davide Basile
+ */
+final class PackedStateMap<V> {
+
+	private static final int SEGMENT_BITS = 6;
+	private static final int INITIAL_CAPACITY = 8;
+
+	/**
+	 * the number of longs of each key
+	 */
+	private final int words;
+
+	private final Segment[] segments;
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Constructor for an empty map.
+	 * @param words the number of longs of each key, must be positive
+	 */
+	PackedStateMap(int words) {
+		if (words<1)
+			throw new IllegalArgumentException();
+		this.words = words;
+		this.segments = new Segment[1 << SEGMENT_BITS];
+		for (int i=0; i<segments.length; i++)
+			segments[i] = new Segment(words);
+	}
+
+	/**
+	 * Returns the value of the key, or null if the key is absent.
+	 * @param key the key
+	 * @return the value of the key, or null if the key is absent
+	 */
+	@SuppressWarnings("unchecked")
+	V get(long[] key) {
+		int h = hash(key);
+		Segment s = segmentOf(h);
+		synchronized (s) {
+			return (V) s.values[s.find(h, key)];
+		}
+	}
+
+	/**
+	 * Associates the value to the key if the key is absent.
+	 * @param key the key
+	 * @param value the value, must be non-null
+	 * @return the value already associated to the key, or null if the key was absent and the value has been stored
+	 */
+	@SuppressWarnings("unchecked")
+	V putIfAbsent(long[] key, V value) {
+		if (value==null)
+			throw new IllegalArgumentException();
+		int h = hash(key);
+		Segment s = segmentOf(h);
+		synchronized (s) {
+			int slot = s.find(h, key);
+			if (s.values[slot]!=null)
+				return (V) s.values[slot];
+			System.arraycopy(key, 0, s.keys, slot*words, words);
+			s.values[slot] = value;
+			if (++s.size*4 > s.values.length*3)
+				s.rehash();
+		}
+		size.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Marks the key as visited. The key must be present.
+	 * @param key the key
+	 * @return true if the key was not already visited
+	 */
+	boolean markVisited(long[] key) {
+		int h = hash(key);
+		Segment s = segmentOf(h);
+		synchronized (s) {
+			int slot = s.find(h, key);
+			if (s.values[slot]==null)
+				throw new IllegalArgumentException("Absent key");
+			if (s.visited[slot])
+				return false;
+			s.visited[slot] = true;
+			return true;
+		}
+	}
+
+	/**
+	 * Returns true if the key is present and has been visited.
+	 * @param key the key
+	 * @return true if the key is present and has been visited
+	 */
+	boolean isVisited(long[] key) {
+		int h = hash(key);
+		Segment s = segmentOf(h);
+		synchronized (s) {
+			int slot = s.find(h, key);
+			return s.values[slot]!=null && s.visited[slot];
+		}
+	}
+
+	/**
+	 * Performs the action on each key and its value. The key passed to the action is a copy.
+	 * The action is performed while holding the lock of the segment of the key, hence it must only access the key passed to it.
+	 * @param action the action to perform
+	 */
+	@SuppressWarnings("unchecked")
+	void forEach(BiConsumer<long[],? super V> action) {
+		for (Segment s : segments)
+			synchronized (s) {
+				for (int i=0; i<s.values.length; i++)
+					if (s.values[i]!=null) {
+						long[] key = new long[words];
+						System.arraycopy(s.keys, i*words, key, 0, words);
+						action.accept(key, (V) s.values[i]);
+					}
+			}
+	}
+
+	/**
+	 * Returns the number of keys.
+	 * @return the number of keys
+	 */
+	int size() {
+		return size.get();
+	}
+
+	private Segment segmentOf(int hash) {
+		return segments[hash >>> (Integer.SIZE-SEGMENT_BITS)];
+	}
+
+	private static int hash(long[] key) {
+		long h = 0;
+		for (long w : key)
+			h = (h ^ w) * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	//a partition of the map, guarded by its own monitor
+	private static final class Segment {
+
+		private final int words;
+
+		/**
+		 * the keys, the key of slot i ranges from keys[i*words] to keys[(i+1)*words]
+		 */
+		private long[] keys;
+
+		/**
+		 * the values, a slot is empty if its value is null
+		 */
+		private Object[] values;
+
+		/**
+		 * the visited flags of the slots
+		 */
+		private boolean[] visited;
+
+		private int size;
+
+		private Segment(int words) {
+			this.words = words;
+			allocate(INITIAL_CAPACITY);
+		}
+
+		private void allocate(int capacity) {
+			this.keys = new long[capacity*words];
+			this.values = new Object[capacity];
+			this.visited = new boolean[capacity];
+		}
+
+		/**
+		 * returns the slot of the key, or the empty slot where the key should be inserted
+		 */
+		private int find(int hash, long[] key) {
+			int mask = values.length-1;
+			int slot = hash & mask;
+			while (values[slot]!=null && !equalsAt(slot, key))
+				slot = (slot+1) & mask;
+			return slot;
+		}
+
+		private boolean equalsAt(int slot, long[] key) {
+			int offset = slot*words;
+			for (int i=0; i<words; i++)
+				if (keys[offset+i]!=key[i])
+					return false;
+			return true;
+		}
+
+		private void rehash() {
+			long[] oldKeys = keys;
+			Object[] oldValues = values;
+			boolean[] oldVisited = visited;
+			allocate(oldValues.length*2);
+			long[] key = new long[words];
+			for (int i=0; i<oldValues.length; i++) {
+				if (oldValues[i]!=null) {
+					System.arraycopy(oldKeys, i*words, key, 0, words);
+					int slot = find(hash(key), key);
+					System.arraycopy(key, 0, keys, slot*words, words);
+					values[slot] = oldValues[i];
+					visited[slot] = oldVisited[i];
+				}
+			}
+		}
+	}
+}
@@ -1,13 +1,17 @@
 package io.github.contractautomata.catlib.operations;
 
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.family.Product;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 
 /**
  * Class implementing the orchestration synthesis for a specific product of a product line. <br>
@@ -52,9 +56,29 @@ public class ProductOrchestrationSynthesisOperator<S1>  extends OrchestrationSyn
 	{
 		Automaton<S1, Action,State<S1>,ModalTransition<S1,Action,State<S1>,CALabel>> a= super.apply(aut);
 
-		if (a!=null&&!p.checkRequired(a.getTransition()))
+		if (a!=null&&!p.checkRequired(a.getTransitionView()))
 			return null;
 		
 		return a;
 	}
+
+	/**
+	 * Apply the product orchestration synthesis operator to the compact automaton aut (see <code>SynthesisOperator.applyToCompact</code>).
+	 * @param aut the plant compact automaton to which the synthesis is applied.
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised orchestration of product p in compact form, or null if it is empty
+	 */
+	@Override
+	public CompactAutomaton<S1,Action,State<S1>,CALabel> applyToCompact(CompactAutomaton<S1,Action,State<S1>,CALabel> aut,
+																		 TetraFunction<State<S1>,CALabel,State<S1>,ModalTransition.Modality,ModalTransition<S1,Action,State<S1>,CALabel>> createTransition)
+	{
+		CompactAutomaton<S1,Action,State<S1>,CALabel> a = super.applyToCompact(aut, createTransition);
+
+		if (a!=null&&!p.checkRequired(IntStream.range(0, a.getNumTransitions())
+				.mapToObj(t->a.getTransition(t, createTransition))
+				.collect(Collectors.toSet())))
+			return null;
+
+		return a;
+	}
 }
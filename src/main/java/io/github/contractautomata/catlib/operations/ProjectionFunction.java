@@ -77,7 +77,7 @@ public class ProjectionFunction<S1> implements TriFunction<Automaton<S1, Action,
 			throw new IllegalArgumentException("Index out of rank");
 
 		//extracting the basicstates of the principal and creating the castates of the projection
-		Map<BasicState<S1>,State<S1>> bs2cs = aut.getTransition().parallelStream()
+		Map<BasicState<S1>,State<S1>> bs2cs = ExecutionContext.stream(aut.getTransitionView())
 				.flatMap(t->Stream.of(t.getSource(), t.getTarget()))
 				.map(s->s.getState().get(indexprincipal))
 				.distinct()
@@ -85,13 +85,13 @@ public class ProjectionFunction<S1> implements TriFunction<Automaton<S1, Action,
 
 		//associating each castate of the composition with the castate of the principal
 		Map<State<S1>,State<S1>> map2princst =
-				aut.getTransition().parallelStream()
+				ExecutionContext.stream(aut.getTransitionView())
 						.flatMap(t->Stream.of(t.getSource(), t.getTarget()))
 						.distinct()
 						.collect(Collectors.toMap(Function.identity(), s->bs2cs.get(s.getState().get(indexprincipal))));
 
 
-		return new Automaton<>(aut.getTransition().parallelStream()
+		return new Automaton<>(ExecutionContext.stream(aut.getTransitionView())
 				.filter(t-> t.getLabel().isMatch()
 						?(t.getLabel().getOfferer().equals(indexprincipal)
 						|| t.getLabel().getRequester().equals(indexprincipal))
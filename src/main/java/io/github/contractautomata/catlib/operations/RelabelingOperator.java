@@ -63,9 +63,10 @@ public class RelabelingOperator<S1, L extends Label<Action>> implements
 	@Override
 	public Set<ModalTransition<S1, Action, State<S1>, L>> apply(Automaton<S1,Action,State<S1>,ModalTransition<S1,Action,State<S1>,L>> aut)
 	{	
-		if (aut.getTransition().isEmpty())
+		if (aut.getTransitionView().isEmpty())
 			throw new IllegalArgumentException();
 
+		//one new state for each state of aut: states relabeled with equal content are not merged
 		Map<BasicState<S1>,BasicState<S1>> clonedstate = aut.getStates().stream()
 				.flatMap(x->x.getState().stream())
 				.distinct()
@@ -79,7 +80,7 @@ public class RelabelingOperator<S1, L extends Label<Action>> implements
                                 .map(clonedstate::get)
                                 .collect(Collectors.toList()))));
 
-		return  aut.getTransition().stream()
+		return  aut.getTransitionStream()
 				.map(t-> new ModalTransition<>(clonedcastates.get(t.getSource()),
 						createLabel.apply(t.getLabel().getContent()),
 						clonedcastates.get(t.getTarget()),
@@ -1,6 +1,7 @@
 package io.github.contractautomata.catlib.operations;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
@@ -9,6 +10,7 @@ import io.github.contractautomata.catlib.automaton.label.action.TauAction;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -32,29 +34,49 @@ public class SplittingOrchestrationSynthesisOperator extends MpcSynthesisOperato
 {
 	private final Predicate<ModalTransition<String,Action,State<String>,CALabel>> pruningPred;
 
+	/**
+	 * the pruning predicate of the composition, created once so that repeated syntheses of the same principals
+	 * hit the cache of the composition
+	 */
+	private final Predicate<ModalTransition<String,Action,State<String>,CALabel>> compositionPred;
+
 	public SplittingOrchestrationSynthesisOperator(Predicate<CALabel> req){
 		super(req);
 		this.pruningPred=t->false;
-
+		this.compositionPred=t->this.getReq().negate().test(t.getLabel()) || pruningPred.test(t);
 	}
 
 	public SplittingOrchestrationSynthesisOperator(Predicate<CALabel> req,  Predicate<ModalTransition<String,Action,State<String>,CALabel>> pruningPred){
 		super(req);
 		this.pruningPred=pruningPred;
+		this.compositionPred=t->this.getReq().negate().test(t.getLabel()) || this.pruningPred.test(t);
 	}
 
 	public SplittingOrchestrationSynthesisOperator(Predicate<CALabel> req, Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,Label<Action>>> prop){
 		super(req,prop);
 		this.pruningPred=t->false;
+		this.compositionPred=t->this.getReq().negate().test(t.getLabel()) || pruningPred.test(t);
 	}
 
 	@Override
 	public Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> apply(Automaton<String,Action,State<String>,ModalTransition<String, Action,State<String>,CALabel>> aut)
 	{
 		ProjectionFunction<String> pf = new ProjectionFunction<>();
-		return this.apply(IntStream.range(0, aut.getRank())
+		return ExecutionContext.callIn(getExecutionContext(), ()->this.apply(IntStream.range(0, aut.getRank())
 				.mapToObj(i->pf.apply(aut,i,t->t.getLabel().getRequester()))
-				.collect(Collectors.toList()));
+				.collect(Collectors.toList())));
+	}
+
+	/**
+	 * The splitting synthesis projects and recomposes the principals of the automaton, which requires an <code>Automaton</code>.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public CompactAutomaton<String,Action,State<String>,CALabel> applyToCompact(CompactAutomaton<String,Action,State<String>,CALabel> aut,
+																			 TetraFunction<State<String>,CALabel,State<String>,ModalTransition.Modality,ModalTransition<String,Action,State<String>,CALabel>> createTransition)
+	{
+		throw new UnsupportedOperationException("The splitting orchestration synthesis is not supported on compact automata");
 	}
 
 	/**
@@ -62,10 +84,15 @@ public class SplittingOrchestrationSynthesisOperator extends MpcSynthesisOperato
 	 *
 	 */
 	public Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> apply(List<Automaton<String,Action,State<String>,ModalTransition<String, Action,State<String>,CALabel>>> laut)
+	{
+		return ExecutionContext.callIn(getExecutionContext(), ()->splittingSynthesis(laut));
+	}
+
+	private Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> splittingSynthesis(List<Automaton<String,Action,State<String>,ModalTransition<String, Action,State<String>,CALabel>>> laut)
 	{
 		if (laut.stream()
 				.map(Automaton::getTransition)
-				.anyMatch(ts->ts.parallelStream()
+				.anyMatch(ts->ExecutionContext.stream(ts)
 						.anyMatch(t-> (!t.isPermitted()&&t.getLabel().isOffer()) || t.getLabel().isTau())))
 			throw new IllegalArgumentException("Some automaton contains necessary offers that are not allowed in the orchestration synthesis or some action is tau");
 
@@ -74,8 +101,9 @@ public class SplittingOrchestrationSynthesisOperator extends MpcSynthesisOperato
 			throw new IllegalArgumentException("Only principals are allowed");
 
 		//compose encoded principals
-		Automaton<String, Action, State<String>, ModalTransition<String, Action, State<String>, CALabel>> comp =
-				new MSCACompositionFunction<>(encodePrincipals(laut), t->this.getReq().negate().test(t.getLabel()) || pruningPred.test(t)).apply(Integer.MAX_VALUE);
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(encodePrincipals(laut), compositionPred);
+		cf.setExecutionContext(getExecutionContext());
+		Automaton<String, Action, State<String>, ModalTransition<String, Action, State<String>, CALabel>> comp = cf.apply(Integer.MAX_VALUE);
 
 		if (Objects.isNull(comp))
 			return null;
@@ -101,13 +129,13 @@ public class SplittingOrchestrationSynthesisOperator extends MpcSynthesisOperato
 				{
 					//each lazy transition is unfolded into two linked transitions, one uncontrollable and one controllable
 					Map<ModalTransition<String, Action, State<String>, CALabel>, List<ModalTransition<String, Action, State<String>, CALabel>>> map =
-							aut.getTransition().parallelStream()
+							ExecutionContext.stream(aut.getTransitionView())
 									.collect(Collectors.toMap(t -> t, t -> {
 										if (!t.getModality().equals(ModalTransition.Modality.LAZY))
 											return List.of(t);
 										else {
 											List<Action> label = IntStream.range(0, t.getLabel().getRank())
-													.mapToObj(i -> new IdleAction())
+													.mapToObj(i -> IdleAction.INSTANCE)
 													.collect(Collectors.toList());
 
 											List<BasicState<String>> intermediate = new ArrayList<>(t.getSource().getState());
@@ -127,7 +155,7 @@ public class SplittingOrchestrationSynthesisOperator extends MpcSynthesisOperato
 									}));
 
 					return new Automaton<>(
-							aut.getTransition().parallelStream()
+							ExecutionContext.stream(aut.getTransitionView())
 									.flatMap(t -> map.get(t).stream())
 									.collect(Collectors.toSet()));
 				}).collect(Collectors.toList());
@@ -233,7 +261,7 @@ public class SplittingOrchestrationSynthesisOperator extends MpcSynthesisOperato
 //			final int requester = t.getLabel().getRequester();
 //
 //			List<Action> label = IntStream.range(0, t.getLabel().getRank())
-//					.mapToObj(i -> new IdleAction())
+//					.mapToObj(i -> IdleAction.INSTANCE)
 //					.collect(Collectors.toList());
 //
 //			List<BasicState<String>> intermediate = new ArrayList<>(source.getState());
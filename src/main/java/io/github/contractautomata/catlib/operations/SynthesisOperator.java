@@ -1,18 +1,22 @@
 package io.github.contractautomata.catlib.operations;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.automaton.transition.Transition;
+import io.github.contractautomata.catlib.operations.interfaces.TetraFunction;
 import io.github.contractautomata.catlib.operations.interfaces.TriPredicate;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
 /**
  * Class implementing the abstract synthesis operator.<br>
@@ -68,13 +72,23 @@ import java.util.stream.Stream;
 public class SynthesisOperator<S1,L1,S extends State<S1>,
 		L extends Label<L1>,T extends ModalTransition<S1,L1,S,L>, A extends Automaton<S1,L1,S,T>> implements UnaryOperator<A>{
 
-	private Map<S,Boolean> reachable;
-	private Map<S,Boolean> successful;
-	private int lastCallDanglingStates;
+	private CompactAutomaton<S1,L1,S,L> graph;
+	private BitSet reachable;
+	private BitSet successful;
+	private BitSet alive;//the transitions of the compact automaton not yet removed by the synthesis
+	private BitSet removedSinceLastCall;//the transitions removed since the last computation of the dangling states
+	private int[] queue;//the queue of the breadth-first visits
+	private Worklist fixpoint;//the fixpoint of the last resumable synthesis
+	private volatile long step;//the current step of the fixpoint, 0 if no fixpoint is being computed
+	private long steps;//never reset, so that the steps of different syntheses are distinct
 	private final TriPredicate<T, Set<T>, Set<S>> pruningPred;
 	private final TriPredicate<T, Set<T>, Set<S>> forbiddenPred;
 	private final Predicate<L> req;
 	private final Function<Set<T>,A> createAut;
+	private boolean localPruning;
+	private boolean localForbidden;
+	private ExecutionContext executionContext;
+	private Consumer<? super SynthesisProgress> progressListener;
 
 	/**
 	 * Constructor for the synthesis operator.
@@ -97,7 +111,6 @@ public class SynthesisOperator<S1,L1,S extends State<S1>,
 				&&  forbiddenPredicate.test(x, t, bad);
 		this.req=req;
 		this.createAut=createAut;
-		this.lastCallDanglingStates=-1;
 	}
 
 	/**
@@ -111,6 +124,7 @@ public class SynthesisOperator<S1,L1,S extends State<S1>,
 							 Predicate<L> req,
 							 Function<Set<T>,A> createAut) {
 		this((x,t,bad) -> false, forbiddenPredicate,req, createAut);
+		this.localPruning=true;
 	}
 
 	/**
@@ -129,6 +143,66 @@ public class SynthesisOperator<S1,L1,S extends State<S1>,
 		return createAut;
 	}
 
+	/**
+	 * Getter of the execution context.
+	 * @return the execution context, or null if the parallel work is executed in the common fork/join pool
+	 */
+	public ExecutionContext getExecutionContext() {
+		return executionContext;
+	}
+
+	/**
+	 * Sets the execution context of this operator, so that all parallel computations of <code>apply</code>
+	 * are executed by the pool of the context instead of the common fork/join pool (see <code>ExecutionContext</code>).
+	 * @param executionContext the execution context, or null for the common fork/join pool
+	 */
+	public void setExecutionContext(ExecutionContext executionContext) {
+		this.executionContext = executionContext;
+	}
+
+	/**
+	 * Declares whether the pruning predicate is local, i.e., its value on a transition only depends on the transition
+	 * itself, and not on the other transitions of the automaton or on the bad states. <br>
+	 * The fixpoint of the synthesis is computed by propagating each update to the adjacent transitions and states:
+	 * a non-local predicate is evaluated again on all transitions at each step, whereas a local predicate is only evaluated
+	 * once on each transition. By default, the predicates passed to the constructors are non-local, and the
+	 * pruning predicate that always returns false is local. Declaring local a non-local predicate yields a wrong synthesis.
+	 * @param localPruning true if the pruning predicate is local
+	 */
+	public void setLocalPruningPredicate(boolean localPruning) {
+		this.localPruning = localPruning;
+	}
+
+	/**
+	 * Declares whether the forbidden predicate is local, i.e., its value on a pruned transition only depends on the transition
+	 * itself, and not on the other transitions of the automaton or on the bad states (see <code>setLocalPruningPredicate</code>).
+	 * A local forbidden predicate is only evaluated on each transition when it is pruned.
+	 * @param localForbidden true if the forbidden predicate is local
+	 */
+	public void setLocalForbiddenPredicate(boolean localForbidden) {
+		this.localForbidden = localForbidden;
+	}
+
+	/**
+	 * Returns the current step of the fixpoint computation of the synthesis, or 0 if no fixpoint is being computed. <br>
+	 * Each step (i.e., iteration) of each fixpoint computed by this operator has a distinct number. During a step the
+	 * transitions of the automaton only shrink and the bad states only grow, hence information computed on them
+	 * over-approximates, for the rest of the step, the same information computed on the current ones.
+	 * @return the current step of the fixpoint computation, or 0 if no fixpoint is being computed
+	 */
+	long getStep() {
+		return step;
+	}
+
+	/**
+	 * Sets a listener notified with the statistics of each step of the fixpoint computation of the synthesis
+	 * (see <code>SynthesisProgress</code>). The listener is notified by the thread computing the synthesis.
+	 * @param progressListener the listener, or null for removing the listener
+	 */
+	public void setProgressListener(Consumer<? super SynthesisProgress> progressListener) {
+		this.progressListener = progressListener;
+	}
+
 	/**
 	 * This method applies the synthesis operator to aut.
 	 * @param aut  the automaton to which the synthesis operation is applied.
@@ -137,103 +211,427 @@ public class SynthesisOperator<S1,L1,S extends State<S1>,
 	 */
 	@Override
 	public A apply(A aut) {
+		return ExecutionContext.callIn(executionContext, ()->automaton(synthesis(aut, false)));
+	}
 
-		class Pair{
-			final Set<T> tr;
-			final Set<S> s;
-			Pair(Set<T> tr, Set<S> s) {
-				this.tr = tr; this.s = s;
-			}
-		}
+	/**
+	 * Applies the synthesis operator to the compact automaton aut, and returns the synthesised automaton in compact form. <br>
+	 * No <code>Automaton</code> is built: the predicates are evaluated on the transitions of aut created with createTransition,
+	 * and the result is the restriction of aut to the transitions of the synthesised automaton (see <code>CompactAutomaton.restrict</code>).
+	 * @param aut  the compact automaton to which the synthesis operation is applied.
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised automaton in compact form, or null if the synthesised automaton is empty.
+	 */
+	public CompactAutomaton<S1,L1,S,L> applyToCompact(CompactAutomaton<S1,L1,S,L> aut, TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition) {
+		return ExecutionContext.callIn(executionContext, ()->compact(synthesis(aut, createTransition, false)));
+	}
 
+	/**
+	 * Applies the synthesis operator to aut, and keeps its fixpoint so that the synthesis can be resumed
+	 * (see <code>resume</code>).
+	 * @param aut  the automaton to which the synthesis operation is applied.
+	 * @return the synthesised automaton.
+	 */
+	A applyResumable(A aut) {
+		return ExecutionContext.callIn(executionContext, ()->automaton(synthesis(aut, true)));
+	}
+
+	/**
+	 * Applies the synthesis operator to the compact automaton aut, and keeps its fixpoint so that the synthesis can be resumed
+	 * (see <code>applyToCompact</code> and <code>resume</code>).
+	 * @param aut  the compact automaton to which the synthesis operation is applied.
+	 * @param createTransition the constructor of the transitions on which the predicates are evaluated
+	 * @return the synthesised automaton in compact form, or null if the synthesised automaton is empty.
+	 */
+	CompactAutomaton<S1,L1,S,L> applyResumableToCompact(CompactAutomaton<S1,L1,S,L> aut, TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition) {
+		return ExecutionContext.callIn(executionContext, ()->compact(synthesis(aut, createTransition, true)));
+	}
+
+	/**
+	 * Resumes the last synthesis applied by <code>applyResumable</code> or <code>resume</code>, after removing the
+	 * transitions from its automaton. <br>
+	 * The fixpoint of the last synthesis is also a step of the synthesis of the automaton without the removed
+	 * transitions (the transitions of the fixpoint only shrink and its bad states only grow), hence the computation
+	 * continues from it, treating the removal as a further pruning. The removed transitions are no longer in the
+	 * automaton, thus they are not checked to be forbidden. If a removed transition has already been pruned, the
+	 * synthesis restarts from the automaton without the removed transitions.
+	 * @param removed the transitions to remove
+	 * @return the synthesised automaton, as returned by <code>apply</code> on the automaton without the removed transitions.
+	 * @throws IllegalStateException if there is no synthesis to resume, i.e., the last synthesis returned null
+	 */
+	A resume(Set<T> removed) {
+		return ExecutionContext.callIn(executionContext, ()->automaton(resynthesis(removed)));
+	}
+
+	/**
+	 * Resumes the last synthesis as <code>resume</code>, and returns the synthesised automaton in compact form.
+	 * @param removed the transitions to remove
+	 * @return the synthesised automaton in compact form, or null if the synthesised automaton is empty.
+	 * @throws IllegalStateException if there is no synthesis to resume, i.e., the last synthesis returned null
+	 */
+	CompactAutomaton<S1,L1,S,L> resumeToCompact(Set<T> removed) {
+		return ExecutionContext.callIn(executionContext, ()->compact(resynthesis(removed)));
+	}
+
+	/**
+	 * Returns the transitions of the automaton synthesised by the last resumable synthesis, or null if there is no
+	 * synthesis to resume.
+	 * @return the transitions of the automaton synthesised by the last resumable synthesis, or null if there is no synthesis to resume
+	 */
+	Set<T> getResumableTransitions() {
+		return (fixpoint==null)?null:kept(fixpoint);
+	}
+
+	private Worklist synthesis(A aut, boolean resumable) {
+		if (aut==null)
+			throw new IllegalArgumentException();
+
+		return synthesis(aut.getTransitionView(), aut.getInitial(), resumable);
+	}
+
+	private Worklist synthesis(Set<T> trbackup, S init, boolean resumable) {
+		//the indexes of the transitions are notified by the compact automaton, rather than looked up
+		List<T> transitions = new ArrayList<>(Collections.nCopies(trbackup.size(), null));
+		return synthesis(new CompactAutomaton<>(trbackup, init, (t,i)->transitions.set(i, t)), transitions, resumable);
+	}
+
+	private Worklist synthesis(CompactAutomaton<S1,L1,S,L> aut, TetraFunction<S,L,S,ModalTransition.Modality,T> createTransition, boolean resumable) {
 		if (aut==null)
 			throw new IllegalArgumentException();
 
-		final Set<T> trbackup = aut.getTransition();
-		final Set<S> statesbackup= aut.getStates();
-		final S init = aut.getInitial();
-		Pair seed = new Pair(aut.getTransition(), new HashSet<>(getDanglingStates(aut.getTransition(), statesbackup,init)));
-
-		Pair fixpoint = Stream.iterate(seed, pair-> {
-					Pair pre = new Pair(new HashSet<>(pair.tr),new HashSet<>(pair.s));
-
-					//next function embedded into hasnext
-					pair.tr.removeAll(pre.tr.parallelStream()
-							.filter(x->pruningPred.test(x,pre.tr, pre.s))
-							.collect(Collectors.toSet()));//Ki
-
-					pair.s.addAll(trbackup.parallelStream()
-							.filter(x->forbiddenPred.test(x,pre.tr, pre.s))
-							.map(Transition::getSource)
-							.collect(Collectors.toSet())); //Ri
-
-					//dangling states are computed only when no further updates are possible on pair.tr and pair.s
-					return (pre.tr.size()!=pair.tr.size()
-							|| pre.s.size() != pair.s.size())
-								|| pair.s.addAll(getDanglingStates(pair.tr, statesbackup,init));//hasnext
-				},p->p)
-				.reduce((first,second)->new Pair(second.tr,second.s))
-				.orElse(seed);
-
-		if (fixpoint.s.contains(init)
-				||fixpoint.tr.isEmpty())
+		return synthesis(aut, IntStream.range(0, aut.getNumTransitions())
+				.mapToObj(i->aut.getTransition(i, createTransition))
+				.collect(Collectors.toList()), resumable);
+	}
+
+	/**
+	 * the synthesis of the automaton with the given compact form, where transitions.get(i) is the transition with index i
+	 */
+	private Worklist synthesis(CompactAutomaton<S1,L1,S,L> graph, List<T> transitions, boolean resumable) {
+		this.fixpoint=null;
+		this.graph = graph;
+		this.reachable=null;
+		this.successful=null;
+		this.queue = new int[graph.getNumStates()];
+		this.alive = new BitSet(graph.getNumTransitions());
+		this.alive.set(0, graph.getNumTransitions());
+		this.removedSinceLastCall = new BitSet(graph.getNumTransitions());
+
+		Worklist w = new Worklist(transitions, graph.getState(graph.getInitial()),
+				new HashSet<>(transitions), getDanglingStates(graph.getState(graph.getInitial())));
+		return fixpoint(w, true, resumable);
+	}
+
+	private Worklist resynthesis(Set<T> removed) {
+		Worklist w = this.fixpoint;
+		if (w==null)
+			throw new IllegalStateException("No synthesis to resume");
+		this.fixpoint=null;
+		w.removed.addAll(removed);
+		if (!w.tr.containsAll(removed)) {
+			//a removed transition has been pruned, and may have made its source bad: the synthesis restarts
+			Set<T> trbackup = ExecutionContext.stream(w.transitions)
+					.filter(t->!w.removed.contains(t))
+					.collect(Collectors.toSet());
+			return synthesis(trbackup, w.init, true);
+		}
+		removed.forEach(w::delete);
+		return fixpoint(w, false, true);
+	}
+
+	/**
+	 * the transitions of the synthesised automaton, i.e., the transitions of the fixpoint with a reachable source
+	 */
+	private Set<T> kept(Worklist w) {
+		return ExecutionContext.parallel(alive.stream())
+				.filter(i->reachable.get(graph.getSource(i)))
+				.mapToObj(w.transitions::get)
+				.collect(Collectors.toSet());
+	}
+
+	private A automaton(Worklist w) {
+		return (w==null)?null:createAut.apply(kept(w));
+	}
+
+	private CompactAutomaton<S1,L1,S,L> compact(Worklist w) {
+		if (w==null)
+			return null;
+		BitSet kept = (BitSet) alive.clone();
+		for (int i = kept.nextSetBit(0); i>=0; i = kept.nextSetBit(i+1))
+			if (!reachable.get(graph.getSource(i)))
+				kept.clear(i);
+		return graph.restrict(kept);
+	}
+
+	/**
+	 * computes the fixpoint, if all is true the first pass evaluates also the local predicates on all transitions,
+	 * returns null if the synthesised automaton is empty
+	 */
+	private Worklist fixpoint(Worklist w, boolean all, boolean resumable) {
+		int iteration = 0;
+		try {
+			while (true) {
+				step = ++steps;
+
+				//a full pass catches the updates not local to the processed transitions and states
+				boolean updated = w.fullPass(all);
+				all = false;
+				w.propagate();
+
+				//dangling states are computed only when no further updates are possible on the transitions and bad states
+				if (!updated) {
+					List<S> dangling = getDanglingStates(w.init).stream()
+							.filter(x->!w.bad.contains(x))
+							.collect(Collectors.toList());
+					dangling.forEach(w::addBad);
+					w.propagate();
+					updated = !dangling.isEmpty();
+				}
+
+				if (progressListener!=null)
+					progressListener.accept(new SynthesisProgress(++iteration, w.bad.size(), w.tr.size()));
+				if (!updated)
+					break;
+			}
+		} finally {
+			step = 0;
+		}
+
+		if (w.bad.contains(w.init)
+				||w.tr.isEmpty())
 			return null;
 
-		//remove dangling transitions
-		fixpoint.tr.removeAll(fixpoint.tr.parallelStream()
-				.filter(x->!reachable.get(x.getSource()))
-				.collect(Collectors.toSet()));
+		if (resumable)
+			this.fixpoint=w;
 
-		return createAut.apply(fixpoint.tr);
+		return w;
 	}
 
 	/**
-	 * @return	states who do not reach a final state or are unreachable
+	 * The worklist of the fixpoint computation of the synthesis. <br>
+	 * The pruned transitions and bad states are computed by propagating each update locally instead of evaluating the
+	 * predicates on all transitions at each step: a pruned transition is checked to be forbidden, and the incoming
+	 * transitions of a bad state (indexed by the compact automaton) are checked to be pruned. Only the non-local
+	 * predicates may depend on non-adjacent transitions and states, hence the propagation is interleaved with full passes
+	 * evaluating the non-local predicates, until a full pass finds no update: the pruning predicate is evaluated on all
+	 * transitions, and the forbidden predicate on the pruned transitions whose source is not bad.
+	 * The predicates are monotone, thus the fixpoint does not depend on the order in which the updates are processed. <br>
 	 */
-	private Set<S> getDanglingStates(Set<T> tr, Set<S> states, S initial)
-	{
-		//if the number of transitions has not changed since the last call then there is no need to update the info on the states
-		if (lastCallDanglingStates!=tr.size()) {
-			lastCallDanglingStates=tr.size();
-			//all states' flags are reset
-			this.reachable = states.parallelStream()
-					.collect(Collectors.toMap(x -> x, x -> false));
-			this.successful = states.parallelStream()
-					.collect(Collectors.toMap(x -> x, x -> false));
+	private final class Worklist {
+		final List<T> transitions;//all transitions, indexed by the ids of the compact automaton
+		final S init;
+		final Set<T> removed = new HashSet<>();//the transitions removed from the automaton when resuming
+		final Set<T> tr;
+		final Set<S> bad;
+		final BitSet pruned = new BitSet();//the ids of the transitions pruned by the synthesis
+		final Deque<Integer> removedTransitions = new ArrayDeque<>();
+		final Deque<S> badStates = new ArrayDeque<>();
+
+		Worklist(List<T> transitions, S init, Set<T> tr, Set<S> bad) {
+			this.transitions = transitions;
+			this.init = init;
+			this.tr = tr;
+			this.bad = bad;
+			this.badStates.addAll(bad);
+		}
+
+		/**
+		 * evaluates the non-local predicates (all predicates if all is true), returns true if some transition is pruned
+		 * or some state is bad
+		 */
+		boolean fullPass(boolean all) {
+			//the alive transitions are those in tr
+			int[] prunedNow = (localPruning && !all)?new int[0]:ExecutionContext.parallel(alive.stream())
+					.filter(i->pruningPred.test(transitions.get(i),tr, bad))
+					.toArray();//Ki
+
+			//only pruned transitions are forbidden, and a transition whose source is already bad cannot add a bad state
+			Set<S> forbidden = (localForbidden && !all)?Collections.emptySet():ExecutionContext.parallel(pruned.stream()
+					.mapToObj(transitions::get))
+					.filter(x->!bad.contains(x.getSource()) && forbiddenPred.test(x,tr, bad))
+					.map(Transition::getSource)
+					.collect(Collectors.toSet()); //Ri
+
+			for (int id : prunedNow)
+				remove(id);
+			forbidden.forEach(this::addBad);
+			return prunedNow.length>0 || !forbidden.isEmpty();
+		}
+
+		void remove(int id) {
+			if (delete(id)) {
+				pruned.set(id);
+				removedTransitions.add(id);
+			}
+		}
+
+		/**
+		 * removes the transition from the automaton without pruning it
+		 */
+		void delete(T t) {
+			int id = graph.getTransitionId(t);
+			if (id!=-1)
+				delete(id);
+		}
+
+		/**
+		 * removes the transition with the given id from the automaton without pruning it, returns false if it was already removed
+		 */
+		boolean delete(int id) {
+			if (!alive.get(id))
+				return false;
+			alive.clear(id);
+			tr.remove(transitions.get(id));
+			removedSinceLastCall.set(id);
+			return true;
+		}
 
+		void addBad(S s) {
+			if (bad.add(s))
+				badStates.add(s);
+		}
+
+		/**
+		 * propagates the updates until no update is left to process
+		 */
+		void propagate() {
+			while (!removedTransitions.isEmpty() || !badStates.isEmpty()) {
+				if (!removedTransitions.isEmpty()) {
+					T t = transitions.get(removedTransitions.poll());
+					if (!bad.contains(t.getSource()) && forbiddenPred.test(t, tr, bad))
+						addBad(t.getSource());
+				}
+				else {
+					int s = graph.getStateId(badStates.poll());
+					if (s==-1)
+						continue;
+					for (int i=graph.backwardStart(s); i<graph.backwardEnd(s); i++) {//incoming transitions
+						int id = graph.getBackwardTransition(i);
+						if (alive.get(id) && pruningPred.test(transitions.get(id), tr, bad))
+							remove(id);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The first call after the compact automaton has been built visits the whole automaton, and returns all
+	 * its states that do not reach a final state or are unreachable. <br>
+	 * The following calls only visit again the states affected by the transitions removed since the last call
+	 * (recorded when they are removed), and return the states that were neither unreachable nor not reaching a final
+	 * state at the last call, and now are.
+	 * @return	the states who do not reach a final state or are unreachable, that were not returned by a previous call
+	 */
+	private Set<S> getDanglingStates(S initial)
+	{
+		if (reachable==null) {
 			//set reachable
-			visit(tr, initial, true); //forward
+			this.reachable = visit(IntStream.of(graph.getStateId(initial)), true); //forward
 
-			//set successful
-			states.forEach(x -> {
-				if (x.isFinalState() && Boolean.TRUE.equals(this.reachable.get(x)))
-					visit(tr, x, false); //backward
-			});
+			//set successful, a reachable state reaches a final state only if the final state is reachable
+			this.successful = visit(IntStream.range(0, graph.getNumStates()).filter(graph::isFinalState), false); //backward
+			removedSinceLastCall.clear();
+
+			return ExecutionContext.parallel(IntStream.range(0, graph.getNumStates()))
+					.filter(id->!(reachable.get(id)&&successful.get(id)))
+					.mapToObj(graph::getState)
+					.collect(Collectors.toSet());
 		}
 
-		return states.parallelStream()
-				.filter(x->!(reachable.get(x)&&this.successful.get(x)))
+		if (removedSinceLastCall.isEmpty())
+			return Collections.emptySet();
+
+		//transitions are only removed by the synthesis, only the affected states are visited again
+		int init = graph.getStateId(initial);
+		BitSet unreached = revisit(reachable, removedSinceLastCall, s->s==init, true);
+		BitSet unsuccessful = revisit(successful, removedSinceLastCall, graph::isFinalState, false);
+		removedSinceLastCall.clear();
+
+		BitSet flipped = (BitSet) unreached.clone();
+		flipped.or(unsuccessful);
+		return flipped.stream()
+				.filter(s->(reachable.get(s) || unreached.get(s)) && (successful.get(s) || unsuccessful.get(s)))
+				.mapToObj(graph::getState)
 				.collect(Collectors.toSet());
 	}
 
-	private void visit(Set<T> tr, S start, boolean forward)
+	/**
+	 * breadth-first visit of the compact automaton, only alive transitions are traversed
+	 * @return the indexes of the visited states
+	 */
+	private BitSet visit(IntStream start, boolean forward)
 	{
-		Map<S,Boolean> map = forward?reachable:successful;
-		Function<T,S> current = forward?T::getSource:T::getTarget;
-		Function<T,S> next = forward?T::getTarget:T::getSource;
-
-		map.put(start, true);
-		Queue<S> toVisit = new LinkedList<>(List.of(start));
-		while(!toVisit.isEmpty()) {
-			S currentstate = toVisit.remove();
-			Map<S, Boolean> toAdd = tr.parallelStream()
-					.filter(x -> current.apply(x).equals(currentstate) &&
-							Boolean.FALSE.equals(map.get(next.apply(x))))
-					.map(next)
-					.distinct()
-					.collect(Collectors.toMap(x -> x, x -> true));
-			map.putAll(toAdd);
-			toVisit.addAll(toAdd.keySet());
+		BitSet visited = new BitSet(graph.getNumStates());
+		int tail=0;
+		for (int s : start.toArray()) {
+			visited.set(s);
+			queue[tail++]=s;
+		}
+		visit(visited, null, tail, forward);
+		return visited;
+	}
+
+	/**
+	 * decremental update of the states visited by a previous visit, after the transitions in removed have been
+	 * removed: the states visited through a removed transition are unvisited, and those still reachable from a start
+	 * state or from a visited state are visited again
+	 * @return the states no longer visited
+	 */
+	private BitSet revisit(BitSet visited, BitSet removed, IntPredicate start, boolean forward)
+	{
+		int tail=0;
+
+		//the states possibly no longer visited
+		BitSet affected = new BitSet(graph.getNumStates());
+		for (int t = removed.nextSetBit(0); t>=0; t = removed.nextSetBit(t+1)) {
+			int from = forward?graph.getSource(t):graph.getTarget(t);
+			int next = forward?graph.getTarget(t):graph.getSource(t);
+			if (visited.get(from) && visited.get(next) && !affected.get(next)) {
+				affected.set(next);
+				queue[tail++]=next;
+			}
+		}
+		visit(affected, visited, tail, forward);
+		visited.andNot(affected);
+
+		//the affected states still visited
+		tail=0;
+		for (int s = affected.nextSetBit(0); s>=0; s = affected.nextSetBit(s+1)) {
+			boolean reached = start.test(s);
+			int end = forward?graph.backwardEnd(s):graph.forwardEnd(s);
+			for (int i = forward?graph.backwardStart(s):graph.forwardStart(s); !reached && i<end; i++) {
+				int t = forward?graph.getBackwardTransition(i):i;
+				reached = alive.get(t) && visited.get(forward?graph.getSource(t):graph.getTarget(t));
+			}
+			if (reached) {
+				visited.set(s);
+				queue[tail++]=s;
+			}
+		}
+		visit(visited, affected, tail, forward);
+		affected.andNot(visited);
+		return affected;
+	}
+
+	/**
+	 * breadth-first visit from the states in queue[0..tail), only alive transitions are traversed and only states
+	 * in within (if non-null) are visited
+	 */
+	private void visit(BitSet visited, BitSet within, int tail, boolean forward)
+	{
+		int head=0;
+		while(head<tail) {
+			int current = queue[head++];
+			int end = forward?graph.forwardEnd(current):graph.backwardEnd(current);
+			for (int i = forward?graph.forwardStart(current):graph.backwardStart(current); i<end; i++) {
+				int t = forward?i:graph.getBackwardTransition(i);
+				int next = forward?graph.getTarget(t):graph.getSource(t);
+				if (alive.get(t) && !visited.get(next) && (within==null || within.get(next))) {
+					visited.set(next);
+					queue[tail++]=next;
+				}
+			}
 		}
 	}
-}
\ No newline at end of file
+}
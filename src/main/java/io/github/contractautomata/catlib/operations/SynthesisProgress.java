@@ -0,0 +1,53 @@
+package io.github.contractautomata.catlib.operations;
+
+/**
+ * Class implementing the statistics of a step of the fixpoint computation of a synthesis, notified to the progress
+ * listener of a <code>SynthesisOperator</code>. <br>
+ *
+ * @author Davide Basile
+ */
+public final class SynthesisProgress {
+
+	private final int iteration;
+	private final int badStates;
+	private final int transitions;
+
+	SynthesisProgress(int iteration, int badStates, int transitions) {
+		this.iteration = iteration;
+		this.badStates = badStates;
+		this.transitions = transitions;
+	}
+
+	/**
+	 * Returns the number of steps of the fixpoint computed so far, starting from 1.
+	 * @return the number of steps of the fixpoint computed so far
+	 */
+	public int getIteration() {
+		return iteration;
+	}
+
+	/**
+	 * Returns the number of bad states computed so far.
+	 * @return the number of bad states computed so far
+	 */
+	public int getBadStates() {
+		return badStates;
+	}
+
+	/**
+	 * Returns the number of transitions not yet pruned.
+	 * @return the number of transitions not yet pruned
+	 */
+	public int getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Print a String representing this object
+	 * @return a String representing this object
+	 */
+	@Override
+	public String toString() {
+		return "iteration="+iteration+", bad states="+badStates+", transitions="+transitions;
+	}
+}
@@ -42,7 +42,7 @@ public class UnionFunction implements Function<List<Automaton<String, Action,Sta
 		if (aut==null||aut.isEmpty())
 			throw new IllegalArgumentException();
 
-		if (aut.parallelStream()
+		if (ExecutionContext.stream(aut)
 				.anyMatch(Objects::isNull))
 			throw new IllegalArgumentException();
 
@@ -52,7 +52,7 @@ public class UnionFunction implements Function<List<Automaton<String, Action,Sta
 				.anyMatch(x->x!=rank))
 			throw new IllegalArgumentException("Automata with different ranks!");
 
-		if (aut.parallelStream()
+		if (ExecutionContext.stream(aut)
 				.map(Automaton::getStates)
 				.flatMap(Set::stream)
 				.map(State::getState)
@@ -62,7 +62,7 @@ public class UnionFunction implements Function<List<Automaton<String, Action,Sta
 			throw new IllegalArgumentException("Illegal label containing _ in some basic state");
 
 		Set<ModalTransition<String,Action,State<String>,CALabel>> uniontr= new HashSet<>(aut.stream()
-				.map(x->x.getTransition().size())
+				.map(x->x.getTransitionView().size())
 				.reduce(Integer::sum)
 				.orElse(0)+aut.size());  //Initialized to the total number of transitions
 
@@ -89,7 +89,7 @@ public class UnionFunction implements Function<List<Automaton<String, Action,Sta
 		uniontr.addAll(IntStream.range(0, relabeled.size())
 				.mapToObj(i->new ModalTransition<>(
 						newInitial,new CALabel(rank, 0, new OfferAction("dummy")),
-						relabeled.get(i).parallelStream()
+						ExecutionContext.stream(relabeled.get(i))
 								.flatMap(t->Stream.of(t.getSource(),t.getTarget()))
 								.filter(s->IntStream.range(0, s.getRank())
 										.allMatch(j->s.getState().get(j).getState().split("_")[1].equals(initialStates.get(i).getState().get(j).getState())))
@@ -15,6 +15,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,9 @@ import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.Strict.class)
@@ -161,16 +165,68 @@ public class AutomatonTest {
 		prop = new Automaton<>(Set.of(t1mock,t2mock,t3mock));
 		assertEquals(Set.of(t1mock,t2mock), prop.getForwardStar(cs0mock));
 	}
+
+	@Test
+	public void testGetForwardStarNoOutgoingTransitions() {
+		assertEquals(Collections.emptySet(), prop.getForwardStar(cs1mock));
+	}
+
+	@Test
+	public void testGetBackwardStar() {
+		prop = new Automaton<>(Set.of(t1mock,t2mock,t3mock));
+		assertEquals(Set.of(t2mock,t3mock), prop.getBackwardStar(cs2mock));
+	}
+
+	@Test
+	public void testGetBackwardStarNoIncomingTransitions() {
+		assertEquals(Collections.emptySet(), prop.getBackwardStar(cs0mock));
+	}
 	
 	@Test
 	public void testGetTransitions() {
 		assertEquals(Set.of(t1mock,t2mock), prop.getTransition());
 	}
+
+	@Test
+	public void testGetTransitionView() {
+		assertEquals(Set.of(t1mock,t2mock), prop.getTransitionView());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetTransitionViewUnmodifiable() {
+		prop.getTransitionView().remove(t1mock);
+	}
+
+	@Test
+	public void testGetTransitionStream() {
+		assertEquals(Set.of(t1mock,t2mock), prop.getTransitionStream().collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void testGetTransitionIsCopy() {
+		prop.getTransition().remove(t1mock);
+		assertEquals(Set.of(t1mock,t2mock), prop.getTransitionView());
+	}
 	
 	@Test
 	public void testGetNumStates() {
 		assertEquals(3,prop.getNumStates());
 	}
+
+	@Test
+	public void testGetStates() {
+		assertEquals(Set.of(cs0mock,cs1mock,cs2mock),prop.getStates());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetStatesUnmodifiable() {
+		prop.getStates().remove(cs0mock);
+	}
+
+	@Test
+	public void testGetInitial() {
+		assertEquals(cs0mock,prop.getInitial());
+	}
 	
 	//************************************exceptions*********************************************
 
@@ -239,6 +295,11 @@ public class AutomatonTest {
 	public void testGetBasicStates() {
 		assertEquals(map, aut.getBasicStates());
 	}
+
+	@Test
+	public void testGetBasicStatesComputedOnce() {
+		Assert.assertSame(aut.getBasicStates(), aut.getBasicStates());
+	}
 	
 
 	@Test
@@ -267,6 +328,36 @@ public class AutomatonTest {
 				() -> new Automaton<>(st));
 	}
 
+	@Test
+	public void testTrusted() {
+		assertEquals(st, Automaton.trusted(st).getTransition());
+	}
+
+	@Test
+	public void testTrustedAmbiguousStatesNotChecked()
+	{
+		clearInvocations(cs1);
+		assertEquals(3, Automaton.trusted(st).getNumStates());
+		verify(cs1, never()).getState();
+	}
+
+	@Test
+	public void testTrustedNoFinalStates_exception()
+	{
+		when(cs3.isFinalState()).thenReturn(false);
+		Assert.assertThrows("No Final States!",
+				IllegalArgumentException.class,
+				() -> Automaton.trusted(st));
+	}
+
+	@Test
+	public void testTrustedEmptyTransitions_exception()
+	{
+		Assert.assertThrows("No transitions",
+				IllegalArgumentException.class,
+				() -> Automaton.trusted(new HashSet<>()));
+	}
+
 
 	public static boolean autEquals(Automaton<?,?,?,?> aut, Automaton<?,?,?,?>  test) {
 		Set<String> autTr=aut.getTransition().parallelStream()
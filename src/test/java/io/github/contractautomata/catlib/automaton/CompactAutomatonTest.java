@@ -0,0 +1,180 @@
+package io.github.contractautomata.catlib.automaton;
+
+import io.github.contractautomata.catlib.automaton.label.CALabel;
+import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.label.action.OfferAction;
+import io.github.contractautomata.catlib.automaton.label.action.RequestAction;
+import io.github.contractautomata.catlib.automaton.state.BasicState;
+import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class CompactAutomatonTest {
+
+	State<String> cs0;
+	State<String> cs1;
+	State<String> cs2;
+	CALabel lab1;
+	CALabel lab2;
+	ModalTransition<String,Action,State<String>,CALabel> t1;
+	ModalTransition<String,Action,State<String>,CALabel> t2;
+	ModalTransition<String,Action,State<String>,CALabel> t3;
+	Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut;
+	CompactAutomaton<String,Action,State<String>,CALabel> compact;
+
+	@Before
+	public void setup() {
+		cs0 = new State<>(List.of(new BasicState<>("0",true,false,false)));
+		cs1 = new State<>(List.of(new BasicState<>("1",false,false,false)));
+		cs2 = new State<>(List.of(new BasicState<>("2",false,true,false)));
+		lab1 = new CALabel(1,0,new OfferAction("a"));
+		lab2 = new CALabel(1,0,new RequestAction("b"));
+		t1 = new ModalTransition<>(cs0,lab1,cs1, ModalTransition.Modality.PERMITTED);
+		t2 = new ModalTransition<>(cs0,lab2,cs2, ModalTransition.Modality.URGENT);
+		t3 = new ModalTransition<>(cs1,lab1,cs2, ModalTransition.Modality.LAZY);
+		aut = new Automaton<>(Set.of(t1,t2,t3));
+		compact = new CompactAutomaton<>(aut);
+	}
+
+	@Test
+	public void testSizes() {
+		assertEquals(3, compact.getNumStates());
+		assertEquals(3, compact.getNumTransitions());
+		assertEquals(2, compact.getNumLabels());
+		assertEquals(1, compact.getRank().intValue());
+	}
+
+	@Test
+	public void testInitialAndFinal() {
+		assertEquals(cs0, compact.getState(compact.getInitial()));
+		assertTrue(compact.isFinalState(compact.getStateId(cs2)));
+		assertFalse(compact.isFinalState(compact.getStateId(cs1)));
+	}
+
+	@Test
+	public void testGetStateIdNotPresent() {
+		assertEquals(-1, compact.getStateId(new State<>(List.of(new BasicState<>("3",false,false,false)))));
+	}
+
+	@Test
+	public void testForwardStar() {
+		int s = compact.getStateId(cs0);
+		Set<ModalTransition<String,Action,State<String>,CALabel>> star = IntStream.range(compact.forwardStart(s), compact.forwardEnd(s))
+				.mapToObj(t->new ModalTransition<>(compact.getState(compact.getSource(t)), compact.getLabel(compact.getLabelId(t)),
+						compact.getState(compact.getTarget(t)), compact.getModality(t)))
+				.collect(Collectors.toSet());
+		assertEquals(Set.of(t1,t2), star);
+	}
+
+	@Test
+	public void testForwardStarEmpty() {
+		int s = compact.getStateId(cs2);
+		assertEquals(compact.forwardStart(s), compact.forwardEnd(s));
+	}
+
+	@Test
+	public void testBackwardStar() {
+		int s = compact.getStateId(cs2);
+		Set<Integer> sources = IntStream.range(compact.backwardStart(s), compact.backwardEnd(s))
+				.map(i->compact.getSource(compact.getBackwardTransition(i)))
+				.boxed()
+				.collect(Collectors.toSet());
+		assertEquals(Set.of(compact.getStateId(cs0), compact.getStateId(cs1)), sources);
+	}
+
+	@Test
+	public void testGetTransitionId() {
+		int t = compact.getTransitionId(t3);
+		assertEquals(cs1, compact.getState(compact.getSource(t)));
+		assertEquals(cs2, compact.getState(compact.getTarget(t)));
+		assertEquals(lab1, compact.getLabel(compact.getLabelId(t)));
+		assertEquals(ModalTransition.Modality.LAZY, compact.getModality(t));
+	}
+
+	@Test
+	public void testGetTransitionIdDifferentModality() {
+		assertEquals(-1, compact.getTransitionId(new ModalTransition<>(cs1,lab1,cs2, ModalTransition.Modality.URGENT)));
+	}
+
+	@Test
+	public void testGetTransitionIdNotPresent() {
+		State<String> cs3 = new State<>(List.of(new BasicState<>("3",false,false,false)));
+		assertEquals(-1, compact.getTransitionId(new ModalTransition<>(cs3,lab1,cs2, ModalTransition.Modality.LAZY)));
+	}
+
+	@Test
+	public void testToAutomaton() {
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> conv =
+				compact.toAutomaton(ModalTransition::new, Automaton::new);
+		assertEquals(aut.getTransition(), conv.getTransition());
+		assertEquals(aut.getInitial(), conv.getInitial());
+	}
+
+	@Test
+	public void testEmptyTransitions() {
+		CompactAutomaton<String,Action,State<String>,CALabel> empty = new CompactAutomaton<>(Set.of(), cs0);
+		assertEquals(1, empty.getNumStates());
+		assertEquals(0, empty.getNumTransitions());
+		assertEquals(0, empty.getRank().intValue());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testConstructorNullInitial() {
+		new CompactAutomaton<>(aut.getTransition(), null);
+	}
+
+	@Test
+	public void testGetTransition() {
+		Set<ModalTransition<String,Action,State<String>,CALabel>> tr = IntStream.range(0, compact.getNumTransitions())
+				.mapToObj(t->compact.getTransition(t, ModalTransition::new))
+				.collect(Collectors.toSet());
+		assertEquals(aut.getTransition(), tr);
+	}
+
+	@Test
+	public void testIndexedConstructor() {
+		List<ModalTransition<String,Action,State<String>,CALabel>> indexed = new ArrayList<>(Collections.nCopies(3, null));
+		CompactAutomaton<String,Action,State<String>,CALabel> ca = new CompactAutomaton<>(aut.getTransition(), cs0, (t,i)->indexed.set(i,t));
+		IntStream.range(0, 3)
+				.forEach(i->assertEquals(i, ca.getTransitionId(indexed.get(i))));
+	}
+
+	@Test
+	public void testRestrict() {
+		BitSet kept = new BitSet();
+		kept.set(compact.getTransitionId(t1));
+		kept.set(compact.getTransitionId(t3));
+		CompactAutomaton<String,Action,State<String>,CALabel> restricted = compact.restrict(kept);
+		assertEquals(3, restricted.getNumStates());
+		assertEquals(2, restricted.getNumTransitions());
+		assertEquals(1, restricted.getNumLabels());
+		assertEquals(cs0, restricted.getState(restricted.getInitial()));
+		assertEquals(Set.of(t1,t3), restricted.toAutomaton(ModalTransition::new, Automaton::new).getTransition());
+	}
+
+	@Test
+	public void testRestrictEmpty() {
+		CompactAutomaton<String,Action,State<String>,CALabel> restricted = compact.restrict(new BitSet());
+		assertEquals(1, restricted.getNumStates());
+		assertEquals(0, restricted.getNumTransitions());
+		assertEquals(cs0, restricted.getState(restricted.getInitial()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRestrictException() {
+		BitSet kept = new BitSet();
+		kept.set(compact.getNumTransitions());
+		compact.restrict(kept);
+	}
+}
@@ -0,0 +1,130 @@
+package io.github.contractautomata.catlib.automaton;
+
+import io.github.contractautomata.catlib.automaton.label.CALabel;
+import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.label.action.OfferAction;
+import io.github.contractautomata.catlib.automaton.label.action.RequestAction;
+import io.github.contractautomata.catlib.automaton.state.BasicState;
+import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TransitionStoreTest {
+
+	State<String> cs0;
+	State<String> cs1;
+	State<String> cs2;
+	CALabel lab1;
+	CALabel lab2;
+	ModalTransition<String,Action,State<String>,CALabel> t1;
+	ModalTransition<String,Action,State<String>,CALabel> t2;
+	ModalTransition<String,Action,State<String>,CALabel> t3;
+	TransitionStore<String,Action,State<String>,CALabel> store;
+
+	@Before
+	public void setup() {
+		cs0 = new State<>(List.of(new BasicState<>("0",true,false,false)));
+		cs1 = new State<>(List.of(new BasicState<>("1",false,false,false)));
+		cs2 = new State<>(List.of(new BasicState<>("2",false,true,false)));
+		lab1 = new CALabel(1,0,new OfferAction("a"));
+		lab2 = new CALabel(1,0,new RequestAction("b"));
+		t1 = new ModalTransition<>(cs0,lab1,cs1, ModalTransition.Modality.PERMITTED);
+		t2 = new ModalTransition<>(cs0,lab2,cs2, ModalTransition.Modality.URGENT);
+		t3 = new ModalTransition<>(cs1,lab1,cs2, ModalTransition.Modality.LAZY);
+		store = new TransitionStore<>();
+		store.add(t1);
+		store.add(t2);
+		store.add(t3);
+	}
+
+	@Test
+	public void testSizes() {
+		assertEquals(3, store.size());
+		assertEquals(3, store.getNumStates());
+		assertEquals(2, store.getNumLabels());
+		assertEquals(1, store.getRank().intValue());
+	}
+
+	@Test
+	public void testRecord() {
+		assertSame(cs1, store.getState(store.getSource(2)));
+		assertSame(cs2, store.getState(store.getTarget(2)));
+		assertEquals(lab1, store.getLabel(store.getLabelId(2)));
+		assertEquals(ModalTransition.Modality.LAZY, store.getModality(2));
+	}
+
+	@Test
+	public void testGetStateIdNotPresent() {
+		assertEquals(-1, store.getStateId(new State<>(List.of(new BasicState<>("3",false,false,false)))));
+	}
+
+	@Test
+	public void testHasFinalState() {
+		assertTrue(store.hasFinalState());
+		assertFalse(new TransitionStore<String,Action,State<String>,CALabel>().hasFinalState());
+	}
+
+	@Test
+	public void testToAutomaton() {
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut =
+				store.toAutomaton(ModalTransition::new, Automaton::new);
+		assertEquals(Set.of(t1,t2,t3), aut.getTransition());
+	}
+
+	@Test
+	public void testManyChunks() {
+		TransitionStore<String,Action,State<String>,CALabel> large = new TransitionStore<>();
+		int n = 200000;
+		for (int i=0; i<n; i++)
+			large.add(cs0, (i%2==0)?lab1:lab2, cs1, ModalTransition.Modality.values()[i%3]);
+		assertEquals(n, large.size());
+		assertEquals(2, large.getNumStates());
+		assertEquals(lab2, large.getLabel(large.getLabelId(n-1)));
+		assertEquals(ModalTransition.Modality.values()[(n-1)%3], large.getModality(n-1));
+	}
+
+	@Test
+	public void testCompactAutomaton() {
+		CompactAutomaton<String,Action,State<String>,CALabel> compact = new CompactAutomaton<>(store, cs0);
+		assertEquals(3, compact.getNumTransitions());
+		assertEquals(cs0, compact.getState(compact.getInitial()));
+		assertEquals(2, compact.forwardEnd(compact.getStateId(cs0))-compact.forwardStart(compact.getStateId(cs0)));
+		assertTrue(compact.isFinalState(compact.getStateId(cs2)));
+		assertNotEquals(-1, compact.getTransitionId(t3));
+	}
+
+	@Test
+	public void testCompactAutomatonEmpty() {
+		CompactAutomaton<String,Action,State<String>,CALabel> compact = new CompactAutomaton<>(new TransitionStore<>(), cs0);
+		assertEquals(1, compact.getNumStates());
+		assertEquals(0, compact.getNumTransitions());
+	}
+
+	@Test
+	public void testCompactAutomatonExceptionInitial() {
+		State<String> cs3 = new State<>(List.of(new BasicState<>("3",true,false,false)));
+		assertThrows(IllegalArgumentException.class, () -> new CompactAutomaton<>(store, cs3));
+	}
+
+	@Test
+	public void testAddExceptionRank() {
+		CALabel lab = new CALabel(2,0,new OfferAction("a"));
+		assertThrows(IllegalArgumentException.class, () -> store.add(cs0, lab, cs1, ModalTransition.Modality.PERMITTED));
+	}
+
+	@Test
+	public void testGetSourceExceptionIndex() {
+		assertThrows(IndexOutOfBoundsException.class, () -> store.getSource(3));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testAddExceptionNull() {
+		store.add(null, lab1, cs1, ModalTransition.Modality.PERMITTED);
+	}
+}
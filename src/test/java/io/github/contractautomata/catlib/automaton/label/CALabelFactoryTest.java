@@ -0,0 +1,66 @@
+package io.github.contractautomata.catlib.automaton.label;
+
+import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.label.action.IdleAction;
+import io.github.contractautomata.catlib.automaton.label.action.OfferAction;
+import io.github.contractautomata.catlib.automaton.label.action.RequestAction;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CALabelFactoryTest {
+
+	CALabelFactory factory;
+	OfferAction oa;
+	RequestAction ra;
+
+	@Before
+	public void setup() {
+		factory = new CALabelFactory();
+		oa = new OfferAction("a");
+		ra = new RequestAction("a");
+	}
+
+	@Test
+	public void testCreateLabelSameObject() {
+		CALabel lab = factory.createLabel(List.of(IdleAction.INSTANCE, oa, ra));
+		assertSame(lab, factory.createLabel(List.of(new IdleAction(), new OfferAction("a"), new RequestAction("a"))));
+		assertEquals(1, factory.getNumLabels());
+	}
+
+	@Test
+	public void testCreateLabelDifferentContent() {
+		assertNotSame(factory.createLabel(List.of(IdleAction.INSTANCE, oa)), factory.createLabel(List.of(oa, IdleAction.INSTANCE)));
+		assertEquals(2, factory.getNumLabels());
+	}
+
+	@Test
+	public void testCreateLabelRank() {
+		assertSame(factory.createLabel(List.of(IdleAction.INSTANCE, oa)), factory.createLabel(2, 1, oa));
+	}
+
+	@Test
+	public void testCreateLabelArgumentNotStored() {
+		List<Action> content = new ArrayList<>(List.of(IdleAction.INSTANCE, oa));
+		CALabel lab = factory.createLabel(content);
+		content.set(1, ra);
+		assertSame(lab, factory.createLabel(List.of(IdleAction.INSTANCE, oa)));
+	}
+
+	@Test
+	public void testCreateLabelException_null() {
+		Assert.assertThrows(IllegalArgumentException.class, () -> factory.createLabel(null));
+	}
+
+	@Test
+	public void testCreateLabelException_notWellFormed() {
+		List<Action> content = List.of(IdleAction.INSTANCE, IdleAction.INSTANCE);
+		Assert.assertThrows(IllegalArgumentException.class, () -> factory.createLabel(content));
+		assertEquals(0, factory.getNumLabels());
+	}
+}
@@ -129,6 +129,22 @@ public class CALabelTest {
 		assertTrue(request.getAction() instanceof RequestAction);
 	}
 	
+	@Test
+	public void testGetActionTau() {
+		TauAction ta = new TauAction("test");
+		assertSame(ta, new CALabel(List.of(ia, ta, ia)).getAction());
+	}
+
+	@Test
+	public void testIsTau() {
+		assertTrue(new CALabel(List.of(ia, new TauAction("test"))).isTau());
+	}
+
+	@Test
+	public void testConstructor1SharedIdle() {
+		assertSame(IdleAction.INSTANCE, new CALabel(3,1,oa).getContent().get(0));
+	}
+
 	@Test
 	public void testGetActionMatch() {
 		assertTrue(match.getAction() instanceof OfferAction);
@@ -38,6 +38,12 @@ public class LabelTest {
 	public void testGetLabel() {
 		assertEquals(List.of("a"), lab.getContent());
 	}
+
+	@Test
+	public void testGetContentUnmodifiable() {
+		List<String> content = lab.getContent();
+		assertThrows(UnsupportedOperationException.class, () -> content.set(0, "b"));
+	}
 	
 	@Test
 	public void testMatchTrue() {
@@ -0,0 +1,32 @@
+package io.github.contractautomata.catlib.automaton.label.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ActionDictionaryTest {
+
+	@Test
+	public void testGetIdSameName() {
+		assertEquals(ActionDictionary.getId("dictionaryTest"), ActionDictionary.getId(new String("dictionaryTest")));
+	}
+
+	@Test
+	public void testGetIdDifferentName() {
+		assertNotEquals(ActionDictionary.getId("dictionaryTest1"), ActionDictionary.getId("dictionaryTest2"));
+	}
+
+	@Test
+	public void testGetIdDense() {
+		int id = ActionDictionary.getId("dictionaryTestDense");
+		assertTrue(id>=0 && id<ActionDictionary.size());
+	}
+
+	@Test
+	public void testGetIdException() {
+		assertThrows(NullPointerException.class, () -> ActionDictionary.getId(null));
+	}
+}
@@ -45,6 +45,17 @@ public class ActionTest {
 		assertEquals("test",act.getLabel());
 	}
 
+	@Test
+	public void testGetId() {
+		assertEquals(act.getId(), new OfferAction("test").getId());
+		assertEquals(ActionDictionary.getId("test"), act.getId());
+	}
+
+	@Test
+	public void testGetIdDifferent() {
+		assertNotEquals(act.getId(), new Action("different").getId());
+	}
+
 	@Test
 	public void testMatchTrue() {
 		assertTrue(act.match(new Action("test")));
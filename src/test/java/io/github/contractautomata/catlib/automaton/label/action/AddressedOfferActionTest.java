@@ -27,7 +27,7 @@ public class AddressedOfferActionTest {
 	public void setUp() throws Exception {
 		oa = new AddressedOfferAction("test",adr);
 		ra = mock(AddressedRequestAction.class);
-		when(ra.getLabel()).thenReturn("test");
+		when(ra.getId()).thenReturn(ActionDictionary.getId("test"));
 		when(ra.getAddress()).thenReturn(adr);
 		when(adr.match(adr)).thenReturn(true);
 		when(adr.toString()).thenReturn("1_2@");
@@ -70,7 +70,7 @@ public class AddressedOfferActionTest {
 	
 	@Test
 	public void testNotMatchSuper() {
-		when(ra.getLabel()).thenReturn("different");
+		when(ra.getId()).thenReturn(ActionDictionary.getId("different"));
 		assertFalse(oa.match(ra));
 	}
 	
@@ -28,7 +28,7 @@ public class AddressedRequestActionTest {
 	public void setUp() throws Exception {
 		ara = new AddressedRequestAction("test",adr);
 		aoa = mock(AddressedOfferAction.class);
-		when(aoa.getLabel()).thenReturn("test");
+		when(aoa.getId()).thenReturn(ActionDictionary.getId("test"));
 		when(aoa.getAddress()).thenReturn(adr);
 		when(adr.match(adr)).thenReturn(true);
 		when(adr.toString()).thenReturn("1_2@");
@@ -71,7 +71,7 @@ public class AddressedRequestActionTest {
 	
 	@Test
 	public void testNotMatchSuper() {
-		when(aoa.getLabel()).thenReturn("different");
+		when(aoa.getId()).thenReturn(ActionDictionary.getId("different"));
 		assertFalse(ara.match(aoa));
 	}
 	
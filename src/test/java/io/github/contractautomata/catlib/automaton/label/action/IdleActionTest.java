@@ -25,4 +25,9 @@ public class IdleActionTest {
 		assertEquals("-",ia.getLabel());
 	}
 
+	@Test
+	public void testInstance() {
+		assertEquals(ia, IdleAction.INSTANCE);
+	}
+
 }
@@ -24,7 +24,7 @@ public class OfferActionTest {
 	public void setUp() throws Exception {
 		oa = new OfferAction("test");
 		ra = mock(RequestAction.class);
-		when(ra.getLabel()).thenReturn("test");
+		when(ra.getId()).thenReturn(ActionDictionary.getId("test"));
 	}
 
 	@After
@@ -59,7 +59,7 @@ public class OfferActionTest {
 	
 	@Test
 	public void testNotMatchLabel() {
-		when(ra.getLabel()).thenReturn("different");
+		when(ra.getId()).thenReturn(ActionDictionary.getId("different"));
 		assertFalse(oa.match(ra));
 	}
 
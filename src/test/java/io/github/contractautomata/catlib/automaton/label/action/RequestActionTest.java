@@ -24,7 +24,7 @@ public class RequestActionTest {
 	public void setUp() throws Exception {
 		ra = new RequestAction("test");
 		oa = mock(OfferAction.class);
-		when(oa.getLabel()).thenReturn("test");
+		when(oa.getId()).thenReturn(ActionDictionary.getId("test"));
 	}
 
 	@After
@@ -59,7 +59,7 @@ public class RequestActionTest {
 	
 	@Test
 	public void testNotMatchLabel() {
-		when(oa.getLabel()).thenReturn("different");
+		when(oa.getId()).thenReturn(ActionDictionary.getId("different"));
 		assertFalse(ra.match(oa));
 	}
 
@@ -0,0 +1,76 @@
+package io.github.contractautomata.catlib.automaton.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StateFactoryTest {
+	StateFactory<String> factory;
+
+	@Before
+	public void setup() {
+		factory = new StateFactory<>();
+	}
+
+	@Test
+	public void testCreateBasicStateSameObject() {
+		assertSame(factory.createBasicState("0", true, false, false), factory.createBasicState("0", true, false, false));
+	}
+
+	@Test
+	public void testCreateBasicStateDifferentFlags() {
+		assertNotSame(factory.createBasicState("0", true, false, false), factory.createBasicState("0", false, false, false));
+	}
+
+	@Test
+	public void testCreateBasicStateDifferentFactories() {
+		assertNotSame(factory.createBasicState("0", true, false, false), new StateFactory<String>().createBasicState("0", true, false, false));
+	}
+
+	@Test
+	public void testCreateBasicStatePrincipal() {
+		BasicState<String> b0 = factory.createBasicState(0, "0", true, false, false);
+		assertSame(b0, factory.createBasicState(0, "0", true, false, false));
+		assertNotSame(b0, factory.createBasicState(1, "0", true, false, false));
+		assertNotSame(b0, factory.createBasicState("0", true, false, false));
+	}
+
+	@Test
+	public void testCreateBasicStatePrincipalException_null() {
+		Assert.assertThrows(IllegalArgumentException.class, () -> factory.createBasicState(0, null, true, false, false));
+	}
+
+	@Test
+	public void testCreateState() {
+		BasicState<String> b0 = factory.createBasicState("0", true, false, false);
+		BasicState<String> b1 = factory.createBasicState("1", false, true, false);
+		State<String> s = factory.createState(List.of(b0,b1));
+		assertSame(s, factory.createState(List.of(factory.createBasicState("0", true, false, false), b1)));
+		assertEquals(List.of(b0,b1), s.getState());
+		assertEquals(1, factory.getNumStates());
+	}
+
+	@Test
+	public void testCreateStateDifferentOrder() {
+		BasicState<String> b0 = factory.createBasicState("0", true, false, false);
+		BasicState<String> b1 = factory.createBasicState("1", false, true, false);
+		assertNotSame(factory.createState(List.of(b0,b1)), factory.createState(List.of(b1,b0)));
+		assertEquals(2, factory.getNumStates());
+	}
+
+	@Test
+	public void testCreateBasicStateException_null() {
+		Assert.assertThrows(IllegalArgumentException.class, () -> factory.createBasicState(null, true, false, false));
+	}
+
+	@Test
+	public void testCreateBasicStateException_finalCommitted() {
+		Assert.assertThrows(IllegalArgumentException.class, () -> factory.createBasicState("0", false, true, true));
+	}
+}
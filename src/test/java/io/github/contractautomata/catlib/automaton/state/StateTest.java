@@ -81,6 +81,17 @@ public class StateTest {
 		Assert.assertNotSame(list,new State<>(list).getState());
 	}
 
+	@Test
+	public void testGetStateNotCopied() {
+		Assert.assertSame(test.getState(),test.getState());
+	}
+
+	@Test
+	public void testGetStateUnmodifiable() {
+		List<BasicState<String>> list = test.getState();
+		Assert.assertThrows(UnsupportedOperationException.class, () -> list.set(0, bs1));
+	}
+
 	@Test
 	public void toStringFinalTest() {
 		when(bs4.getState()).thenReturn("5");
@@ -0,0 +1,77 @@
+package io.github.contractautomata.catlib.automaton.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StateTupleTest {
+	BasicState<String> b0;
+	BasicState<String> b1;
+	BasicState<String> b0copy;
+	StateTuple<BasicState<String>> tuple;
+
+	@Before
+	public void setup() {
+		b0 = new BasicState<>("0", true, false, false);
+		b1 = new BasicState<>("1", false, true, false);
+		b0copy = new BasicState<>("0", true, false, false);
+		tuple = new StateTuple<>(List.of(b0,b1));
+	}
+
+	@Test
+	public void testGet() {
+		assertSame(b1, tuple.get(1));
+	}
+
+	@Test
+	public void testSize() {
+		assertEquals(2, tuple.size());
+	}
+
+	@Test
+	public void testEquals() {
+		assertEquals(tuple, new StateTuple<>(List.of(b0,b1)));
+		assertEquals(tuple.hashCode(), new StateTuple<>(List.of(b0,b1)).hashCode());
+	}
+
+	@Test
+	public void testNotEqualsDifferentObjects() {
+		assertNotEquals(tuple, new StateTuple<>(List.of(b0copy,b1)));
+	}
+
+	@Test
+	public void testNotEqualsDifferentOrder() {
+		assertNotEquals(tuple, new StateTuple<>(List.of(b1,b0)));
+	}
+
+	@Test
+	public void testSet() {
+		StateTuple<BasicState<String>> updated = tuple.set(1, b0);
+		assertEquals(new StateTuple<>(List.of(b0,b0)), updated);
+		assertSame(b1, tuple.get(1));
+	}
+
+	@Test
+	public void testToList() {
+		assertEquals(List.of(b0,b1), tuple.toList());
+	}
+
+	@Test
+	public void testToListUnmodifiable() {
+		List<BasicState<String>> list = tuple.toList();
+		Assert.assertThrows(UnsupportedOperationException.class, () -> list.set(0, b1));
+	}
+
+	@Test
+	public void testConstructorException_nullElement() {
+		List<BasicState<String>> list = Arrays.asList(b0, null);
+		Assert.assertThrows(IllegalArgumentException.class, () -> new StateTuple<>(list));
+	}
+}
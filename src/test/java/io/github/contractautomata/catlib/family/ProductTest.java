@@ -4,6 +4,7 @@ package io.github.contractautomata.catlib.family;
 import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.label.action.ActionDictionary;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import org.junit.Before;
@@ -69,20 +70,20 @@ public class ProductTest {
 
 		when(tr.getLabel()).thenReturn(lab);
 		when(lab.getAction()).thenReturn(act);
-		when(act.getLabel()).thenReturn("f1");
+		when(act.getId()).thenReturn(ActionDictionary.getId("f1"));
 
 		Action act2 = mock(Action.class);
 
 		when(tr2.getLabel()).thenReturn(lab2);
 		when(lab2.getAction()).thenReturn(act2);
-		when(act2.getLabel()).thenReturn("f2");
+		when(act2.getId()).thenReturn(ActionDictionary.getId("f2"));
 
 		CALabel lab3 = mock(CALabel.class);
 		Action act3 = mock(Action.class);
 
 		when(tr3.getLabel()).thenReturn(lab3);
 		when(lab3.getAction()).thenReturn(act3);
-		when(act3.getLabel()).thenReturn("f3");
+		when(act3.getId()).thenReturn(ActionDictionary.getId("f3"));
 
 	}
 
@@ -207,21 +208,21 @@ public class ProductTest {
 
 	@Test
 	public void testIsValidTrue(){
-		when(aut.getTransition()).thenReturn(new HashSet<>(Arrays.asList(tr)));
+		when(aut.getTransitionView()).thenReturn(new HashSet<>(Arrays.asList(tr)));
 		assertTrue(ps.isValid(aut));
 	}
 
 
 	@Test
 	public void testIsValidFalseContainsForbidden(){
-		when(aut.getTransition()).thenReturn(new HashSet<>(Arrays.asList(tr,tr2)));
+		when(aut.getTransitionView()).thenReturn(new HashSet<>(Arrays.asList(tr,tr2)));
 		assertFalse(ps.isValid(aut));
 	}
 
 
 	@Test
 	public void testIsValidFalseDoesNotContainRequired(){
-		when(aut.getTransition()).thenReturn(new HashSet<>(Arrays.asList()));
+		when(aut.getTransitionView()).thenReturn(new HashSet<>(Arrays.asList()));
 		assertFalse(ps.isValid(aut));
 	}
 
@@ -82,25 +82,30 @@ public class ChoreographySynthesisOperatorTest {
         when(t11.getLabel()).thenReturn(lab);
         when(t11.getSource()).thenReturn(cs1);
         when(t11.getTarget()).thenReturn(cs2);
+        when(t11.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
         when(t11.isPermitted()).thenReturn(true);
 
 
         when(t12.getLabel()).thenReturn(lab);
         when(t12.getSource()).thenReturn(cs2);
         when(t12.getTarget()).thenReturn(cs3);
+        when(t12.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
         when(t12.isPermitted()).thenReturn(true);
 
 
         when(t13.getLabel()).thenReturn(lab);
         when(t13.getSource()).thenReturn(cs1);
         when(t13.getTarget()).thenReturn(cs21);
+        when(t13.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
         when(t13.isPermitted()).thenReturn(true);
 
         when(t14.getLabel()).thenReturn(lab2);
         when(t14.getSource()).thenReturn(cs21);
         when(t14.getTarget()).thenReturn(cs3);
+        when(t14.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 
         when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13, t14)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13, t14)));
         when(aut.getStates()).thenReturn(Set.of(cs1, cs2, cs3, cs21));
         when(aut.getInitial()).thenReturn(cs1);
 
@@ -117,6 +122,20 @@ public class ChoreographySynthesisOperatorTest {
         assertEquals(2, chor.getTransition().size());
     }
 
+    @Test
+    public void applyIndependentRemoval() {
+        cso.setIndependentRemoval(true);
+        Automaton<String, Action, State<String>,
+                ModalTransition<String, Action, State<String>, CALabel>> chor = cso.apply(aut);
+        assertNotNull(chor);
+        assertEquals(2, chor.getTransition().size());
+    }
+
+    @Test
+    public void testGetPropNull() {
+        assertNull(cso.getProp());
+    }
+
     @Test
     public void applyNull() {
         cso = new ChoreographySynthesisOperator<>(l->false);
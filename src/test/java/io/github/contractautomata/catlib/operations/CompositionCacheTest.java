@@ -0,0 +1,114 @@
+package io.github.contractautomata.catlib.operations;
+
+import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.label.CALabel;
+import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.state.State;
+import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Strict.class)
+public class CompositionCacheTest {
+
+	@Mock Automaton<String, Action, State<String>, ModalTransition<String,Action,State<String>, CALabel>> aut;
+	@Mock ModalTransition<String,Action,State<String>, CALabel> t1;
+	@Mock ModalTransition<String,Action,State<String>, CALabel> t2;
+	@Mock ModalTransition<String,Action,State<String>, CALabel> t3;
+
+	CompositionCache cache;
+
+	@Before
+	public void setup() {
+		cache = new CompositionCache(3);
+	}
+
+	@Test
+	public void testGetMiss() {
+		assertNull(cache.get(List.of("a")));
+		assertEquals(0, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testGetHit() {
+		when(aut.getTransitionView()).thenReturn(Set.of(t1,t2));
+		cache.put(List.of("a"), List.of(), aut, true);
+		CompositionCache.Cached c = cache.get(List.of("a"));
+		assertSame(aut, c.aut);
+		assertTrue(c.frontierEmpty);
+		assertEquals(1, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		assertEquals(2, cache.getWeight());
+	}
+
+	@Test
+	public void testPutNull() {
+		cache.put(List.of("a"), List.of(), null, false);
+		CompositionCache.Cached c = cache.get(List.of("a"));
+		assertNull(c.aut);
+		assertFalse(c.frontierEmpty);
+		assertEquals(1, cache.getWeight());
+	}
+
+	@Test
+	public void testPutReplace() {
+		cache.put(List.of("a"), List.of(), null, false);
+		cache.put(List.of("a"), List.of(), null, true);
+		assertEquals(1, cache.size());
+		assertEquals(1, cache.getWeight());
+		assertTrue(cache.get(List.of("a")).frontierEmpty);
+	}
+
+	@Test
+	public void testEviction() {
+		when(aut.getTransitionView()).thenReturn(Set.of(t1,t2));
+		cache.put(List.of("a"), List.of(), null, true);
+		cache.put(List.of("b"), List.of(), null, true);
+		cache.get(List.of("a")); //b is now the least recently used
+		cache.put(List.of("c"), List.of(), aut, true);
+		assertEquals(2, cache.size());
+		assertEquals(3, cache.getWeight());
+		assertEquals(1, cache.getEvictions());
+		assertNull(cache.get(List.of("b")));
+		assertNotNull(cache.get(List.of("a")));
+	}
+
+	@Test
+	public void testPutTooLarge() {
+		when(aut.getTransitionView()).thenReturn(Set.of(t1,t2,t3));
+		cache = new CompositionCache(2);
+		cache.put(List.of("a"), List.of(), aut, true);
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+	@Test
+	public void testClear() {
+		cache.put(List.of("a"), List.of(), null, true);
+		cache.get(List.of("a"));
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	public void testGetMaxWeight() {
+		assertEquals(3, cache.getMaxWeight());
+	}
+
+	@Test
+	public void testConstructorException() {
+		assertThrows(IllegalArgumentException.class, () -> new CompositionCache(0));
+	}
+}
@@ -0,0 +1,74 @@
+package io.github.contractautomata.catlib.operations;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class CompositionCheckpointTest {
+
+	Path path;
+
+	@Before
+	public void setup() throws IOException {
+		path = Files.createTempFile("composition", ".checkpoint");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(path);
+	}
+
+	@Test
+	public void testWriteRead() throws IOException {
+		new CompositionCheckpoint(List.of(List.of("[q0]","[q1]"),List.of("[r0]")), List.of(List.of("[!a]"),List.of("[?a]")), true,
+				List.of(new int[]{0,0}), List.of(new int[]{1,0}), List.of(new int[]{1,0,1}), List.of(new int[]{0,0,0,0,1,0,1}))
+				.write(path);
+		CompositionCheckpoint cp = CompositionCheckpoint.read(path);
+		assertEquals(List.of(List.of("[q0]","[q1]"),List.of("[r0]")), cp.states);
+		assertEquals(List.of(List.of("[!a]"),List.of("[?a]")), cp.labels);
+		assertTrue(cp.store);
+		assertArrayEquals(new int[]{0,0}, cp.visited.get(0));
+		assertArrayEquals(new int[]{1,0}, cp.dontvisit.get(0));
+		assertArrayEquals(new int[]{1,0,1}, cp.pending.get(0));
+		assertArrayEquals(new int[]{0,0,0,0,1,0,1}, cp.transitions.get(0));
+	}
+
+	@Test
+	public void testWriteReplaces() throws IOException {
+		new CompositionCheckpoint(List.of(List.of("[q0]")), List.of(List.of()), false,
+				List.of(new int[]{0}), List.of(), List.of(), List.of()).write(path);
+		new CompositionCheckpoint(List.of(List.of("[q1]")), List.of(List.of()), false,
+				List.of(), List.of(), List.of(), List.of()).write(path);
+		CompositionCheckpoint cp = CompositionCheckpoint.read(path);
+		assertEquals(List.of(List.of("[q1]")), cp.states);
+		assertTrue(cp.visited.isEmpty());
+		try (Stream<Path> files = Files.list(path.toAbsolutePath().getParent())) {
+			assertEquals(1, files.filter(p->p.getFileName().toString().startsWith(path.getFileName().toString()))
+					.count()); //no temporary file is left
+		}
+	}
+
+	@Test
+	public void testReadException_notCheckpoint() throws IOException {
+		Files.writeString(path, "not a checkpoint");
+		assertThrows(IOException.class, () -> CompositionCheckpoint.read(path));
+	}
+
+	@Test
+	public void testReadException_truncated() throws IOException {
+		new CompositionCheckpoint(List.of(List.of("[q0]")), List.of(List.of()), false,
+				List.of(new int[]{0}), List.of(), List.of(), List.of()).write(path);
+		byte[] content = Files.readAllBytes(path);
+		Files.write(path, Arrays.copyOf(content, content.length-4));
+		assertThrows(IOException.class, () -> CompositionCheckpoint.read(path));
+	}
+}
@@ -16,11 +16,20 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.*;
@@ -251,6 +260,157 @@ public class CompositionFunctionTest {
     }
 
 
+    @Test
+    public void testApplyMatchKey() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        CALabel lab11 = t11.getLabel();
+        CALabel lab21 = t21.getLabel();
+        BiPredicate<CALabel,CALabel> onlyCandidates = (l1,l2)->{
+            assertSame(lab11, l1); //only labels with opposite keys are tested
+            assertSame(lab21, l2);
+            return match.test(l1,l2);
+        };
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),onlyCandidates,l->(l==lab11)?1:(l==lab21)?-1:0,
+                createState,createTransition,createLabel,createAutomaton,t->t.getLabel().isRequest());
+        assertNotNull(cf.apply(Integer.MAX_VALUE));
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3));
+    }
+
+    @Test
+    public void testStream() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,t->t.getLabel().isRequest());
+        List<State<String>> states = new ArrayList<>();
+        Set<ModalTransition<String,Action,State<String>,CALabel>> trans = cf.stream(Integer.MAX_VALUE, states::add)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(tc1_2,tc2_21,tc2_22,tc21_3), trans);
+        assertEquals(csc1, states.get(0));
+        assertTrue(states.containsAll(List.of(csc2,csc21,csc3)));
+        verify(createAutomaton,never()).apply(any());
+    }
+
+    @Test
+    public void testStreamBounded() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        assertEquals(List.of(tc1_2), cf.stream(1).collect(Collectors.toList()));
+        assertFalse(cf.isFrontierEmpty());
+        assertEquals(Set.of(tc2_21,tc2_22), cf.stream(2).collect(Collectors.toSet()));
+        assertEquals(Set.of(tc21_3,tc22_3), cf.stream(3).collect(Collectors.toSet()));
+        assertEquals(0, cf.stream(4).count());
+        assertTrue(cf.isFrontierEmpty());
+    }
+
+    @Test
+    public void testStreamLazy() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        assertEquals(tc1_2, cf.stream(Integer.MAX_VALUE).findFirst().orElseThrow());
+        verify(a1,never()).getForwardStar(cs12); //the successors of the initial state are not expanded
+    }
+
+    @Test
+    public void testStreamBadInitial() {
+        when(tc1_2.getLabel().isRequest()).thenReturn(true);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,t->t.getLabel().isRequest());
+        assertEquals(0, cf.stream(Integer.MAX_VALUE).count());
+    }
+
+    @Test
+    public void testStreamAfterApplyException() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.apply(1);
+        assertThrows(UnsupportedOperationException.class, () -> cf.stream(2));
+    }
+
+    @Test
+    public void testApplyAfterStreamException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.stream(1);
+        assertThrows(UnsupportedOperationException.class, () -> cf.apply(2));
+        assertThrows(UnsupportedOperationException.class, () -> cf.applyToStore(2));
+    }
+
+    @Test
+    public void testApplyPartialOrderReduction() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        stubPartialOrderReduction();
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setPartialOrderReduction();
+        assertNotNull(cf.apply(Integer.MAX_VALUE));
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc21_3)); //the move of a2 from csc2 is postponed
+    }
+
+    @Test
+    public void testApplyPartialOrderReductionNecessary() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        stubPartialOrderReduction();
+        when(t22.isNecessary()).thenReturn(true);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setPartialOrderReduction();
+        assertNotNull(cf.apply(Integer.MAX_VALUE));
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3,tc22_3));
+    }
+
+    private void stubPartialOrderReduction() {
+        when(a1.getTransition()).thenReturn(Set.of(t11,t12));
+        when(a2.getTransition()).thenReturn(Set.of(t21,t22));
+        when(t12.getSource()).thenReturn(cs12);
+        when(t22.getSource()).thenReturn(cs22);
+    }
+
+    @Test
+    public void testApplySymmetryReductionNoSymmetricOperands() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        when(a2.getInitial()).thenReturn(cs21);
+        when(a3.getInitial()).thenReturn(cs21);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setSymmetryReduction();
+        assertNotNull(cf.apply(Integer.MAX_VALUE));
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3,tc22_3));
+    }
+
+    @Test
+    public void testApplySymmetryQuotientNoSymmetricOperands() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        when(a2.getInitial()).thenReturn(cs21);
+        when(a3.getInitial()).thenReturn(cs21);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setSymmetryQuotient();
+        assertNotNull(cf.apply(Integer.MAX_VALUE));
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3,tc22_3));
+        assertThrows(UnsupportedOperationException.class, () -> cf.unfold(comp));
+    }
+
+    @Test
+    public void testUnfoldException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        assertThrows(UnsupportedOperationException.class, () -> cf.unfold(comp));
+    }
+
+    @Test
+    public void testSetSymmetryReductionException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.apply(1);
+        assertThrows(UnsupportedOperationException.class, () -> cf.setSymmetryReduction());
+    }
+
+    @Test
+    public void testApplyParallel() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,t->t.getLabel().isRequest());
+        cf.setParallelExploration();
+        assertNotNull(cf.apply(Integer.MAX_VALUE));
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3));
+    }
+
+    @Test
+    public void testBadSourceStateInitialParallel() {
+        when(tc1_2.getLabel().isRequest()).thenReturn(true);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,t->t.getLabel().isRequest());
+        cf.setParallelExploration();
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton,never()).apply(any());
+    }
+
     @Test
     public void testApplyTwoAutomata() {
         when(csc1.getState()).thenReturn(asList(bs0,bs0,bs0));
@@ -322,6 +482,22 @@ public class CompositionFunctionTest {
         verify(createAutomaton).apply(Collections.singleton(tc1_2));
     }
 
+    @Test
+    public void testApplyBoundedParallel() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setParallelExploration();
+        cf.apply(1);
+        verify(createAutomaton,times(1)).apply(Set.of(tc1_2));
+        assertFalse(cf.isFrontierEmpty());
+        cf.apply(2);
+        verify(createAutomaton,times(2)).apply(Set.of(tc1_2,tc2_21,tc2_22));
+        assertFalse(cf.isFrontierEmpty());
+        cf.apply(3);
+        verify(createAutomaton,times(3)).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3,tc22_3));
+        cf.apply(4);
+        assertTrue(cf.isFrontierEmpty());
+    }
+
     @Test
     public void testApplyBounded() {
         cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
@@ -337,6 +513,234 @@ public class CompositionFunctionTest {
         assertTrue(cf.isFrontierEmpty());
     }
 
+    @Test
+    public void testProgressListener() {
+        List<CompositionProgress> progress = new ArrayList<>();
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setProgressListener(progress::add, Duration.ZERO);
+        cf.apply(1);
+        CompositionProgress last = progress.get(progress.size()-1);
+        assertEquals(0, last.getDepth());
+        assertEquals(1, last.getVisitedStates());
+        assertEquals(2, last.getGeneratedStates());
+        assertEquals(1, last.getFrontierSize());
+        assertEquals(1, last.getTransitions());
+
+        cf.apply(Integer.MAX_VALUE);
+        last = progress.get(progress.size()-1);
+        assertEquals(3, last.getDepth());
+        assertEquals(5, last.getVisitedStates());
+        assertEquals(5, last.getGeneratedStates());
+        assertEquals(0, last.getFrontierSize());
+        assertEquals(5, last.getTransitions());
+        assertTrue(last.getStatesPerSecond()>=0);
+    }
+
+    @Test
+    public void testProgressListenerInterval() {
+        List<CompositionProgress> progress = new ArrayList<>();
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setParallelExploration();
+        cf.setProgressListener(progress::add, Duration.ofDays(1));
+        cf.apply(Integer.MAX_VALUE);
+        assertEquals(1, progress.size()); //only the final notification
+        assertEquals(5, progress.get(0).getVisitedStates());
+        assertEquals(5, progress.get(0).getTransitions());
+    }
+
+    @Test
+    public void testSetProgressListenerException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        assertThrows(IllegalArgumentException.class, () -> cf.setProgressListener(p->{}, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void testApplyExecutionContext() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        when(createAutomaton.apply(any())).thenAnswer(i -> (ForkJoinTask.getPool()==pool)?comp:null);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setExecutionContext(new ExecutionContext(pool));
+        cf.setParallelExploration();
+        assertSame(comp, cf.apply(Integer.MAX_VALUE));
+        pool.shutdown();
+    }
+
+    @Test
+    public void testApplyBudgetStates() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setBudget(2, Integer.MAX_VALUE, null, 1.0);
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton).apply(Set.of(tc1_2));
+        assertTrue(cf.isBudgetExhausted());
+        assertFalse(cf.isFrontierEmpty());
+
+        cf.setBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, null, 1.0);
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton,times(2)).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3,tc22_3));
+        assertFalse(cf.isBudgetExhausted());
+        assertTrue(cf.isFrontierEmpty());
+    }
+
+    @Test
+    public void testApplyBudgetStatesParallel() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setParallelExploration();
+        cf.setBudget(2, Integer.MAX_VALUE, null, 1.0);
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton).apply(Set.of(tc1_2));
+        assertTrue(cf.isBudgetExhausted());
+        assertFalse(cf.isFrontierEmpty());
+    }
+
+    @Test
+    public void testApplyBudgetTransitions() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setBudget(Integer.MAX_VALUE, 3, null, 1.0);
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22));
+        assertTrue(cf.isBudgetExhausted());
+        assertFalse(cf.isFrontierEmpty());
+    }
+
+    @Test
+    public void testApplyBudgetTimeout() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ZERO, 1.0);
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton).apply(Set.of());
+        assertTrue(cf.isBudgetExhausted());
+        assertFalse(cf.isFrontierEmpty());
+    }
+
+    @Test
+    public void testApplyBudgetHeap() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, null, Double.MIN_VALUE);
+        cf.apply(Integer.MAX_VALUE);
+        verify(createAutomaton).apply(Set.of());
+        assertTrue(cf.isBudgetExhausted());
+    }
+
+    @Test
+    public void testSetBudgetException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        assertThrows(IllegalArgumentException.class, () -> cf.setBudget(0, 1, null, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> cf.setBudget(1, 0, null, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> cf.setBudget(1, 1, Duration.ofSeconds(-1), 1.0));
+        assertThrows(IllegalArgumentException.class, () -> cf.setBudget(1, 1, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> cf.setBudget(1, 1, null, 1.5));
+    }
+
+    @Test
+    public void testApplyCache() {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        CompositionCache cache = new CompositionCache(10);
+        Predicate<ModalTransition<String,Action,State<String>,CALabel>> pruningPred = t->t.getLabel().isRequest();
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,pruningPred);
+        cf.setCache(cache);
+        assertSame(comp, cf.apply(Integer.MAX_VALUE));
+
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,pruningPred);
+        cf.setCache(cache);
+        assertSame(comp, cf.apply(Integer.MAX_VALUE));
+        assertTrue(cf.isFrontierEmpty());
+
+        verify(createAutomaton, times(1)).apply(any());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testApplyCacheDifferentBound() {
+        CompositionCache cache = new CompositionCache(10);
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setCache(cache);
+        cf.apply(1);
+
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.setCache(cache);
+        cf.apply(1);
+        assertFalse(cf.isFrontierEmpty());
+        cf.apply(4); //the previous hit did not explore the composition, the cache is looked up again
+        assertTrue(cf.isFrontierEmpty());
+
+        verify(createAutomaton, times(2)).apply(any());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testCheckpointResume() throws IOException {
+        when(createAutomaton.apply(any())).thenReturn(comp);
+        stubCheckpoint();
+        Path path = Files.createTempFile("composition", ".checkpoint");
+        try {
+            cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+            cf.setCheckpoint(path, Duration.ZERO);
+            cf.apply(2);
+            verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22));
+
+            CompositionFunction<String,State<String>,CALabel,ModalTransition<String,Action,State<String>,CALabel>,Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> resumed =
+                    new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+            resumed.resume(path);
+            assertFalse(resumed.isFrontierEmpty());
+            resumed.apply(Integer.MAX_VALUE);
+            verify(createAutomaton).apply(Set.of(tc1_2,tc2_21,tc2_22,tc21_3,tc22_3));
+            assertTrue(resumed.isFrontierEmpty());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void stubCheckpoint() {
+        when(a1.getTransition()).thenReturn(Set.of(t11,t12));
+        when(a2.getTransition()).thenReturn(Set.of(t21,t22));
+        when(tc1_2.getModality()).thenReturn(ModalTransition.Modality.URGENT);
+        when(tc2_21.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
+        when(tc2_22.getModality()).thenReturn(ModalTransition.Modality.LAZY);
+    }
+
+    @Test
+    public void testSetCheckpointException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        assertThrows(IllegalArgumentException.class, () -> cf.setCheckpoint(Path.of("checkpoint"), Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    public void testResumeAfterApplyException() {
+        cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+        cf.apply(1);
+        assertThrows(UnsupportedOperationException.class, () -> cf.resume(Path.of("checkpoint")));
+    }
+
+    @Test
+    public void testResumeDifferentOperandsException() throws IOException {
+        stubCheckpoint();
+        Path path = Files.createTempFile("composition", ".checkpoint");
+        try {
+            cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+            cf.setCheckpoint(path, Duration.ZERO);
+            cf.apply(1);
+            CompositionFunction<String,State<String>,CALabel,ModalTransition<String,Action,State<String>,CALabel>,Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> other =
+                    new CompositionFunction<>(List.of(a2,a1,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+            assertThrows(IllegalArgumentException.class, () -> other.resume(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testResumeNotCheckpointException() throws IOException {
+        Path path = Files.createTempFile("composition", ".checkpoint");
+        try {
+            Files.writeString(path, "not a checkpoint");
+            cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
+            assertThrows(IOException.class, () -> cf.resume(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
     @Test
     public void testIsFrontierEmpty() {
         cf = new CompositionFunction<>(List.of(a1,a2,a3),match,createState,createTransition,createLabel,createAutomaton,null);
@@ -0,0 +1,112 @@
+package io.github.contractautomata.catlib.operations;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ExecutionContextTest {
+
+	ForkJoinPool pool;
+	ExecutionContext context;
+
+	@Before
+	public void setup() {
+		pool = new ForkJoinPool(2);
+		context = new ExecutionContext(pool);
+	}
+
+	@After
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void testCall() {
+		assertSame(pool, context.call(ForkJoinTask::getPool));
+	}
+
+	@Test
+	public void testCallParallelStream() {
+		Set<ForkJoinPool> pools = ConcurrentHashMap.newKeySet();
+		context.run(() -> IntStream.range(0, 10000).parallel().forEach(i -> pools.add(ForkJoinTask.getPool())));
+		assertEquals(Set.of(pool), pools);
+	}
+
+	@Test
+	public void testCallNested() {
+		assertEquals(Integer.valueOf(1), context.call(() -> context.call(() -> 1)));
+		assertEquals(0, pool.getQueuedSubmissionCount());
+	}
+
+	@Test
+	public void testSequential() {
+		ExecutionContext seq = ExecutionContext.sequential();
+		assertTrue(seq.isSequential());
+		assertFalse(context.isSequential());
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		List<Integer> list = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+		seq.run(() -> ExecutionContext.stream(list).forEach(i -> threads.add(Thread.currentThread())));
+		assertEquals(Set.of(Thread.currentThread()), threads);
+		assertEquals(Integer.valueOf(1), seq.call(() -> seq.call(() -> 1)));
+	}
+
+	@Test
+	public void testSequentialStream() {
+		List<Integer> list = List.of(1, 2, 3);
+		assertTrue(ExecutionContext.stream(list).isParallel());
+		assertTrue(ExecutionContext.parallel(list.stream()).isParallel());
+		ExecutionContext.sequential().run(() -> {
+			assertFalse(ExecutionContext.stream(list).isParallel());
+			assertFalse(ExecutionContext.parallel(list.stream()).isParallel());
+			assertTrue(context.call(() -> ExecutionContext.stream(list).isParallel()));
+		});
+		assertTrue(ExecutionContext.stream(list).isParallel());
+	}
+
+	@Test
+	public void testSequentialNestedInPool() {
+		List<Integer> list = List.of(1, 2, 3);
+		assertTrue(context.call(() -> ExecutionContext.sequential().call(
+				() -> !ExecutionContext.stream(list).isParallel() && context.call(() -> ExecutionContext.stream(list).isParallel()))));
+	}
+
+	@Test
+	public void testSequentialException() {
+		IllegalArgumentException e = new IllegalArgumentException("test");
+		assertSame(e, assertThrows(IllegalArgumentException.class, () -> ExecutionContext.sequential().call(() -> {throw e;})));
+		assertTrue(ExecutionContext.stream(List.of(1)).isParallel());
+	}
+
+	@Test
+	public void testCallIn() {
+		assertSame(Thread.currentThread(), ExecutionContext.callIn(null, Thread::currentThread));
+		assertSame(pool, ExecutionContext.callIn(context, ForkJoinTask::getPool));
+	}
+
+	@Test
+	public void testCallException() {
+		IllegalArgumentException e = new IllegalArgumentException("test");
+		assertSame(e, assertThrows(IllegalArgumentException.class, () -> context.call(() -> {throw e;})));
+	}
+
+	@Test
+	public void testCallError() {
+		AssertionError e = new AssertionError("test");
+		assertSame(e, assertThrows(AssertionError.class, () -> context.run(() -> {throw e;})));
+	}
+
+	@Test
+	public void testConstructorException() {
+		assertThrows(NullPointerException.class, () -> new ExecutionContext(null));
+	}
+}
@@ -3,6 +3,7 @@ package io.github.contractautomata.catlib.operations;
 import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
+import io.github.contractautomata.catlib.automaton.label.action.ActionDictionary;
 import io.github.contractautomata.catlib.automaton.label.action.IdleAction;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
@@ -75,8 +76,8 @@ public class ModelCheckingFunctionTest {
         when(aut.getStates()).thenReturn(Set.of(cs11));
         when(prop.getStates()).thenReturn(Set.of(cs21));
 
-        when(a1.getLabel()).thenReturn("a");
-        when(a2.getLabel()).thenReturn("a");
+        when(a1.getId()).thenReturn(ActionDictionary.getId("a"));
+        when(a2.getId()).thenReturn(ActionDictionary.getId("a"));
 
         when(lab1.getContent()).thenReturn(List.of(ia,a2));
         when(lab1.getAction()).thenReturn(a2);
@@ -126,7 +127,7 @@ public class ModelCheckingFunctionTest {
 
     @Test
     public void testConstructorNoMatch(){
-        when(a2.getLabel()).thenReturn("b");
+        when(a2.getId()).thenReturn(ActionDictionary.getId("b"));
         mc = new ModelCheckingFunction<>(aut,prop,createState,createTransition,createLabel,createAutomaton);
         mc.apply(Integer.MAX_VALUE);
         verify(createAutomaton, never()).apply(any());
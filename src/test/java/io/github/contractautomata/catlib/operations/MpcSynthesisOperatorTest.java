@@ -4,7 +4,6 @@ import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
 import io.github.contractautomata.catlib.automaton.label.action.OfferAction;
-import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import org.junit.Before;
@@ -16,7 +15,6 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.*;
@@ -33,11 +31,6 @@ public class MpcSynthesisOperatorTest {
     @Mock CALabel lab;
     @Mock CALabel lab2;
 
-    @Mock
-    BasicState<String> bs1;
-    @Mock BasicState<String> bs2;
-    @Mock BasicState<String> bs3;
-
     @Mock State<String> cs11;
     @Mock State<String> cs12;
     @Mock State<String> cs13;
@@ -51,24 +44,22 @@ public class MpcSynthesisOperatorTest {
         when(cs11.isInitial()).thenReturn(true);
         when(cs12.isFinalState()).thenReturn(true);
         when(cs13.isFinalState()).thenReturn(true);
-        when(cs11.getState()).thenReturn(List.of(bs1));
-        when(cs12.getState()).thenReturn(List.of(bs2));
-        when(cs13.getState()).thenReturn(List.of(bs3));
 
         when(t11.getLabel()).thenReturn(lab);
         when(t11.getSource()).thenReturn(cs11);
         when(t11.getTarget()).thenReturn(cs12);
+        when(t11.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 
 //      when(t11.toString()).thenReturn("([0, 0],[?a1,!a1],[1, 0])");
 
         when(t12.getLabel()).thenReturn(lab2);
         when(t12.getSource()).thenReturn(cs12);
         when(t12.getTarget()).thenReturn(cs13);
+        when(t12.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 
 //      when(t12.toString()).thenReturn("([1, 0],[!a2,?a2],[1, 2])");
 
-        when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
-        when(aut.getStates()).thenReturn(Set.of(cs11, cs12, cs13));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
         when(aut.getInitial()).thenReturn(cs11);
 
         mso = new MpcSynthesisOperator<>(l->true);
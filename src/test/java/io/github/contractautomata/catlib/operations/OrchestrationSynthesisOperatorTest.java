@@ -68,6 +68,7 @@ public class OrchestrationSynthesisOperatorTest {
         when(t11.getLabel()).thenReturn(lab);
         when(t11.getSource()).thenReturn(cs11);
         when(t11.getTarget()).thenReturn(cs12);
+        when(t11.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
         when(t11.isPermitted()).thenReturn(true);
 
 //      when(t11.toString()).thenReturn("([0, 0],[?a1,!a1],[1, 0])");
@@ -75,14 +76,17 @@ public class OrchestrationSynthesisOperatorTest {
         when(t12.getLabel()).thenReturn(lab);
         when(t12.getSource()).thenReturn(cs12);
         when(t12.getTarget()).thenReturn(cs13);
+        when(t12.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 
 //      when(t12.toString()).thenReturn("([1, 0],[!a2,?a2],[1, 2])");
 
         when(t13.getLabel()).thenReturn(lab2);
         when(t13.getSource()).thenReturn(cs11);
         when(t13.getTarget()).thenReturn(cs14);
+        when(t13.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 
         when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
         when(aut.getStates()).thenReturn(Set.of(cs11, cs12, cs13, cs14));
         when(aut.getInitial()).thenReturn(cs11);
 
@@ -136,6 +140,7 @@ public class OrchestrationSynthesisOperatorTest {
         when(t13.isPermitted()).thenReturn(true);
 
         when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
 
         assertNull(oso.apply(aut));
        // assertEquals(Set.of(t11,t13), oso.apply(aut).getTransition());
@@ -153,6 +158,7 @@ public class OrchestrationSynthesisOperatorTest {
         when(t13.getTarget()).thenReturn(cs13);
         when(t13.isPermitted()).thenReturn(true);
         when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
 
         assertNull(oso.apply(aut));
     }
@@ -323,6 +329,28 @@ public class OrchestrationSynthesisOperatorTest {
         assertFalse(pred.test(t11,Set.of(t12),Collections.emptySet()));
     }
 
+    @Test
+    public void applyControllabilityPredicateUncontrollableRequestPruned() {
+        TriPredicate<ModalTransition<String, Action, State<String>, CALabel>,
+                Set<ModalTransition<String, Action, State<String>, CALabel>>,
+                Set<State<String>>> pred = getPredicate();
+
+        Action a = mock(Action.class);
+        when(lab.getRequester()).thenReturn(0);
+        when(lab.isRequest()).thenReturn(true);
+        when(lab.getCoAction()).thenReturn(a);
+        when(lab2.isMatch()).thenReturn(true);
+        when(t12.getLabel()).thenReturn(lab2);
+        when(lab2.getAction()).thenReturn(a);
+        when(cs12.getState()).thenReturn(List.of(bs1));
+
+        Set<ModalTransition<String, Action, State<String>, CALabel>> str = new HashSet<>(Set.of(t12));
+        assertFalse(pred.test(t11,str,Collections.emptySet()));
+        assertTrue(pred.test(t11,str,Set.of(cs12)));
+        str.remove(t12);
+        assertTrue(pred.test(t11,str,Collections.emptySet()));
+    }
+
     @Test
     public void testReachableWithoutMovingFromEqualsToSameTransition() {
         OrchestrationSynthesisOperator.setRefinedLazy();
@@ -374,6 +402,36 @@ public class OrchestrationSynthesisOperatorTest {
         assertFalse(pred.test(t13,Set.of(t13,t11,t12),Collections.emptySet()));
     }
 
+    @Test
+    public void testReachableWithoutMovingPrunedIdleTransition() {
+        OrchestrationSynthesisOperator.setRefinedLazy();
+
+        TriPredicate<ModalTransition<String, Action, State<String>, CALabel>,
+                Set<ModalTransition<String, Action, State<String>, CALabel>>,
+                Set<State<String>>> pred = getPredicate();
+
+        Action a = mock(Action.class);
+        CALabel lab3 = mock(CALabel.class);
+
+        when(t11.getLabel()).thenReturn(lab3);
+        when(t13.getLabel()).thenReturn(lab2);
+        when(cs12.getState()).thenReturn(List.of(bs1));
+        when(lab2.getRequester()).thenReturn(0);
+        when(lab.getRequester()).thenReturn(0);
+        when(lab2.getCoAction()).thenReturn(a);
+        when(lab.getAction()).thenReturn(a);
+        when(lab2.getContent()).thenReturn(List.of(a));
+        when(lab.getContent()).thenReturn(List.of(a));
+        when(lab3.getContent()).thenReturn(List.of(new IdleAction()));
+        when(lab2.isRequest()).thenReturn(true);
+        when(lab.isMatch()).thenReturn(true);
+
+        Set<ModalTransition<String, Action, State<String>, CALabel>> str = new HashSet<>(Set.of(t13,t11,t12));
+        assertFalse(pred.test(t13,str,Collections.emptySet()));
+        str.remove(t11);
+        assertTrue(pred.test(t13,str,Collections.emptySet()));
+    }
+
     @Test
     public void testReachableWithoutMovingFromEqualsNotIdle() {
         OrchestrationSynthesisOperator.setRefinedLazy();
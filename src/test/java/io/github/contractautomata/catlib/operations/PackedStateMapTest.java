@@ -0,0 +1,109 @@
+package io.github.contractautomata.catlib.operations;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class PackedStateMapTest {
+
+	PackedStateMap<String> map;
+
+	@Before
+	public void setup() {
+		map = new PackedStateMap<>(2);
+	}
+
+	@Test
+	public void testPutIfAbsent() {
+		assertNull(map.putIfAbsent(new long[]{1,2}, "a"));
+		assertEquals("a", map.putIfAbsent(new long[]{1,2}, "b"));
+		assertEquals("a", map.get(new long[]{1,2}));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void testPutIfAbsentConcurrent() {
+		int n = 10000;
+		Set<String> published = ConcurrentHashMap.newKeySet();
+		IntStream.range(0, 4*n).parallel().forEach(i -> {
+			String v = String.valueOf(i);
+			if (map.putIfAbsent(new long[]{i%n, 0}, v)==null)
+				published.add(v);
+		});
+		assertEquals(n, map.size());
+		assertEquals(n, published.size());
+		for (int i=0; i<n; i++)
+			assertTrue(published.contains(map.get(new long[]{i, 0})));
+	}
+
+	@Test
+	public void testGet() {
+		map.putIfAbsent(new long[]{1,2}, "a");
+		assertEquals("a", map.get(new long[]{1,2}));
+		assertNull(map.get(new long[]{2,1}));
+	}
+
+	@Test
+	public void testMarkVisited() {
+		map.putIfAbsent(new long[]{0,0}, "a");
+		assertTrue(map.markVisited(new long[]{0,0}));
+		assertFalse(map.markVisited(new long[]{0,0}));
+	}
+
+	@Test
+	public void testIsVisited() {
+		map.putIfAbsent(new long[]{0,0}, "a");
+		assertFalse(map.isVisited(new long[]{0,0}));
+		map.markVisited(new long[]{0,0});
+		assertTrue(map.isVisited(new long[]{0,0}));
+		assertFalse(map.isVisited(new long[]{1,1}));
+	}
+
+	@Test
+	public void testForEach() {
+		map.putIfAbsent(new long[]{1,2}, "a");
+		map.putIfAbsent(new long[]{3,4}, "b");
+		Map<String,List<Long>> entries = new HashMap<>();
+		map.forEach((k,v)->entries.put(v, List.of(k[0],k[1])));
+		assertEquals(Map.of("a",List.of(1L,2L),"b",List.of(3L,4L)), entries);
+	}
+
+	@Test
+	public void testRehash() {
+		int n = 10000;
+		for (int i=0; i<n; i++) {
+			map.putIfAbsent(new long[]{i, -i}, String.valueOf(i));
+			if (i%2==0)
+				map.markVisited(new long[]{i, -i});
+		}
+		assertEquals(n, map.size());
+		for (int i=0; i<n; i++) {
+			assertEquals(String.valueOf(i), map.get(new long[]{i, -i}));
+			assertEquals(i%2!=0, map.markVisited(new long[]{i, -i}));
+		}
+	}
+
+	@Test
+	public void testMarkVisitedException_absent() {
+		assertThrows(IllegalArgumentException.class, () -> map.markVisited(new long[]{1,1}));
+	}
+
+	@Test
+	public void testPutIfAbsentException_null() {
+		assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(new long[]{1,1}, null));
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testConstructorException() {
+		assertThrows(IllegalArgumentException.class, () -> new PackedStateMap<String>(0));
+	}
+}
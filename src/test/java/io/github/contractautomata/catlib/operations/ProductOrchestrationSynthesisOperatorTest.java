@@ -61,6 +61,7 @@ public class ProductOrchestrationSynthesisOperatorTest {
         when(t11.getLabel()).thenReturn(lab);
         when(t11.getSource()).thenReturn(cs11);
         when(t11.getTarget()).thenReturn(cs12);
+        when(t11.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
         when(t11.isPermitted()).thenReturn(true);
 
 //      when(t11.toString()).thenReturn("([0, 0],[?a1,!a1],[1, 0])");
@@ -68,10 +69,12 @@ public class ProductOrchestrationSynthesisOperatorTest {
         when(t12.getLabel()).thenReturn(lab);
         when(t12.getSource()).thenReturn(cs12);
         when(t12.getTarget()).thenReturn(cs13);
+        when(t12.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 
 //      when(t12.toString()).thenReturn("([1, 0],[!a2,?a2],[1, 2])");
 
         when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
         when(aut.getStates()).thenReturn(Set.of(cs11, cs12, cs13));
         when(aut.getInitial()).thenReturn(cs11);
 
@@ -91,7 +91,7 @@ public class ProjectionFunctionTest {
 //      when(t12.toString()).thenReturn("([1, 0],[!a2,?a2],[1, 2])");
 
         when(aut.getRank()).thenReturn(2);
-        when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
         //        when(aut.getStates()).thenReturn(Set.of(cs11, cs12, cs13));
 //        when(aut.getInitial()).thenReturn(cs11);
 
@@ -16,6 +16,7 @@ import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.when;
@@ -79,7 +80,8 @@ public class RelabelingOperatorTest {
 
 //      when(t12.toString()).thenReturn("([1, 0],[!a2,?a2],[1, 2])");
 
-        when(aut.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
+        when(aut.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
+        when(aut.getTransitionStream()).then(args -> Stream.of(t11, t12));
         when(aut.getStates()).thenReturn(Set.of(cs11, cs12, cs13));
         //       when(aut.getInitial()).thenReturn(cs11);
 
@@ -97,9 +99,24 @@ public class RelabelingOperatorTest {
     }
 
 
+    @Test
+    public void applySameRelabeledContent() {
+        //all states are relabeled to "relabel" with the same flags, they must not be merged
+        Set<ModalTransition<String,Action,State<String>,CALabel>> set = ro.apply(aut);
+        assertEquals(2, set.size());
+        Set<State<String>> states = new HashSet<>();
+        set.forEach(t -> {
+            states.add(t.getSource());
+            states.add(t.getTarget());
+        });
+        assertEquals(3, states.size());
+        assertEquals(3, states.stream().map(s -> s.getState().get(0)).distinct().count());
+        assertTrue(states.stream().allMatch(s -> s.getState().get(0).getState().equals("relabel")));
+    }
+
     @Test
     public void applyException() {
-        when(aut.getTransition()).thenReturn(Collections.emptySet());
+        when(aut.getTransitionView()).thenReturn(Collections.emptySet());
         assertThrows(IllegalArgumentException.class, () -> ro.apply(aut));
     }
 }
\ No newline at end of file
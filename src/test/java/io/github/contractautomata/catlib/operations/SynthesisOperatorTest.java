@@ -11,9 +11,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -52,16 +57,17 @@ public class SynthesisOperatorTest {
         when(t11.getLabel()).thenReturn(lab11);
         when(t11.getSource()).thenReturn(cs11);
         when(t11.getTarget()).thenReturn(cs12);
+        when(t11.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 //      when(t11.toString()).thenReturn("([0, 0],[?a1,!a1],[1, 0])");
 
         CALabel lab12 = mock(CALabel.class);
         when(t12.getLabel()).thenReturn(lab12);
         when(t12.getSource()).thenReturn(cs12);
         when(t12.getTarget()).thenReturn(cs13);
+        when(t12.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
 //      when(t12.toString()).thenReturn("([1, 0],[!a2,?a2],[1, 2])");
 
-        when(a1.getTransition()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
-        when(a1.getStates()).thenReturn(Set.of(cs11, cs12, cs13));
+        when(a1.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12)));
         when(a1.getInitial()).thenReturn(cs11);
 
         so = new SynthesisOperator<>((x,t,bad) -> false, x->!x.isRequest(), createAut);
@@ -85,6 +91,112 @@ public class SynthesisOperatorTest {
     }
 
 
+    @Test
+    public void applyProgressListener() {
+        List<SynthesisProgress> progress = new ArrayList<>();
+        so.setProgressListener(progress::add);
+        so.apply(a1);
+        assertFalse(progress.isEmpty());
+        SynthesisProgress last = progress.get(progress.size()-1);
+        assertEquals(progress.size(), last.getIteration());
+        assertEquals(2, last.getTransitions());
+        assertEquals(0, last.getBadStates());
+    }
+
+    @Test
+    public void applyStep() {
+        List<Long> steps = new ArrayList<>();
+        so.setProgressListener(p->steps.add(so.getStep()));
+        assertEquals(0, so.getStep());
+        so.apply(a1);
+        assertEquals(0, so.getStep());
+        so.apply(a1);
+        assertTrue(steps.stream().allMatch(x->x>0));
+        assertEquals(steps.size(), steps.stream().distinct().count());
+    }
+
+    @Test
+    public void applyPrunedAlternativePath() {
+        ModalTransition<String,Action,State<String>,CALabel> t13 = mock(ModalTransition.class);
+        CALabel lab13 = mock(CALabel.class);
+        when(lab13.isRequest()).thenReturn(true);
+        when(t13.getLabel()).thenReturn(lab13);
+        when(t13.getSource()).thenReturn(cs11);
+        when(t13.getTarget()).thenReturn(cs13);
+        when(t13.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
+        when(a1.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
+
+        so.apply(a1);
+        verify(createAut).apply(Set.of(t11,t12));
+    }
+
+    @Test
+    public void applyPrunedDeadEnd() {
+        CALabel lab12 = t12.getLabel();
+        when(lab12.isRequest()).thenReturn(true);
+        List<SynthesisProgress> progress = new ArrayList<>();
+        so.setProgressListener(progress::add);
+        assertNull(so.apply(a1));
+        //cs13 is no longer reachable, and then cs12 and cs11 no longer reach a final state
+        assertEquals(3, progress.get(progress.size()-1).getBadStates());
+        verifyNoInteractions(createAut);
+    }
+
+    @Test
+    public void applyLocalPruningPredicate() {
+        ModalTransition<String,Action,State<String>,CALabel> t13 = mock(ModalTransition.class);
+        CALabel lab13 = mock(CALabel.class);
+        when(lab13.isRequest()).thenReturn(true);
+        when(t13.getLabel()).thenReturn(lab13);
+        when(t13.getSource()).thenReturn(cs11);
+        when(t13.getTarget()).thenReturn(cs13);
+        when(t13.getModality()).thenReturn(ModalTransition.Modality.PERMITTED);
+        when(a1.getTransitionView()).then(args -> new HashSet<>(Arrays.asList(t11, t12, t13)));
+
+        AtomicInteger nonLocal = new AtomicInteger();
+        so = new SynthesisOperator<>((x,t,bad) -> nonLocal.incrementAndGet()<0, (x,t,bad) -> false, x->!x.isRequest(), createAut);
+        so.apply(a1);
+        assertEquals(4, nonLocal.get()); //t11 and t12 are evaluated again after t13 is pruned
+
+        AtomicInteger local = new AtomicInteger();
+        so = new SynthesisOperator<>((x,t,bad) -> local.incrementAndGet()<0, (x,t,bad) -> false, x->!x.isRequest(), createAut);
+        so.setLocalPruningPredicate(true);
+        so.apply(a1);
+        assertEquals(2, local.get());
+        verify(createAut, times(2)).apply(Set.of(t11,t12));
+    }
+
+    @Test
+    public void applyResumable() {
+        when(createAut.apply(any())).thenReturn(a1);
+        assertSame(a1, so.applyResumable(a1));
+        assertNull(so.resume(Set.of(t12)));
+        verify(createAut).apply(Set.of(t11,t12));
+    }
+
+    @Test
+    public void applyResumableNothingRemoved() {
+        so.applyResumable(a1);
+        so.resume(Set.of());
+        verify(createAut, times(2)).apply(Set.of(t11,t12));
+    }
+
+    @Test
+    public void resumeException() {
+        so.apply(a1);
+        assertThrows(IllegalStateException.class, ()->so.resume(Set.of(t12)));
+    }
+
+    @Test
+    public void applyExecutionContext() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        so.setExecutionContext(new ExecutionContext(pool));
+        assertNotNull(so.getExecutionContext());
+        when(createAut.apply(any())).thenAnswer(i -> (ForkJoinTask.getPool()==pool)?a1:null);
+        assertSame(a1, so.apply(a1));
+        pool.shutdown();
+    }
+
     @Test
     public void applyReturnNotNull() {
         when(createAut.apply(any())).thenReturn(a1);
@@ -169,9 +281,10 @@ public class SynthesisOperatorTest {
         doReturn(cs14).when(t13).getTarget();
         doReturn(cs14).when(t14).getSource();
         doReturn(cs14).when(t14).getTarget();
+        doReturn(ModalTransition.Modality.PERMITTED).when(t13).getModality();
+        doReturn(ModalTransition.Modality.PERMITTED).when(t14).getModality();
 
-        when(a1.getTransition()).then(inv->new HashSet<>(Set.of(t11,t12,t13,t14)));
-        doReturn(Set.of(cs11, cs12, cs13,cs14)).when(a1).getStates();
+        when(a1.getTransitionView()).then(inv->new HashSet<>(Set.of(t11,t12,t13,t14)));
 
         so = new SynthesisOperator<>((x,t,bad) -> false, x->true, createAut);
         so.apply(a1);
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.when;
@@ -82,8 +83,10 @@ public class UnionFunctionTest {
         when(aut.getStates()).thenReturn(Set.of(cs1,cs12));
         when(aut2.getStates()).thenReturn(Collections.singleton(cs2));
 
-        when(aut.getTransition()).thenReturn(Collections.singleton(t1));
-        when(aut2.getTransition()).thenReturn(Collections.singleton(t2));
+        when(aut.getTransitionView()).thenReturn(Collections.singleton(t1));
+        when(aut2.getTransitionView()).thenReturn(Collections.singleton(t2));
+        when(aut.getTransitionStream()).then(args -> Stream.of(t1));
+        when(aut2.getTransitionStream()).then(args -> Stream.of(t2));
 
         when(aut.getInitial()).thenReturn(cs1);
         when(aut2.getInitial()).thenReturn(cs2);
@@ -53,6 +53,30 @@ public class ITAutomatonTest {
         Assert.assertEquals(prop.toString(),test);
     }
 
+    @Test
+    public void testGetFingerprint() throws IOException {
+        Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut= bdc.importMSCA(dir+ "Orc_(BusinessClientxHotelxEconomyClient).data");
+        Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut2= bdc.importMSCA(dir+ "Orc_(BusinessClientxHotelxEconomyClient).data");
+        Assert.assertEquals(aut.getFingerprint(), aut2.getFingerprint());
+        Assert.assertEquals(64, aut.getFingerprint().length());
+    }
+
+    @Test
+    public void testGetFingerprintDifferentFlags() {
+        State<String> cs0 = new State<>(List.of(new BasicState<>("0",true,false, false)));
+        State<String> cs1 = new State<>(List.of(new BasicState<>("1",false,false, false)));
+        State<String> cs1c = new State<>(List.of(new BasicState<>("1",false,false, true)));
+        State<String> cs2 = new State<>(List.of(new BasicState<>("2",false,true, false)));
+        Label<String> m = new Label<>(List.of("m"));
+
+        Automaton<String,String, State<String>,Transition<String,String, State<String>,Label<String>>> prop =
+                new Automaton<>(Set.of(new Transition<>(cs0, m, cs1), new Transition<>(cs1, m, cs2)));
+        Automaton<String,String, State<String>,Transition<String,String, State<String>,Label<String>>> propc =
+                new Automaton<>(Set.of(new Transition<>(cs0, m, cs1c), new Transition<>(cs1c, m, cs2)));
+
+        Assert.assertNotEquals(prop.getFingerprint(), propc.getFingerprint());
+    }
+
     @Test
     public void constructor_Exception_differentRank() {
         List<Action> lab = new ArrayList<>();
@@ -3,6 +3,7 @@ package it.io.github.contractautomata.catlib.operators;
 import it.io.github.contractautomata.catlib.automaton.ITAutomatonTest;
 import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.AutomatonTest;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
@@ -67,6 +68,23 @@ public class ITChoreographyTest {
 		assertTrue(ITAutomatonTest.autEquals(cor,test));
 	}
 
+	@Test
+	public void chorTestLMCS2020TransitionsIndependentRemoval() throws Exception {
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(ClientxPriviledgedClientxBrokerxHotelxHotel).data");
+
+		Function<Stream<ModalTransition<String,Action,State<String>,CALabel>>,Optional<ModalTransition<String,Action,State<String>,CALabel>>> choice =
+				s -> s.min(Comparator.comparing(ModalTransition::toString));
+
+		ChoreographySynthesisOperator<String> cso = new ChoreographySynthesisOperator<>(new StrongAgreement(),choice);
+		cso.setIndependentRemoval(true);
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> cor = cso.apply(aut);
+
+		assertNotNull(cor);
+		Set<ModalTransition<String,Action,State<String>,CALabel>> tr = cor.getTransition();
+		assertTrue(tr.stream().allMatch(t->cso.satisfiesBranchingCondition(t,tr,new HashSet<>())));
+		assertTrue(tr.stream().allMatch(t->new StrongAgreement().test(t.getLabel())));
+	}
+
 	@Test
 	public void chorTestControllableLazyOfferTransitions() throws Exception
 	{
@@ -152,6 +170,23 @@ public class ITChoreographyTest {
 		assertTrue(AutomatonTest.autEquals(cor, test));
 	}
 
+	@Test
+	public void chorTestControllableLazyOfferTransitions_compact() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "test_chor_controllablelazyoffer.data");
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = bdc.importMSCA(ITAutomatonTest.dir+ "Chor_(test_chor_controllablelazyoffer).data");
+		CompactAutomaton<String,Action,State<String>,CALabel> chor = new ChoreographySynthesisOperator<String>(new StrongAgreement())
+				.applyToCompact(new CompactAutomaton<>(aut), ModalTransition::new);
+		assertTrue(ITAutomatonTest.autEquals(chor.toAutomaton(ModalTransition::new, Automaton::new),test));
+	}
+
+	@Test
+	public void chorTest_empty_compact() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "test_lazy_empty_cor.data");
+		Assert.assertNull(new ChoreographySynthesisOperator<String>(new StrongAgreement()).applyToCompact(new CompactAutomaton<>(aut), ModalTransition::new));
+	}
+
 }
 
 
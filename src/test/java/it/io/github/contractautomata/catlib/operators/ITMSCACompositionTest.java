@@ -4,11 +4,14 @@ import io.github.contractautomata.catlib.automaton.label.action.OfferAction;
 import io.github.contractautomata.catlib.automaton.state.BasicState;
 import it.io.github.contractautomata.catlib.automaton.ITAutomatonTest;
 import io.github.contractautomata.catlib.automaton.Automaton;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
+import io.github.contractautomata.catlib.automaton.TransitionStore;
 import io.github.contractautomata.catlib.automaton.AutomatonTest;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.converters.AutDataConverter;
+import io.github.contractautomata.catlib.operations.CompositionCache;
 import io.github.contractautomata.catlib.operations.MSCACompositionFunction;
 import io.github.contractautomata.catlib.operations.OrchestrationSynthesisOperator;
 import io.github.contractautomata.catlib.requirements.Agreement;
@@ -16,11 +19,19 @@ import io.github.contractautomata.catlib.automaton.label.action.Action;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -40,6 +51,76 @@ public class ITMSCACompositionTest {
 		assertTrue(new CompositionSpecValidation<>(aut, new MSCACompositionFunction<>(aut, null).apply(100)).getAsBoolean());
 	}
 
+	@Test
+	public void scico2020Test_cache() throws Exception{
+		List<Automaton<String,Action, State<String>, ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+
+		List<Automaton<String,Action, State<String>, ModalTransition<String,Action,State<String>,CALabel>>> reimported = new ArrayList<>(2);
+		reimported.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		reimported.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		reimported.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+
+		CompositionCache cache = new CompositionCache(1_000_000);
+		long hits = cache.getHits();
+
+		MSCACompositionFunction<String> first = new MSCACompositionFunction<>(aut, null);
+		first.setCache(cache);
+		Automaton<String,Action, State<String>, ModalTransition<String,Action,State<String>,CALabel>> comp = first.apply(100);
+		MSCACompositionFunction<String> second = new MSCACompositionFunction<>(aut, null);
+		second.setCache(cache);
+		Assert.assertSame(comp, second.apply(100));
+		Assert.assertEquals(hits+1, cache.getHits());
+
+		//without the cache the composition is recomputed
+		Assert.assertNotSame(comp, new MSCACompositionFunction<>(aut, null).apply(100));
+		Assert.assertEquals(hits+1, cache.getHits());
+
+		//the cached composition is translated to the states of the reimported operands
+		MSCACompositionFunction<String> mcf = new MSCACompositionFunction<>(reimported, null);
+		mcf.setCache(cache);
+		Automaton<String,Action, State<String>, ModalTransition<String,Action,State<String>,CALabel>> recomp = mcf.apply(100);
+		Assert.assertEquals(hits+2, cache.getHits());
+		Assert.assertTrue(mcf.isFrontierEmpty());
+		Assert.assertTrue(AutomatonTest.autEquals(comp, recomp));
+		assertTrue(new CompositionSpecValidation<>(reimported, recomp).getAsBoolean());
+
+		//a different bound is a different composition
+		MSCACompositionFunction<String> bounded = new MSCACompositionFunction<>(aut, null);
+		bounded.setCache(cache);
+		Assert.assertNotSame(comp, bounded.apply(99));
+		Assert.assertEquals(hits+2, cache.getHits());
+	}
+
+	@Test
+	public void scico2020Test_budget() throws Exception{
+		List<Automaton<String,Action, State<String>, ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+
+		MSCACompositionFunction<String> full = new MSCACompositionFunction<>(aut, null);
+		Automaton<String,Action, State<String>, ModalTransition<String,Action,State<String>,CALabel>> comp = full.apply(Integer.MAX_VALUE);
+
+		MSCACompositionFunction<String> mcf = new MSCACompositionFunction<>(aut, null);
+		mcf.setBudget(10, Integer.MAX_VALUE, null, 1.0);
+		//the partial composition may have no final states, it is inspected through the store
+		TransitionStore<String,Action,State<String>,CALabel> partial = mcf.applyToStore(Integer.MAX_VALUE);
+		assertTrue(mcf.isBudgetExhausted());
+		assertFalse(mcf.isFrontierEmpty());
+		assertTrue(partial.size()>0);
+		assertTrue(partial.size()<comp.getTransition().size());
+
+		//resuming with a larger budget
+		mcf.setBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ofMinutes(1), 1.0);
+		TransitionStore<String,Action,State<String>,CALabel> resumed = mcf.applyToStore(Integer.MAX_VALUE);
+		assertFalse(mcf.isBudgetExhausted());
+		assertTrue(mcf.isFrontierEmpty());
+		assertTrue(AutomatonTest.autEquals(comp, resumed.toAutomaton(ModalTransition::new, Automaton::new)));
+	}
+
 	@Test
 	public void lmcs2020Test() throws Exception{
 		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
@@ -110,6 +191,49 @@ public class ITMSCACompositionTest {
 
 
 
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotel_closed_store() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+
+		TransitionStore<String,Action,State<String>,CALabel> store = new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest()).applyToStore(100);
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotel_closed.data");
+		assertTrue(AutomatonTest.autEquals(store.toAutomaton(ModalTransition::new, Automaton::new),test));
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_open_store() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, null);
+		TransitionStore<String,Action,State<String>,CALabel> store = cf.applyToStore(100);
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotelxEconomyClient.data");
+		assertTrue(AutomatonTest.autEquals(store.toAutomaton(ModalTransition::new, Automaton::new),test));
+		State<String> initial = IntStream.range(0, store.getNumStates()).mapToObj(store::getState)
+				.filter(State::isInitial).findAny().orElseThrow();
+		Assert.assertEquals(test.getNumStates(), new CompactAutomaton<>(store, initial).getNumStates());
+		assertThrows(UnsupportedOperationException.class, () -> cf.apply(100));
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_open_compact() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+		CompactAutomaton<String,Action,State<String>,CALabel> compact = new MSCACompositionFunction<>(aut, null).applyToCompact(100);
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotelxEconomyClient.data");
+		Assert.assertEquals(test.getNumStates(), compact.getNumStates());
+		Assert.assertTrue(compact.getState(compact.getInitial()).isInitial());
+		assertTrue(AutomatonTest.autEquals(compact.toAutomaton(ModalTransition::new, Automaton::new),test));
+	}
+
 	@Test
 	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_open_transitions() throws Exception {
 		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
@@ -122,6 +246,227 @@ public class ITMSCACompositionTest {
 		assertTrue(AutomatonTest.autEquals(comp,test));
 	}
 
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_open_parallel() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, null);
+		cf.setParallelExploration();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotelxEconomyClient.data");
+		assertTrue(AutomatonTest.autEquals(cf.apply(100),test));
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_open_stream() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+		List<State<String>> states = new ArrayList<>();
+		Set<ModalTransition<String,Action,State<String>,CALabel>> tr = new MSCACompositionFunction<>(aut, null)
+				.stream(100, states::add).collect(Collectors.toSet());
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotelxEconomyClient.data");
+		assertTrue(AutomatonTest.autEquals(new Automaton<>(tr),test));
+		Assert.assertEquals(test.getNumStates(), states.size());
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_open_resume() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+		Path path = Files.createTempFile("composition", ".checkpoint");
+		try {
+			AtomicInteger calls = new AtomicInteger();
+			MSCACompositionFunction<String> crashing = new MSCACompositionFunction<>(aut, t->{
+				if (calls.incrementAndGet()>200)
+					throw new IllegalStateException("crash"); //simulating a crash in the middle of the exploration
+				return false;
+			});
+			crashing.setCheckpoint(path, Duration.ZERO);
+			assertThrows(IllegalStateException.class, () -> crashing.apply(100));
+
+			//resuming with automata imported again, as in a later execution
+			List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut2 = new ArrayList<>(2);
+			aut2.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+			aut2.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+			aut2.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+			MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut2, null);
+			cf.resume(path);
+			Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotelxEconomyClient.data");
+			assertTrue(AutomatonTest.autEquals(cf.apply(100),test));
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotel_closed_resume_store() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		Path path = Files.createTempFile("composition", ".checkpoint");
+		try {
+			MSCACompositionFunction<String> bounded = new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest());
+			bounded.setCheckpoint(path, Duration.ofHours(1));
+			bounded.applyToStore(3);
+
+			MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest());
+			cf.resume(path);
+			TransitionStore<String,Action,State<String>,CALabel> store = cf.applyToStore(100);
+			Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotel_closed.data");
+			assertTrue(AutomatonTest.autEquals(store.toAutomaton(ModalTransition::new, Automaton::new),test));
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void compositionTest_independent_partialOrderReduction() {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(4);
+		for (int i=0; i<4; i++) {
+			State<String> q0 = new State<>(List.of(new BasicState<>("0", true, false, false)));
+			State<String> q1 = new State<>(List.of(new BasicState<>("1", false, false, false)));
+			State<String> q2 = new State<>(List.of(new BasicState<>("2", false, true, false)));
+			aut.add(new Automaton<>(Set.of(
+					new ModalTransition<>(q0, new CALabel(1,0,new OfferAction("a"+i)), q1, ModalTransition.Modality.PERMITTED),
+					new ModalTransition<>(q1, new CALabel(1,0,new OfferAction("b"+i)), q2, ModalTransition.Modality.PERMITTED))));
+		}
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> full = new MSCACompositionFunction<>(aut, null).apply(100);
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest());
+		cf.setPartialOrderReduction();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> reduced = cf.apply(100);
+
+		Assert.assertEquals(81, full.getNumStates());
+		assertTrue(reduced.getNumStates()<full.getNumStates());
+		assertTrue(reduced.getStates().stream().anyMatch(State::isFinalState));
+		Assert.assertEquals(full.getTransition().stream().map(t->t.getLabel().toString()).collect(Collectors.toSet()),
+				reduced.getTransition().stream().map(t->t.getLabel().toString()).collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotelxEconomyClient_partialOrderReduction() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "EconomyClient.data"));
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, null);
+		cf.setPartialOrderReduction();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> reduced = cf.apply(100);
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotelxEconomyClient.data");
+		assertTrue(reduced.getNumStates()<=test.getNumStates());
+		assertTrue(reduced.getStates().stream().anyMatch(State::isFinalState));
+		Assert.assertNotNull(new OrchestrationSynthesisOperator<String>(new Agreement()).apply(reduced));
+	}
+
+	@Test
+	public void compositionTestLMCS2020_ClientxClientxBrokerxHotelxPriviledgedHotel_symmetry() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(5);
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Client.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Client.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Broker.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "PriviledgedHotel.data"));
+
+		Set<State<String>> fullSources = ConcurrentHashMap.newKeySet();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> full =
+				new MSCACompositionFunction<>(aut, t->fullSources.add(t.getSource()) && false).apply(100);
+
+		Set<State<String>> reducedSources = ConcurrentHashMap.newKeySet();
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, t->reducedSources.add(t.getSource()) && false);
+		cf.setSymmetryReduction();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> reduced = cf.apply(100);
+
+		assertTrue(reducedSources.size()<fullSources.size()); //fewer explored states
+		assertTrue(AutomatonTest.autEquals(full, reduced));
+	}
+
+	@Test
+	public void compositionTestLMCS2020_ClientxClientxBrokerxHotelxPriviledgedHotel_symmetry_quotient() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(5);
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Client.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Client.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Broker.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "PriviledgedHotel.data"));
+
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> full = new MSCACompositionFunction<>(aut, null).apply(100);
+
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, null);
+		cf.setSymmetryQuotient();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> quotient = cf.apply(100);
+
+		assertTrue(quotient.getNumStates()<full.getNumStates());
+		assertTrue(quotient.getTransition().size()<full.getTransition().size());
+		assertTrue(AutomatonTest.autEquals(full, cf.unfold(quotient)));
+	}
+
+	@Test
+	public void compositionTest_identical_symmetry() {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(4);
+		for (int i=0; i<3; i++) {
+			State<String> q0 = new State<>(List.of(new BasicState<>("0", true, false, false)));
+			State<String> q1 = new State<>(List.of(new BasicState<>("1", false, false, false)));
+			State<String> q2 = new State<>(List.of(new BasicState<>("2", false, true, false)));
+			aut.add(new Automaton<>(Set.of(
+					new ModalTransition<>(q0, new CALabel(1,0,new OfferAction("a")), q1, ModalTransition.Modality.PERMITTED),
+					new ModalTransition<>(q1, new CALabel(1,0,new OfferAction("b")), q2, ModalTransition.Modality.PERMITTED),
+					new ModalTransition<>(q1, new CALabel(1,0,new OfferAction("c")), q0, ModalTransition.Modality.PERMITTED))));
+		}
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> full = new MSCACompositionFunction<>(aut, null).apply(100);
+
+		Set<State<String>> reducedSources = ConcurrentHashMap.newKeySet();
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, t->reducedSources.add(t.getSource()) && false);
+		cf.setSymmetryReduction();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> reduced = cf.apply(100);
+
+		Assert.assertEquals(27, full.getNumStates());
+		Assert.assertEquals(9, reducedSources.size()); //the multisets of size 3 of the states {0,1,2}, except {2,2,2} that has no outgoing transitions
+		assertTrue(AutomatonTest.autEquals(full, reduced));
+
+		MSCACompositionFunction<String> qcf = new MSCACompositionFunction<>(aut, null);
+		qcf.setSymmetryQuotient();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> quotient = qcf.apply(100);
+		Assert.assertEquals(10, quotient.getNumStates()); //the multisets of size 3 of the states {0,1,2}
+		assertTrue(AutomatonTest.autEquals(full, qcf.unfold(quotient)));
+	}
+
+	@Test
+	public void compositionTestLMCS2020_ClientxClientxBrokerxHotelxPriviledgedHotel_closed_symmetry() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(5);
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Client.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Client.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Broker.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "PriviledgedHotel.data"));
+
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest());
+		cf.setSymmetryReduction();
+		Assert.assertNull(new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest()).apply(100));
+		Assert.assertNull(cf.apply(100)); //no final state is reachable in agreement, as in the full composition
+	}
+
+	@Test
+	public void compositionTestSCP2020_BusinessClientxHotel_closed_parallel() throws Exception {
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> aut = new ArrayList<>(2);
+
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClient.data"));
+		aut.add(bdc.importMSCA(ITAutomatonTest.dir+ "Hotel.data"));
+
+		MSCACompositionFunction<String> cf = new MSCACompositionFunction<>(aut, t->t.getLabel().isRequest());
+		cf.setParallelExploration();
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = bdc.importMSCA(ITAutomatonTest.dir+ "BusinessClientxHotel_closed.data");
+		assertTrue(AutomatonTest.autEquals(cf.apply(100),test));
+	}
+
 	@Test
 	public void compAndOrcTestSCP2020_BusinessClientxHotelxEconomyClient() throws Exception
 	{
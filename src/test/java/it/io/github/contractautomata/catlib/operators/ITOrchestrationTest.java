@@ -2,6 +2,7 @@ package it.io.github.contractautomata.catlib.operators;
 
 import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.AutomatonTest;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.label.Label;
 import io.github.contractautomata.catlib.automaton.label.action.Action;
@@ -9,7 +10,10 @@ import io.github.contractautomata.catlib.automaton.state.BasicState;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
 import io.github.contractautomata.catlib.converters.AutDataConverter;
+import io.github.contractautomata.catlib.operations.ExecutionContext;
+import io.github.contractautomata.catlib.operations.MSCACompositionFunction;
 import io.github.contractautomata.catlib.operations.OrchestrationSynthesisOperator;
+import io.github.contractautomata.catlib.operations.ProjectionFunction;
 import io.github.contractautomata.catlib.requirements.Agreement;
 import it.io.github.contractautomata.catlib.automaton.ITAutomatonTest;
 import org.junit.Assert;
@@ -17,8 +21,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
@@ -68,6 +76,32 @@ public class ITOrchestrationTest {
 	}
 
 
+	@Test
+	public void orcTestLMCS2020Transitions_executionContext() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = bdc.importMSCA(ITAutomatonTest.dir+ "Orc_(ClientxClientxBrokerxHotelxPriviledgedHotel).data");
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			//the whole pipeline, including the import, is executed in the pool
+			Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> orc = new ExecutionContext(pool).call(() -> {
+				try {
+					return new OrchestrationSynthesisOperator<String>(new Agreement())
+							.apply(bdc.importMSCA(ITAutomatonTest.dir+ "(ClientxClientxBrokerxHotelxPriviledgedHotel).data"));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			assertTrue(AutomatonTest.autEquals(orc,test));
+		} finally {
+			pool.shutdown();
+		}
+
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(ClientxClientxBrokerxHotelxPriviledgedHotel).data");
+		OrchestrationSynthesisOperator<String> os = new OrchestrationSynthesisOperator<>(new Agreement());
+		os.setExecutionContext(ExecutionContext.sequential());
+		assertTrue(AutomatonTest.autEquals(os.apply(aut),test));
+	}
+
 	@Test
 	public void orcTestLMCS2020TransitionsLazyPP() throws Exception
 	{
@@ -155,4 +189,47 @@ public class ITOrchestrationTest {
 		OrchestrationSynthesisOperator<String> os = new OrchestrationSynthesisOperator<>(new Agreement());
 		assertThrows(UnsupportedOperationException.class, () -> os.apply(orc));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void orcTestLMCS2020Transitions_compact() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(ClientxClientxBrokerxHotelxPriviledgedHotel).data");
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = bdc.importMSCA(ITAutomatonTest.dir+ "Orc_(ClientxClientxBrokerxHotelxPriviledgedHotel).data");
+		CompactAutomaton<String,Action,State<String>,CALabel> orc = new OrchestrationSynthesisOperator<String>(new Agreement())
+				.applyToCompact(new CompactAutomaton<>(aut), ModalTransition::new);
+		assertTrue(AutomatonTest.autEquals(orc.toAutomaton(ModalTransition::new, Automaton::new),test));
+	}
+
+	@Test
+	public void orcTestLMCS2020Transitions_compactComposition() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(ClientxClientxBrokerxHotelxPriviledgedHotel).data");
+		ProjectionFunction<String> pf = new ProjectionFunction<>();
+		List<Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>>> principals = IntStream.range(0, aut.getRank())
+				.mapToObj(i->pf.apply(aut,i,t->t.getLabel().getRequester()))
+				.collect(Collectors.toList());
+		OrchestrationSynthesisOperator<String> os = new OrchestrationSynthesisOperator<>(new Agreement());
+
+		//the composition is never converted to an automaton
+		CompactAutomaton<String,Action,State<String>,CALabel> orc = os.applyToCompact(new MSCACompositionFunction<>(principals,null).applyToCompact(Integer.MAX_VALUE), ModalTransition::new);
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test = os.apply(new MSCACompositionFunction<>(principals,null).apply(Integer.MAX_VALUE));
+		assertTrue(AutomatonTest.autEquals(orc.toAutomaton(ModalTransition::new, Automaton::new),test));
+	}
+
+	@Test
+	public void orcEmptyTestNoDangling_compact() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "test_empty_orc_nodangling.data");
+		Assert.assertNull(new OrchestrationSynthesisOperator<String>(new Agreement()).applyToCompact(new CompactAutomaton<>(aut), ModalTransition::new));
+	}
+
+	@Test
+	public void orcTestLMCS2020Transitions_compactPropertyException() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(ClientxClientxBrokerxHotelxPriviledgedHotel).data");
+		OrchestrationSynthesisOperator<String> os = new OrchestrationSynthesisOperator<>(new Agreement(),prop);
+		CompactAutomaton<String,Action,State<String>,CALabel> compact = new CompactAutomaton<>(aut);
+		assertThrows(UnsupportedOperationException.class, () -> os.applyToCompact(compact, ModalTransition::new));
+	}
+
+}
@@ -4,6 +4,7 @@ package it.io.github.contractautomata.catlib.operators;
 import it.io.github.contractautomata.catlib.automaton.ITAutomatonTest;
 import io.github.contractautomata.catlib.automaton.Automaton;
 import io.github.contractautomata.catlib.automaton.AutomatonTest;
+import io.github.contractautomata.catlib.automaton.CompactAutomaton;
 import io.github.contractautomata.catlib.automaton.label.CALabel;
 import io.github.contractautomata.catlib.automaton.state.State;
 import io.github.contractautomata.catlib.automaton.transition.ModalTransition;
@@ -52,5 +53,23 @@ public class ITProductOrchestrationTest {
 		Assert.assertNull(new ProductOrchestrationSynthesisOperator<String>(new Agreement(),p).apply(aut));
 		
 	}
+	@Test
+	public void orcTestSCP2020_BusinessClientxHotelxEconomyClient_product4858_compact() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(BusinessClientxHotelxEconomyClient).data");
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> test= bdc.importMSCA(ITAutomatonTest.dir+ "Orc_(BusinessClientxHotelxEconomyClient).data");
+		Product p = new Product(new String[] {"card","sharedBathroom"}, new String[] {"cash"});
+		CompactAutomaton<String,Action,State<String>,CALabel> orc = new ProductOrchestrationSynthesisOperator<String>(new Agreement(),p)
+				.applyToCompact(new CompactAutomaton<>(aut), ModalTransition::new);
+		Assert.assertTrue(AutomatonTest.autEquals(orc.toAutomaton(ModalTransition::new, Automaton::new),test));
+	}
+
+	@Test
+	public void orcTestSCP2020_BusinessClientxHotelxEconomyClient_empty_transitions_compact() throws Exception
+	{
+		Automaton<String,Action,State<String>,ModalTransition<String,Action,State<String>,CALabel>> aut = bdc.importMSCA(ITAutomatonTest.dir+ "(BusinessClientxHotelxEconomyClient).data");
+		Product p = new Product(new String[] {"card","sharedBathroom"}, new String[] {"singleRoom"});
+		Assert.assertNull(new ProductOrchestrationSynthesisOperator<String>(new Agreement(),p).applyToCompact(new CompactAutomaton<>(aut), ModalTransition::new));
+	}
 
 }